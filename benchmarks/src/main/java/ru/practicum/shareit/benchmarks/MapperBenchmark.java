@@ -0,0 +1,83 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.practicum.shareit.booking.dto.BookingLiteDto;
+import ru.practicum.shareit.booking.dto.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.comment.CommentDto;
+import ru.practicum.shareit.item.dto.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"10", "100", "1000"})
+    int bookingsCount;
+
+    private Item item;
+    private List<Booking> bookings;
+    private BookingLiteDto lastBooking;
+    private BookingLiteDto nextBooking;
+    private List<CommentDto> comments;
+
+    @Setup
+    public void setUp() {
+        User owner = User.builder().id(1L).name("owner").email("owner@mail.ru").build();
+        User booker = User.builder().id(2L).name("booker").email("booker@mail.ru").build();
+        item = Item.builder().id(1L).name("item").description("description").available(true).owner(owner).build();
+
+        LocalDateTime now = LocalDateTime.now();
+        bookings = new ArrayList<>(bookingsCount);
+        for (int i = 0; i < bookingsCount; i++) {
+            Booking booking = Booking.builder()
+                    .id(i)
+                    .start(now.plusDays(i - bookingsCount / 2))
+                    .end(now.plusDays(i - bookingsCount / 2).plusHours(12))
+                    .status(i % 5 == 0 ? BookingStatus.REJECTED : BookingStatus.APPROVED)
+                    .item(item)
+                    .booker(booker)
+                    .build();
+            bookings.add(booking);
+        }
+        // the repository hands the mapper the last and next bookings already picked, as on the item list path
+        lastBooking = BookingMapper.toBookingLiteDto(bookings.get(bookingsCount / 2 - 1));
+        nextBooking = BookingMapper.toBookingLiteDto(bookings.get(bookingsCount / 2 + 1));
+        comments = List.of(CommentDto.builder().id(1L).authorName("booker").text("good").created(now).build());
+    }
+
+    @Benchmark
+    public ItemDto toItemDtoWithBookingsAndComments() {
+        return ItemMapper.toItemDtoWithBookingsAndComments(item, lastBooking, nextBooking, comments);
+    }
+
+    @Benchmark
+    public void toBookingDto(Blackhole blackhole) {
+        for (Booking booking : bookings) {
+            blackhole.consume(BookingMapper.toBookingDto(booking));
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItApp;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@State(Scope.Benchmark)
+public class ServerState {
+
+    @Param({"100", "10000"})
+    int itemsCount;
+
+    @Param({"2"})
+    int bookingsPerItem;
+
+    ConfigurableApplicationContext context;
+    ItemService itemService;
+    ItemRepository itemRepository;
+    BookingService bookingService;
+    long ownerId;
+
+    @Setup(Level.Trial)
+    public void startServer() {
+        context = new SpringApplicationBuilder(ShareItApp.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("spring.datasource.url=jdbc:h2:mem:benchmarks", "logging.level.root=WARN")
+                .run();
+        itemService = context.getBean(ItemService.class);
+        itemRepository = context.getBean(ItemRepository.class);
+        bookingService = context.getBean(BookingService.class);
+        seed(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void stopServer() {
+        context.close();
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("insert into users (name, email) values ('owner', 'owner@mail.ru'), ('booker', 'booker@mail.ru')");
+        ownerId = jdbcTemplate.queryForObject("select id from users where email = 'owner@mail.ru'", Long.class);
+        long bookerId = jdbcTemplate.queryForObject("select id from users where email = 'booker@mail.ru'", Long.class);
+
+        List<Object[]> items = new ArrayList<>(itemsCount);
+        for (int i = 0; i < itemsCount; i++) {
+            items.add(new Object[]{"item " + i, "description of item " + i, true, ownerId});
+        }
+        jdbcTemplate.batchUpdate("insert into items (name, description, is_available, owner_id) values (?, ?, ?, ?)", items);
+
+        LocalDateTime start = LocalDateTime.now().minusDays(bookingsPerItem);
+        List<Object[]> bookings = new ArrayList<>(itemsCount * bookingsPerItem);
+        jdbcTemplate.query("select id from items where owner_id = ?", rs -> {
+            long itemId = rs.getLong(1);
+            for (int i = 0; i < bookingsPerItem; i++) {
+                LocalDateTime bookingStart = start.plusDays(i * 2L);
+                bookings.add(new Object[]{Timestamp.valueOf(bookingStart), Timestamp.valueOf(bookingStart.plusDays(1)),
+                        itemId, bookerId, "APPROVED"});
+            }
+        }, ownerId);
+        jdbcTemplate.batchUpdate("insert into bookings (start_date, end_date, item_id, booker_id, status) values (?, ?, ?, ?, ?)",
+                bookings);
+    }
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+
+    private static final Pageable PAGE = PageRequest.of(0, 20);
+
+    @Benchmark
+    public Collection<ItemDto> getItemsByUserId(ServerState state) {
+        return state.itemService.getItemsByUserId(state.ownerId, PAGE);
+    }
+
+    @Benchmark
+    public List<Item> searchItems(ServerState state) {
+        return state.itemRepository.search("item 1", PAGE);
+    }
+
+    @Benchmark
+    public List<BookingDto> getAllBookingsByOwnerId(ServerState state) {
+        return state.bookingService.getAllBookingsByOwnerId(state.ownerId, "ALL", PAGE);
+    }
+}
@@ -1,13 +1,11 @@
 package shareit.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import shareit.client.BaseClient;
+import shareit.client.ServerExchangeFactory;
 
 import java.util.Map;
 
@@ -16,43 +14,45 @@ public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public BookingClient(ServerExchangeFactory exchangeFactory) {
+        super(exchangeFactory.create(API_PREFIX));
     }
 
-    public ResponseEntity<Object> createBooking(long userId, BookingDto bookingDto) {
+    public Mono<ResponseEntity<Object>> createBooking(long userId, BookingDto bookingDto) {
         return post("", userId, bookingDto);
     }
 
-    public ResponseEntity<Object> approveBooking(long userId, long bookingId, String approved) {
+    public Mono<ResponseEntity<Object>> approveBooking(long userId, long bookingId, String approved) {
         return patch("/" + bookingId + "?approved=" + approved, userId);
     }
 
-    public ResponseEntity<Object> getAllBookingsForUser(long userId, Integer from, Integer size, String state) {
-        Map<String, Object> parameters = Map.of(
-                "state", state,
-                "from", from,
-                "size", size
-        );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+    public Mono<ResponseEntity<Object>> getAllBookingsForUser(long userId, Integer from, Integer size, String state, String after) {
+        return getBookings("", userId, from, size, state, after);
+    }
+
+    public Mono<ResponseEntity<Object>> getAllBookingsForOwner(long userId, Integer from, Integer size, String state, String after) {
+        return getBookings("/owner", userId, from, size, state, after);
+    }
+
+    public Mono<ResponseEntity<Object>> getInfoForBooking(long userId, long bookingId) {
+        return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> getAllBookingsForOwner(long userId, Integer from, Integer size, String state) {
+    private Mono<ResponseEntity<Object>> getBookings(String path, long userId, Integer from, Integer size, String state, String after) {
+        if (after != null) {
+            Map<String, Object> parameters = Map.of(
+                    "state", state,
+                    "size", size,
+                    "after", after
+            );
+            return get(path + "?state={state}&size={size}&after={after}", userId, parameters);
+        }
         Map<String, Object> parameters = Map.of(
                 "state", state,
                 "from", from,
                 "size", size
         );
-        return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
-    }
-
-    public ResponseEntity<Object> getInfoForBooking(long userId, long bookingId) {
-        return get("/" + bookingId, userId);
+        return get(path + "?state={state}&from={from}&size={size}", userId, parameters);
     }
 
 }
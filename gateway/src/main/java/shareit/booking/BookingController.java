@@ -6,6 +6,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import shareit.exception.IncorrectDataException;
 import shareit.validator.BookingValidator;
 import shareit.validator.PageableValidator;
@@ -25,14 +26,14 @@ public class BookingController {
     private final BookingValidator bookingValidator;
 
     @PostMapping
-    public ResponseEntity<Object> createBooking(@RequestBody BookingDto bookingDto, @RequestHeader("X-Sharer-User-Id") @Positive long userId) {
+    public Mono<ResponseEntity<Object>> createBooking(@RequestBody BookingDto bookingDto, @RequestHeader("X-Sharer-User-Id") @Positive long userId) {
         bookingValidator.validateBookingData(bookingDto);
         log.debug("Gateway: Creating a booking : {}", bookingDto);
         return bookingClient.createBooking(userId, bookingDto);
     }
 
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> approveBooking(@PathVariable @Positive Long bookingId, @RequestParam @NotNull String approved, @RequestHeader("X-Sharer-User-Id") @Positive long userId) {
+    public Mono<ResponseEntity<Object>> approveBooking(@PathVariable @Positive Long bookingId, @RequestParam @NotNull String approved, @RequestHeader("X-Sharer-User-Id") @Positive long userId) {
         if (!approved.equals("true") && !approved.equals("false")) {
             throw new IncorrectDataException("Approved can be only TRUE or FALSE");
         }
@@ -41,29 +42,31 @@ public class BookingController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllBookingsForUser(@RequestParam(defaultValue = "ALL") String state,
+    public Mono<ResponseEntity<Object>> getAllBookingsForUser(@RequestParam(defaultValue = "ALL") String state,
                                                         @RequestParam(defaultValue = "0") Integer from,
                                                         @RequestParam(defaultValue = "10") Integer size,
+                                                        @RequestParam(required = false) String after,
                                                         @RequestHeader("X-Sharer-User-Id") @Positive long userId) {
         pageableValidator.checkingPageableParams(from, size);
         bookingValidator.validateBookingState(state);
         log.debug("Gateway: Getting info by user bookings");
-        return bookingClient.getAllBookingsForUser(userId, from, size, state);
+        return bookingClient.getAllBookingsForUser(userId, from, size, state, after);
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getAllBookingsForOwner(@RequestParam(defaultValue = "ALL") String state,
+    public Mono<ResponseEntity<Object>> getAllBookingsForOwner(@RequestParam(defaultValue = "ALL") String state,
                                                          @RequestParam(defaultValue = "0") Integer from,
                                                          @RequestParam(defaultValue = "10") Integer size,
+                                                         @RequestParam(required = false) String after,
                                                          @RequestHeader("X-Sharer-User-Id") @Positive long userId) {
         pageableValidator.checkingPageableParams(from, size);
         bookingValidator.validateBookingState(state);
         log.debug("Gateway: Getting info by owner bookings");
-        return bookingClient.getAllBookingsForOwner(userId, from, size, state);
+        return bookingClient.getAllBookingsForOwner(userId, from, size, state, after);
     }
 
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getInfoForBooking(@PathVariable @Positive Long bookingId, @RequestHeader("X-Sharer-User-Id") @Positive long userId) {
+    public Mono<ResponseEntity<Object>> getInfoForBooking(@PathVariable @Positive Long bookingId, @RequestHeader("X-Sharer-User-Id") @Positive long userId) {
         log.debug("Gateway: Getting info for booking: {}", bookingId);
         return bookingClient.getInfoForBooking(userId, bookingId);
     }
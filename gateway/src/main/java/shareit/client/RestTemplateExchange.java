@@ -0,0 +1,123 @@
+package shareit.client;
+
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
+import reactor.core.publisher.Mono;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class RestTemplateExchange implements ServerExchange {
+
+    private final RestTemplate rest;
+    private final boolean passthrough;
+
+    public RestTemplateExchange(RestTemplate rest, boolean passthrough) {
+        this.rest = rest;
+        this.passthrough = passthrough;
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, @Nullable Long userId,
+                                                @Nullable Map<String, Object> parameters, @Nullable Object body,
+                                                HttpHeaders headers) {
+        HttpHeaders requestHeaders = ServerExchange.requestHeaders(userId, headers);
+        if (passthrough) {
+            return Mono.defer(() -> {
+                AtomicReference<ClientHttpResponse> unconsumed = new AtomicReference<>();
+                return Mono.fromCallable(() -> streamResponse(method, path, requestHeaders, parameters, body, unconsumed))
+                        .doOnNext(response -> unconsumed.set(null))
+                        .doOnCancel(() -> release(unconsumed))
+                        .doOnDiscard(ResponseEntity.class, response -> release(unconsumed));
+            });
+        }
+        return Mono.fromCallable(() -> makeAndSendRequest(method, path, requestHeaders, parameters, body));
+    }
+
+    private ResponseEntity<Object> streamResponse(HttpMethod method, String path, HttpHeaders headers, @Nullable Map<String, Object> parameters, @Nullable Object body,
+                                                  AtomicReference<ClientHttpResponse> unconsumed) throws IOException {
+        URI uri = rest.getUriTemplateHandler().expand(path, parameters != null ? parameters : Map.of());
+        ClientHttpRequest request = rest.getRequestFactory().createRequest(uri, method);
+        rest.httpEntityCallback(new HttpEntity<>(body, headers)).doWithRequest(request);
+
+        ClientHttpResponse response = request.execute();
+        unconsumed.set(response);
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            try (response) {
+                unconsumed.set(null);
+                return ServerExchange.errorResponse(response.getRawStatusCode(), response.getHeaders(),
+                        StreamUtils.copyToByteArray(response.getBody()));
+            }
+        }
+        return ResponseEntity.status(response.getRawStatusCode())
+                .headers(ServerExchange.passthroughHeaders(response.getHeaders()))
+                .body(new InputStreamResource(new ClosingInputStream(response)));
+    }
+
+    // closing an unread response hands its pooled connection back
+    private static void release(AtomicReference<ClientHttpResponse> unconsumed) {
+        ClientHttpResponse response = unconsumed.getAndSet(null);
+        if (response != null) {
+            response.close();
+        }
+    }
+
+    private ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, HttpHeaders headers, @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        HttpEntity<Object> requestEntity = new HttpEntity<>(body, headers);
+
+        ResponseEntity<Object> shareitServerResponse;
+        try {
+            if (parameters != null) {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
+            } else {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+            }
+        } catch (HttpStatusCodeException e) {
+            return ServerExchange.errorResponse(e.getRawStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray());
+        }
+        return prepareGatewayResponse(shareitServerResponse);
+    }
+
+    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
+        if (response.getStatusCode().is2xxSuccessful()) {
+            return ResponseEntity.status(response.getStatusCode())
+                    .headers(ServerExchange.reserializedHeaders(response.getHeaders()))
+                    .body(response.getBody());
+        }
+
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+
+        if (response.hasBody()) {
+            return responseBuilder.body(response.getBody());
+        }
+
+        return responseBuilder.build();
+    }
+
+    private static class ClosingInputStream extends FilterInputStream {
+
+        private final ClientHttpResponse response;
+
+        ClosingInputStream(ClientHttpResponse response) throws IOException {
+            super(response.getBody());
+            this.response = response;
+        }
+
+        @Override
+        public void close() {
+            response.close();
+        }
+    }
+}
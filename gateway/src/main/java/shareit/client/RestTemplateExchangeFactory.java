@@ -0,0 +1,51 @@
+package shareit.client;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import shareit.client.cache.ServerResponseCache;
+import shareit.client.coalesce.RequestCoalescer;
+import shareit.client.guard.ServerGuard;
+
+@Component
+@ConditionalOnProperty(name = "shareit-server.client.mode", havingValue = "blocking", matchIfMissing = true)
+public class RestTemplateExchangeFactory implements ServerExchangeFactory {
+
+    private final String serverUrl;
+    private final boolean passthrough;
+    private final RestTemplateBuilder builder;
+    private final ClientHttpRequestFactory serverRequestFactory;
+    private final ServerResponseCache responseCache;
+    private final RequestCoalescer requestCoalescer;
+    private final ServerGuard serverGuard;
+
+    public RestTemplateExchangeFactory(@Value("${shareit-server.url}") String serverUrl,
+                                       @Value("${shareit-server.client.passthrough:false}") boolean passthrough,
+                                       RestTemplateBuilder builder,
+                                       ClientHttpRequestFactory serverRequestFactory,
+                                       ServerResponseCache responseCache,
+                                       RequestCoalescer requestCoalescer,
+                                       ServerGuard serverGuard) {
+        this.serverUrl = serverUrl;
+        this.passthrough = passthrough;
+        this.builder = builder;
+        this.serverRequestFactory = serverRequestFactory;
+        this.responseCache = responseCache;
+        this.requestCoalescer = requestCoalescer;
+        this.serverGuard = serverGuard;
+    }
+
+    @Override
+    public ServerExchange create(String apiPrefix) {
+        return responseCache.decorate(apiPrefix, requestCoalescer.decorate(apiPrefix, serverGuard.decorate(apiPrefix, new RestTemplateExchange(
+                builder
+                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + apiPrefix))
+                        .requestFactory(() -> serverRequestFactory)
+                        .build(),
+                passthrough
+        ))));
+    }
+}
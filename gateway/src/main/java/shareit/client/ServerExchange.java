@@ -0,0 +1,89 @@
+package shareit.client;
+
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public interface ServerExchange {
+
+    Set<String> HOP_BY_HOP_HEADERS = Set.of("connection", "keep-alive", "transfer-encoding", "te", "trailer",
+            "upgrade", "proxy-authenticate", "proxy-authorization");
+
+    Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, @Nullable Long userId,
+                                         @Nullable Map<String, Object> parameters, @Nullable Object body,
+                                         HttpHeaders headers);
+
+    default Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, @Nullable Long userId,
+                                                 @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        return exchange(method, path, userId, parameters, body, HttpHeaders.EMPTY);
+    }
+
+    default Mono<ResponseEntity<Object>> exchangeCacheable(String path, @Nullable Long userId) {
+        return exchange(HttpMethod.GET, path, userId, null, null);
+    }
+
+    static HttpHeaders passthroughHeaders(HttpHeaders upstreamHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+        upstreamHeaders.forEach((name, values) -> {
+            if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase())) {
+                headers.addAll(name, values);
+            }
+        });
+        return headers;
+    }
+
+    static HttpHeaders reserializedHeaders(HttpHeaders upstreamHeaders) {
+        HttpHeaders headers = passthroughHeaders(upstreamHeaders);
+        headers.remove(HttpHeaders.CONTENT_LENGTH);
+        return headers;
+    }
+
+    static HttpHeaders requestHeaders(@Nullable Long userId, HttpHeaders headers) {
+        HttpHeaders requestHeaders = defaultHeaders(userId);
+        requestHeaders.addAll(headers);
+        return requestHeaders;
+    }
+
+    static ResponseEntity<Object> errorResponse(int status, @Nullable HttpHeaders upstreamHeaders, @Nullable byte[] body) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(status);
+        if (upstreamHeaders != null && upstreamHeaders.getContentType() != null) {
+            builder.contentType(upstreamHeaders.getContentType());
+        }
+        return body != null ? builder.body(body) : builder.build();
+    }
+
+    static ResponseEntity<Object> buffered(ResponseEntity<Object> response) {
+        if (!(response.getBody() instanceof Resource)) {
+            return response;
+        }
+        try (InputStream in = ((Resource) response.getBody()).getInputStream()) {
+            return ResponseEntity.status(response.getStatusCode())
+                    .headers(response.getHeaders())
+                    .body(StreamUtils.copyToByteArray(in));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static HttpHeaders defaultHeaders(@Nullable Long userId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        if (userId != null) {
+            headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        }
+        return headers;
+    }
+}
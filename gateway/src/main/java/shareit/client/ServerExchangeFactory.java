@@ -0,0 +1,6 @@
+package shareit.client;
+
+public interface ServerExchangeFactory {
+
+    ServerExchange create(String apiPrefix);
+}
@@ -0,0 +1,77 @@
+package shareit.client;
+
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class WebClientExchange implements ServerExchange {
+
+    private final WebClient webClient;
+    private final boolean passthrough;
+
+    public WebClientExchange(WebClient webClient, boolean passthrough) {
+        this.webClient = webClient;
+        this.passthrough = passthrough;
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, @Nullable Long userId,
+                                                @Nullable Map<String, Object> parameters, @Nullable Object body,
+                                                HttpHeaders headers) {
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(requestHeaders -> requestHeaders.addAll(ServerExchange.requestHeaders(userId, headers)));
+        if (body != null) {
+            request.bodyValue(body);
+        }
+        if (passthrough) {
+            return Mono.defer(() -> {
+                AtomicReference<DataBufferInputStream> unconsumed = new AtomicReference<>();
+                return request.exchangeToMono(response -> toGatewayResponse(response, unconsumed))
+                        .doOnNext(response -> unconsumed.set(null))
+                        .doOnCancel(() -> release(unconsumed))
+                        .doOnDiscard(ResponseEntity.class, response -> release(unconsumed));
+            });
+        }
+        return request.exchangeToMono(response -> toGatewayResponse(response, null));
+    }
+
+    private Mono<ResponseEntity<Object>> toGatewayResponse(ClientResponse response,
+                                                           @Nullable AtomicReference<DataBufferInputStream> unconsumed) {
+        if (response.statusCode().is2xxSuccessful()) {
+            if (unconsumed != null) {
+                // subscribing here keeps exchangeToMono from draining the body once the entity is emitted
+                DataBufferInputStream body = new DataBufferInputStream(response.bodyToFlux(DataBuffer.class));
+                unconsumed.set(body);
+                return Mono.just(ResponseEntity.status(response.statusCode())
+                        .headers(ServerExchange.passthroughHeaders(response.headers().asHttpHeaders()))
+                        .body(new InputStreamResource(body)));
+            }
+            return response.toEntity(Object.class)
+                    .map(entity -> ResponseEntity.status(entity.getStatusCode())
+                            .headers(ServerExchange.reserializedHeaders(entity.getHeaders()))
+                            .body(entity.getBody()));
+        }
+        HttpHeaders upstreamHeaders = response.headers().asHttpHeaders();
+        return response.bodyToMono(byte[].class)
+                .map(body -> ServerExchange.errorResponse(response.rawStatusCode(), upstreamHeaders, body))
+                .defaultIfEmpty(ServerExchange.errorResponse(response.rawStatusCode(), upstreamHeaders, null));
+    }
+
+    // closing an unread body cancels it, which releases its buffers and the connection
+    private static void release(AtomicReference<DataBufferInputStream> unconsumed) {
+        DataBufferInputStream body = unconsumed.getAndSet(null);
+        if (body != null) {
+            body.close();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package shareit.client;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import shareit.client.cache.ServerResponseCache;
+import shareit.client.coalesce.RequestCoalescer;
+import shareit.client.guard.ServerGuard;
+
+@Component
+@ConditionalOnProperty(name = "shareit-server.client.mode", havingValue = "reactive")
+public class WebClientExchangeFactory implements ServerExchangeFactory {
+
+    private final String serverUrl;
+    private final boolean passthrough;
+    private final WebClient.Builder builder;
+    private final ServerResponseCache responseCache;
+    private final RequestCoalescer requestCoalescer;
+    private final ServerGuard serverGuard;
+
+    public WebClientExchangeFactory(@Value("${shareit-server.url}") String serverUrl,
+                                    @Value("${shareit-server.client.passthrough:false}") boolean passthrough,
+                                    WebClient.Builder builder,
+                                    ServerResponseCache responseCache,
+                                    RequestCoalescer requestCoalescer,
+                                    ServerGuard serverGuard) {
+        this.serverUrl = serverUrl;
+        this.passthrough = passthrough;
+        this.builder = builder;
+        this.responseCache = responseCache;
+        this.requestCoalescer = requestCoalescer;
+        this.serverGuard = serverGuard;
+    }
+
+    @Override
+    public ServerExchange create(String apiPrefix) {
+        return responseCache.decorate(apiPrefix, requestCoalescer.decorate(apiPrefix, serverGuard.decorate(apiPrefix, new WebClientExchange(builder.clone()
+                .baseUrl(serverUrl + apiPrefix)
+                .build(), passthrough))));
+    }
+}
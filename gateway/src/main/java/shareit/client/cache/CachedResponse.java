@@ -0,0 +1,45 @@
+package shareit.client.cache;
+
+import lombok.Getter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import shareit.client.ServerExchange;
+
+@Getter
+class CachedResponse {
+
+    private final int status;
+    private final HttpHeaders headers;
+    @Nullable
+    private final Object body;
+    @Nullable
+    private final String eTag;
+    private final long expiresAt;
+
+    private CachedResponse(int status, HttpHeaders headers, @Nullable Object body, long expiresAt) {
+        this.status = status;
+        this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+        this.body = body;
+        this.eTag = headers.getETag();
+        this.expiresAt = expiresAt;
+    }
+
+    static CachedResponse of(ResponseEntity<Object> response, long expiresAt) {
+        ResponseEntity<Object> buffered = ServerExchange.buffered(response);
+        return new CachedResponse(buffered.getStatusCodeValue(), ServerExchange.passthroughHeaders(buffered.getHeaders()),
+                buffered.getBody(), expiresAt);
+    }
+
+    CachedResponse refreshed(long expiresAt) {
+        return new CachedResponse(status, headers, body, expiresAt);
+    }
+
+    boolean isFresh(long now) {
+        return now < expiresAt;
+    }
+
+    ResponseEntity<Object> toResponseEntity() {
+        return ResponseEntity.status(status).headers(headers).body(body);
+    }
+}
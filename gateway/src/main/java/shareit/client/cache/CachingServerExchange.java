@@ -0,0 +1,68 @@
+package shareit.client.cache;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Mono;
+import shareit.client.ServerExchange;
+
+import java.util.Map;
+
+class CachingServerExchange implements ServerExchange {
+
+    private final String apiPrefix;
+    private final ServerExchange delegate;
+    private final ServerResponseCache cache;
+
+    CachingServerExchange(String apiPrefix, ServerExchange delegate, ServerResponseCache cache) {
+        this.apiPrefix = apiPrefix;
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, @Nullable Long userId,
+                                                @Nullable Map<String, Object> parameters, @Nullable Object body,
+                                                HttpHeaders headers) {
+        Mono<ResponseEntity<Object>> response = delegate.exchange(method, path, userId, parameters, body, headers);
+        if (method == HttpMethod.GET) {
+            return response;
+        }
+        return response.doOnNext(r -> {
+            if (r.getStatusCode().is2xxSuccessful()) {
+                cache.invalidateAll();
+            }
+        });
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> exchangeCacheable(String path, @Nullable Long userId) {
+        String key = apiPrefix + path + "|" + userId;
+        CachedResponse cached = cache.get(key);
+        if (cached != null && cached.isFresh(System.currentTimeMillis())) {
+            return Mono.just(cached.toResponseEntity());
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        if (cached != null && cached.getETag() != null) {
+            headers.setIfNoneMatch(cached.getETag());
+        }
+        long generation = cache.generation();
+        return delegate.exchange(HttpMethod.GET, path, userId, null, null, headers)
+                .map(response -> {
+                    if (cached != null && response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+                        cache.put(key, cached.refreshed(cache.expiresAt()), generation);
+                        return cached.toResponseEntity();
+                    }
+                    if (!response.getStatusCode().is2xxSuccessful()) {
+                        cache.invalidate(key);
+                        return response;
+                    }
+                    CachedResponse fresh = CachedResponse.of(response, cache.expiresAt());
+                    cache.put(key, fresh, generation);
+                    return fresh.toResponseEntity();
+                });
+    }
+}
@@ -0,0 +1,65 @@
+package shareit.client.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import shareit.client.ServerExchange;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Slf4j
+@Component
+public class ServerResponseCache {
+
+    private final boolean enabled;
+    private final long ttlMillis;
+    private final Map<String, CachedResponse> entries;
+    private long generation;
+
+    public ServerResponseCache(@Value("${shareit-server.client.cache.enabled:true}") boolean enabled,
+                               @Value("${shareit-server.client.cache.ttl:5s}") Duration ttl,
+                               @Value("${shareit-server.client.cache.max-size:10000}") int maxSize) {
+        this.enabled = enabled;
+        this.ttlMillis = ttl.toMillis();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public ServerExchange decorate(String apiPrefix, ServerExchange exchange) {
+        return enabled ? new CachingServerExchange(apiPrefix, exchange, this) : exchange;
+    }
+
+    synchronized CachedResponse get(String key) {
+        return entries.get(key);
+    }
+
+    synchronized void put(String key, CachedResponse response, long expectedGeneration) {
+        if (generation == expectedGeneration) {
+            entries.put(key, response);
+        }
+    }
+
+    synchronized void invalidate(String key) {
+        entries.remove(key);
+    }
+
+    synchronized void invalidateAll() {
+        log.debug("Invalidating {} cached server responses", entries.size());
+        generation++;
+        entries.clear();
+    }
+
+    synchronized long generation() {
+        return generation;
+    }
+
+    long expiresAt() {
+        return System.currentTimeMillis() + ttlMillis;
+    }
+}
@@ -0,0 +1,38 @@
+package shareit.client.coalesce;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Mono;
+import shareit.client.ServerExchange;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+class CoalescingServerExchange implements ServerExchange {
+
+    private final String apiPrefix;
+    private final ServerExchange delegate;
+    private final RequestCoalescer coalescer;
+
+    CoalescingServerExchange(String apiPrefix, ServerExchange delegate, RequestCoalescer coalescer) {
+        this.apiPrefix = apiPrefix;
+        this.delegate = delegate;
+        this.coalescer = coalescer;
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, @Nullable Long userId,
+                                                @Nullable Map<String, Object> parameters, @Nullable Object body,
+                                                HttpHeaders headers) {
+        if (method != HttpMethod.GET) {
+            return delegate.exchange(method, path, userId, parameters, body, headers);
+        }
+        String key = apiPrefix + path
+                + "|" + (parameters != null ? new TreeMap<>(parameters) : "")
+                + "|" + userId
+                + "|" + headers;
+        return coalescer.join(key, () -> delegate.exchange(method, path, userId, parameters, null, headers));
+    }
+}
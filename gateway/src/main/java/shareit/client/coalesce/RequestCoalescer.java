@@ -0,0 +1,33 @@
+package shareit.client.coalesce;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import shareit.client.ServerExchange;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+@Component
+public class RequestCoalescer {
+
+    private final boolean enabled;
+    private final Map<String, Mono<ResponseEntity<Object>>> inFlight = new ConcurrentHashMap<>();
+
+    public RequestCoalescer(@Value("${shareit-server.client.coalescing.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public ServerExchange decorate(String apiPrefix, ServerExchange exchange) {
+        return enabled ? new CoalescingServerExchange(apiPrefix, exchange, this) : exchange;
+    }
+
+    Mono<ResponseEntity<Object>> join(String key, Supplier<Mono<ResponseEntity<Object>>> call) {
+        return Mono.defer(() -> inFlight.computeIfAbsent(key, k -> call.get()
+                .map(ServerExchange::buffered)
+                .doFinally(signal -> inFlight.remove(k))
+                .cache()));
+    }
+}
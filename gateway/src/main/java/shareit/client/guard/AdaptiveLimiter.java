@@ -0,0 +1,49 @@
+package shareit.client.guard;
+
+class AdaptiveLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+
+    private double limit;
+    private int inFlight;
+
+    AdaptiveLimiter(GuardProperties properties) {
+        this.minLimit = properties.getLimitMin();
+        this.maxLimit = properties.getLimitMax();
+        this.latencyThresholdNanos = properties.getLimitLatencyThreshold().toNanos();
+        this.backoffRatio = properties.getLimitBackoffRatio();
+        this.limit = properties.getLimitInitial();
+    }
+
+    synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) {
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    synchronized void onComplete(long rttNanos, boolean dropped) {
+        inFlight--;
+        if (dropped || rttNanos > latencyThresholdNanos) {
+            limit = Math.max(minLimit, limit * backoffRatio);
+        } else if (inFlight * 2 >= (int) limit) {
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+    }
+
+    synchronized void onIgnored() {
+        inFlight--;
+    }
+
+    synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    synchronized int getInFlight() {
+        return inFlight;
+    }
+}
@@ -0,0 +1,32 @@
+package shareit.client.guard;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "shareit-server.client.guard")
+public class GuardProperties {
+
+    private boolean enabled = true;
+
+    private int bulkheadMaxConcurrent = 50;
+    private Map<String, Integer> bulkheads = new HashMap<>();
+
+    private int breakerWindowSize = 20;
+    private int breakerMinimumCalls = 10;
+    private int breakerFailureRateThreshold = 50;
+    private Duration breakerOpenDuration = Duration.ofSeconds(10);
+    private int breakerHalfOpenCalls = 3;
+
+    private int limitInitial = 20;
+    private int limitMin = 4;
+    private int limitMax = 200;
+    private Duration limitLatencyThreshold = Duration.ofSeconds(1);
+    private double limitBackoffRatio = 0.9;
+}
@@ -0,0 +1,84 @@
+package shareit.client.guard;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import shareit.client.ServerExchange;
+import shareit.exception.ServerUnavailableException;
+
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+class GuardedServerExchange implements ServerExchange {
+
+    private final String resource;
+    private final ServerExchange delegate;
+    private final CircuitBreaker breaker;
+    private final Semaphore bulkhead;
+    private final AdaptiveLimiter limiter;
+    private final ServerGuard guard;
+
+    GuardedServerExchange(String resource, ServerExchange delegate, CircuitBreaker breaker, Semaphore bulkhead,
+                          AdaptiveLimiter limiter, ServerGuard guard) {
+        this.resource = resource;
+        this.delegate = delegate;
+        this.breaker = breaker;
+        this.bulkhead = bulkhead;
+        this.limiter = limiter;
+        this.guard = guard;
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, @Nullable Long userId,
+                                                @Nullable Map<String, Object> parameters, @Nullable Object body,
+                                                HttpHeaders headers) {
+        return Mono.defer(() -> {
+            if (!breaker.tryAcquire(System.nanoTime())) {
+                return reject("circuit_open", "circuit breaker for " + resource + " is open");
+            }
+            if (!bulkhead.tryAcquire()) {
+                breaker.onIgnored();
+                return reject("bulkhead_full", "too many concurrent calls to " + resource);
+            }
+            if (!limiter.tryAcquire()) {
+                bulkhead.release();
+                breaker.onIgnored();
+                return reject("limit_exceeded", "concurrency limit reached");
+            }
+            long start = System.nanoTime();
+            AtomicBoolean settled = new AtomicBoolean();
+            return delegate.exchange(method, path, userId, parameters, body, headers)
+                    .doOnNext(response -> complete(settled, start, response.getStatusCode().is5xxServerError()))
+                    .doOnError(e -> complete(settled, start, true))
+                    .doFinally(signal -> {
+                        if (signal == SignalType.CANCEL && settled.compareAndSet(false, true)) {
+                            limiter.onIgnored();
+                            breaker.onIgnored();
+                        }
+                        bulkhead.release();
+                    });
+        });
+    }
+
+    private void complete(AtomicBoolean settled, long start, boolean failed) {
+        if (!settled.compareAndSet(false, true)) {
+            return;
+        }
+        long now = System.nanoTime();
+        limiter.onComplete(now - start, failed);
+        if (failed) {
+            breaker.onFailure(now);
+        } else {
+            breaker.onSuccess();
+        }
+    }
+
+    private Mono<ResponseEntity<Object>> reject(String reason, String message) {
+        guard.rejected(resource, reason);
+        return Mono.error(new ServerUnavailableException(message));
+    }
+}
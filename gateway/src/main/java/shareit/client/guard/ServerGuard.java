@@ -0,0 +1,55 @@
+package shareit.client.guard;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import shareit.client.ServerExchange;
+
+import java.util.concurrent.Semaphore;
+
+@Slf4j
+@Component
+public class ServerGuard {
+
+    private final GuardProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final AdaptiveLimiter limiter;
+
+    public ServerGuard(GuardProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.limiter = new AdaptiveLimiter(properties);
+        Gauge.builder("shareit.gateway.limiter.limit", limiter, AdaptiveLimiter::getLimit).register(meterRegistry);
+        Gauge.builder("shareit.gateway.limiter.in-flight", limiter, AdaptiveLimiter::getInFlight).register(meterRegistry);
+    }
+
+    public ServerExchange decorate(String apiPrefix, ServerExchange exchange) {
+        if (!properties.isEnabled()) {
+            return exchange;
+        }
+        String resource = apiPrefix.startsWith("/") ? apiPrefix.substring(1) : apiPrefix;
+        int maxConcurrent = properties.getBulkheads().getOrDefault(resource, properties.getBulkheadMaxConcurrent());
+        CircuitBreaker breaker = new CircuitBreaker(properties);
+        Semaphore bulkhead = new Semaphore(maxConcurrent);
+
+        Gauge.builder("shareit.gateway.breaker.state", breaker, b -> b.getState().ordinal())
+                .description("0 - closed, 1 - open, 2 - half-open")
+                .tag("resource", resource)
+                .register(meterRegistry);
+        Gauge.builder("shareit.gateway.bulkhead.available", bulkhead, Semaphore::availablePermits)
+                .tag("resource", resource)
+                .register(meterRegistry);
+        return new GuardedServerExchange(resource, exchange, breaker, bulkhead, limiter, this);
+    }
+
+    void rejected(String resource, String reason) {
+        log.debug("Rejected call to {}: {}", resource, reason);
+        Counter.builder("shareit.gateway.rejections")
+                .tag("resource", resource)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+}
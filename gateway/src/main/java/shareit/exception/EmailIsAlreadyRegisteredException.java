@@ -1,6 +1,6 @@
 package shareit.exception;
 
-public class EmailIsAlreadyRegisteredException extends RuntimeException {
+public class EmailIsAlreadyRegisteredException extends ShareItException {
 
     public EmailIsAlreadyRegisteredException(String message) {
         super(message);
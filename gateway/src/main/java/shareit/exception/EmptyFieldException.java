@@ -1,6 +1,6 @@
 package shareit.exception;
 
-public class EmptyFieldException extends RuntimeException {
+public class EmptyFieldException extends ShareItException {
     public EmptyFieldException(String message) {
         super(message);
     }
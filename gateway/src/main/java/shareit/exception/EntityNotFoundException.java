@@ -1,6 +1,6 @@
 package shareit.exception;
 
-public class EntityNotFoundException extends RuntimeException {
+public class EntityNotFoundException extends ShareItException {
 
     public EntityNotFoundException(String message) {
         super(message);
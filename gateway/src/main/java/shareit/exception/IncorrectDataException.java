@@ -1,6 +1,6 @@
 package shareit.exception;
 
-public class IncorrectDataException extends RuntimeException {
+public class IncorrectDataException extends ShareItException {
     public IncorrectDataException(String message) {
         super(message);
     }
@@ -0,0 +1,8 @@
+package shareit.exception;
+
+public class ServerUnavailableException extends ShareItException {
+
+    public ServerUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package shareit.exception;
+
+import lombok.Getter;
+
+@Getter
+public class TooManyRequestsException extends ShareItException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -1,6 +1,6 @@
 package shareit.exception;
 
-public class UnsupportedMethodException extends RuntimeException {
+public class UnsupportedMethodException extends ShareItException {
 
     public UnsupportedMethodException(String message) {
         super(message);
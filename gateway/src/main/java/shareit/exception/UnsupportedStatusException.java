@@ -1,6 +1,6 @@
 package shareit.exception;
 
-public class UnsupportedStatusException extends RuntimeException {
+public class UnsupportedStatusException extends ShareItException {
 
     public UnsupportedStatusException(String message) {
         super(message);
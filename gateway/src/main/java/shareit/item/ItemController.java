@@ -2,14 +2,17 @@ package shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import shareit.validator.PageableValidator;
 import shareit.validator.ItemValidator;
 
 import javax.validation.constraints.Positive;
+import java.time.LocalDateTime;
 
 
 @Controller
@@ -24,14 +27,14 @@ public class ItemController {
     private final ItemClient itemClient;
 
     @PostMapping
-    public ResponseEntity<Object> createItem(@RequestBody ItemDto itemDto, @RequestHeader("X-Sharer-User-Id") @Positive long userId) {
+    public Mono<ResponseEntity<Object>> createItem(@RequestBody ItemDto itemDto, @RequestHeader("X-Sharer-User-Id") @Positive long userId) {
         itemValidator.validateItemData(itemDto);
         log.debug("Gateway: Creating item element {}", itemDto);
         return itemClient.createItem(userId, itemDto);
     }
 
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> updateItem(@PathVariable @Positive long itemId, @RequestBody ItemDto itemDto, @RequestHeader("X-Sharer-User-Id") @Positive long userId) {
+    public Mono<ResponseEntity<Object>> updateItem(@PathVariable @Positive long itemId, @RequestBody ItemDto itemDto, @RequestHeader("X-Sharer-User-Id") @Positive long userId) {
         itemValidator.validateItemDataUpdate(itemDto);
         log.debug("Gateway: Updating item element by id {}", itemId);
         itemDto.setId(itemId);
@@ -39,13 +42,13 @@ public class ItemController {
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getItemById(@PathVariable @Positive long itemId, @RequestHeader("X-Sharer-User-Id") @Positive long userId) {
+    public Mono<ResponseEntity<Object>> getItemById(@PathVariable @Positive long itemId, @RequestHeader("X-Sharer-User-Id") @Positive long userId) {
         log.debug("Gateway: Getting item by id : {}", itemId);
         return itemClient.getItemById(userId, itemId);
     }
 
     @GetMapping()
-    public ResponseEntity<Object> getUserItems(@RequestParam(defaultValue = "0") Integer from, @RequestParam(defaultValue = "10") Integer size,
+    public Mono<ResponseEntity<Object>> getUserItems(@RequestParam(defaultValue = "0") Integer from, @RequestParam(defaultValue = "10") Integer size,
                                                @RequestHeader("X-Sharer-User-Id") @Positive long userId) {
         pageableValidator.checkingPageableParams(from, size);
         log.debug("Gateway: Getting all items by userId {}", userId);
@@ -53,15 +56,25 @@ public class ItemController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> getItemsBySearch(@RequestParam(defaultValue = "0") Integer from, @RequestParam(defaultValue = "10") Integer size,
+    public Mono<ResponseEntity<Object>> getItemsBySearch(@RequestParam(defaultValue = "0") Integer from, @RequestParam(defaultValue = "10") Integer size,
                                                    @RequestParam String text, @RequestHeader("X-Sharer-User-Id") @Positive long userId) {
         pageableValidator.checkingPageableParams(from, size);
         log.debug("Gateway: Getting items by search text: {}", text);
         return itemClient.getItemsBySearch(userId, from, size, text);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public Mono<ResponseEntity<Object>> getItemAvailability(@PathVariable @Positive long itemId,
+                                                      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                      @RequestHeader("X-Sharer-User-Id") @Positive long userId) {
+        itemValidator.validateAvailabilityPeriod(from, to);
+        log.debug("Gateway: Getting availability of item {} from {} to {}", itemId, from, to);
+        return itemClient.getItemAvailability(userId, itemId, from, to);
+    }
+
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> createCommentToItem(@PathVariable @Positive Long itemId, @RequestBody CommentDto comment,
+    public Mono<ResponseEntity<Object>> createCommentToItem(@PathVariable @Positive Long itemId, @RequestBody CommentDto comment,
                                                       @RequestHeader("X-Sharer-User-Id") long userId) {
         itemValidator.validateCommentData(comment);
         log.debug("Gateway: Creating comment to item by userId {}", userId);
@@ -0,0 +1,34 @@
+package shareit.ratelimit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import shareit.exception.TooManyRequestsException;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+@Component
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    private final RateLimiter rateLimiter;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        String userId = request.getHeader(USER_ID_HEADER);
+        String remoteAddr = request.getRemoteAddr();
+        String client = userId != null ? "user:" + userId : "ip:" + remoteAddr;
+        long retryAfterSeconds = rateLimiter.tryAcquire(client, remoteAddr, request.getRequestURI());
+        if (retryAfterSeconds > 0) {
+            throw new TooManyRequestsException("rate limit exceeded for " + client, retryAfterSeconds);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,27 @@
+package shareit.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "shareit.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    private Limit defaults = new Limit();
+    private Map<String, Limit> routes = new LinkedHashMap<>();
+    private Duration idleEviction = Duration.ofMinutes(5);
+    private int maxBuckets = 100_000;
+
+    @Data
+    public static class Limit {
+        private int capacity = 100;
+        private double refillPerSecond = 50;
+    }
+}
@@ -0,0 +1,73 @@
+package shareit.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+public class RateLimiter {
+
+    private static final String DEFAULT_ROUTE = "*";
+    private static final long FULL_SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final RateLimitProperties properties;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> sharedBuckets = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep = new AtomicLong(System.nanoTime());
+    private final long idleNanos;
+
+    public RateLimiter(RateLimitProperties properties) {
+        this.properties = properties;
+        this.idleNanos = properties.getIdleEviction().toNanos();
+    }
+
+    public long tryAcquire(String client, String remoteAddr, String path) {
+        return tryAcquire(client, remoteAddr, path, System.nanoTime());
+    }
+
+    long tryAcquire(String client, String remoteAddr, String path, long now) {
+        String route = DEFAULT_ROUTE;
+        RateLimitProperties.Limit limit = properties.getDefaults();
+        for (Map.Entry<String, RateLimitProperties.Limit> entry : properties.getRoutes().entrySet()) {
+            if (pathMatcher.match(entry.getKey(), path)) {
+                route = entry.getKey();
+                limit = entry.getValue();
+                break;
+            }
+        }
+
+        sweepIfNeeded(now);
+        RateLimitProperties.Limit bucketLimit = limit;
+        String key = client + "|" + route;
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = buckets.size() < properties.getMaxBuckets()
+                    ? buckets.computeIfAbsent(key, k -> new TokenBucket(bucketLimit, now))
+                    : sharedBuckets.computeIfAbsent("ip:" + remoteAddr + "|" + route, k -> new TokenBucket(bucketLimit, now));
+        }
+        long waitNanos = bucket.tryConsume(now);
+        return waitNanos == 0 ? 0 : Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private void sweepIfNeeded(long now) {
+        long last = lastSweep.get();
+        long interval = buckets.size() >= properties.getMaxBuckets() ? FULL_SWEEP_INTERVAL_NANOS : idleNanos;
+        if (now - last > interval && lastSweep.compareAndSet(last, now)) {
+            int before = buckets.size() + sharedBuckets.size();
+            buckets.values().removeIf(bucket -> bucket.isIdle(now, idleNanos));
+            sharedBuckets.values().removeIf(bucket -> bucket.isIdle(now, idleNanos));
+            log.debug("Evicted {} idle rate limit buckets", before - buckets.size() - sharedBuckets.size());
+        }
+    }
+}
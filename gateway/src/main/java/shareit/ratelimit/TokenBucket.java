@@ -0,0 +1,47 @@
+package shareit.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+class TokenBucket {
+
+    private final int capacity;
+    private final double refillPerNano;
+    private final AtomicReference<State> state;
+    private volatile long lastAccess;
+
+    TokenBucket(RateLimitProperties.Limit limit, long now) {
+        this.capacity = limit.getCapacity();
+        this.refillPerNano = limit.getRefillPerSecond() / TimeUnit.SECONDS.toNanos(1);
+        this.state = new AtomicReference<>(new State(capacity, now));
+        this.lastAccess = now;
+    }
+
+    long tryConsume(long now) {
+        lastAccess = now;
+        while (true) {
+            State current = state.get();
+            double tokens = Math.min(capacity, current.tokens + Math.max(0, now - current.timestamp) * refillPerNano);
+            if (tokens < 1) {
+                return (long) Math.ceil((1 - tokens) / refillPerNano);
+            }
+            if (state.compareAndSet(current, new State(tokens - 1, now))) {
+                return 0;
+            }
+        }
+    }
+
+    boolean isIdle(long now, long idleNanos) {
+        return now - lastAccess > idleNanos;
+    }
+
+    private static final class State {
+        private final double tokens;
+        private final long timestamp;
+
+        private State(double tokens, long timestamp) {
+            this.tokens = tokens;
+            this.timestamp = timestamp;
+        }
+    }
+}
@@ -6,6 +6,8 @@ import shareit.exception.IncorrectDataException;
 import shareit.item.CommentDto;
 import shareit.item.ItemDto;
 
+import java.time.LocalDateTime;
+
 @Component
 public class ItemValidator {
 
@@ -29,4 +31,10 @@ public class ItemValidator {
             throw new IncorrectDataException("Comment text cant be empty!");
         }
     }
+
+    public void validateAvailabilityPeriod(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new IncorrectDataException("Availability: 'from' must be before 'to'");
+        }
+    }
 }
@@ -0,0 +1,62 @@
+package shareit.client;
+
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.NettyDataBuffer;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.util.StreamUtils;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DataBufferInputStreamTest {
+
+    private final NettyDataBufferFactory bufferFactory = new NettyDataBufferFactory(new UnpooledByteBufAllocator(false));
+
+    @Test
+    void read_whenBodyHasSeveralBuffers_thenReturnAllBytesAndReleaseThem() throws IOException {
+        List<NettyDataBuffer> buffers = List.of(buffer("{\"id\""), buffer(":"), buffer("1}"));
+
+        String body;
+        try (InputStream in = new DataBufferInputStream(Flux.fromIterable(buffers))) {
+            body = StreamUtils.copyToString(in, StandardCharsets.UTF_8);
+        }
+
+        assertEquals(body, "{\"id\":1}");
+        buffers.forEach(buffer -> assertEquals(buffer.getNativeBuffer().refCnt(), 0));
+    }
+
+    @Test
+    void close_whenBodyIsPartlyRead_thenReleaseBufferAndCancel() throws IOException {
+        NettyDataBuffer first = buffer("{\"id\":");
+        AtomicInteger cancelled = new AtomicInteger();
+        InputStream in = new DataBufferInputStream(Flux.just(first, buffer("1}")).doOnCancel(cancelled::incrementAndGet));
+
+        assertEquals(in.read(), '{');
+        in.close();
+
+        assertEquals(first.getNativeBuffer().refCnt(), 0);
+        assertEquals(cancelled.get(), 1);
+        assertThrows(IOException.class, in::read);
+    }
+
+    @Test
+    void read_whenBodyFails_thenThrowIOException() {
+        InputStream in = new DataBufferInputStream(Flux.error(new IllegalStateException("connection reset")));
+
+        IOException exception = assertThrows(IOException.class, in::read);
+
+        assertEquals(exception.getCause().getMessage(), "connection reset");
+    }
+
+    private NettyDataBuffer buffer(String text) {
+        return (NettyDataBuffer) bufferFactory.wrap(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
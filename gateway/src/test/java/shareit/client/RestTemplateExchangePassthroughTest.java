@@ -0,0 +1,109 @@
+package shareit.client;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RestTemplateExchangePassthroughTest {
+
+    private MockWebServer server;
+    private PoolingHttpClientConnectionManager connectionManager;
+    private RestTemplateExchange exchange;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        connectionManager = new PoolingHttpClientConnectionManager();
+        HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(
+                HttpClients.custom().setConnectionManager(connectionManager).build());
+        exchange = new RestTemplateExchange(new RestTemplateBuilder()
+                .uriTemplateHandler(new DefaultUriBuilderFactory(server.url("/items").toString()))
+                .requestFactory(() -> requestFactory)
+                .build(), true);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        connectionManager.shutdown();
+        server.shutdown();
+    }
+
+    @Test
+    void exchange_whenBodyIsRead_thenStreamBytesAndReleaseConnection() throws IOException {
+        server.enqueue(json("{\"id\":1}"));
+
+        ResponseEntity<Object> response = exchange.exchange(HttpMethod.GET, "/1", 7L, null, null).block();
+        String body;
+        try (InputStream in = ((Resource) response.getBody()).getInputStream()) {
+            body = StreamUtils.copyToString(in, StandardCharsets.UTF_8);
+        }
+
+        assertEquals(response.getStatusCode(), HttpStatus.OK);
+        assertEquals(body, "{\"id\":1}");
+        assertEquals(connectionManager.getTotalStats().getLeased(), 0);
+    }
+
+    @Test
+    void exchange_whenServerReturnsError_thenBufferBodyAndReleaseConnection() {
+        server.enqueue(json("{\"error\":\"boom\"}").setResponseCode(500));
+
+        ResponseEntity<Object> response = exchange.exchange(HttpMethod.GET, "/1", 7L, null, null).block();
+
+        assertEquals(response.getStatusCode(), HttpStatus.INTERNAL_SERVER_ERROR);
+        assertEquals(new String((byte[]) response.getBody(), StandardCharsets.UTF_8), "{\"error\":\"boom\"}");
+        assertEquals(connectionManager.getTotalStats().getLeased(), 0);
+    }
+
+    @Test
+    void exchange_whenCancelledBeforeResponseIsWritten_thenReleaseConnection() throws InterruptedException {
+        server.enqueue(json("{\"id\":1}").setHeadersDelay(300, TimeUnit.MILLISECONDS));
+
+        Disposable subscription = exchange.exchange(HttpMethod.GET, "/1", 7L, null, null)
+                .subscribeOn(Schedulers.boundedElastic())
+                .subscribe();
+        server.takeRequest(1, TimeUnit.SECONDS);
+        subscription.dispose();
+
+        assertEquals(awaitLeased(), 0);
+    }
+
+    private int awaitLeased() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 3000;
+        int leased = connectionManager.getTotalStats().getLeased();
+        while (leased > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            leased = connectionManager.getTotalStats().getLeased();
+        }
+        return leased;
+    }
+
+    private static MockResponse json(String body) {
+        return new MockResponse()
+                .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .setBody(body);
+    }
+}
@@ -0,0 +1,105 @@
+package shareit.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.*;
+
+class RestTemplateExchangeTest {
+
+    private MockRestServiceServer server;
+    private RestTemplateExchange exchange;
+
+    @BeforeEach
+    public void setUp() {
+        RestTemplate rest = new RestTemplateBuilder()
+                .uriTemplateHandler(new DefaultUriBuilderFactory("http://server/items"))
+                .build();
+        server = MockRestServiceServer.bindTo(rest).build();
+        exchange = new RestTemplateExchange(rest, false);
+    }
+
+    @Test
+    void exchange_whenServerReturns2xx_thenReturnBodyAndEndToEndHeaders() {
+        HttpHeaders upstreamHeaders = new HttpHeaders();
+        upstreamHeaders.setETag("\"v1\"");
+        upstreamHeaders.set(HttpHeaders.CONNECTION, "keep-alive");
+        server.expect(requestTo("http://server/items/1"))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header("X-Sharer-User-Id", "7"))
+                .andRespond(withSuccess("{\"id\":1,\"name\":\"Drill\"}", MediaType.APPLICATION_JSON).headers(upstreamHeaders));
+
+        ResponseEntity<Object> response = exchange.exchange(HttpMethod.GET, "/1", 7L, null, null).block();
+
+        server.verify();
+        assertEquals(response.getStatusCode(), HttpStatus.OK);
+        assertEquals(response.getBody(), Map.of("id", 1, "name", "Drill"));
+        assertEquals(response.getHeaders().getETag(), "\"v1\"");
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.CONNECTION));
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.CONTENT_LENGTH));
+    }
+
+    @Test
+    void exchange_whenPathAndQueryHaveVariables_thenExpandAndEncodeThem() {
+        server.expect(requestTo("http://server/items/search?text=drill%20bit&from=0&size=10"))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+
+        ResponseEntity<Object> response = exchange.exchange(HttpMethod.GET, "/search?text={text}&from={from}&size={size}", 7L,
+                Map.of("text", "drill bit", "from", 0, "size", 10), null).block();
+
+        server.verify();
+        assertEquals(response.getStatusCode(), HttpStatus.OK);
+    }
+
+    @Test
+    void exchange_whenRequestHasBody_thenSendItAsJson() {
+        server.expect(requestTo("http://server/items"))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(content().json("{\"name\":\"Drill\"}"))
+                .andRespond(withStatus(HttpStatus.CREATED).contentType(MediaType.APPLICATION_JSON).body("{\"id\":1}"));
+
+        ResponseEntity<Object> response = exchange.exchange(HttpMethod.POST, "", 7L, null, Map.of("name", "Drill")).block();
+
+        server.verify();
+        assertEquals(response.getStatusCode(), HttpStatus.CREATED);
+        assertEquals(response.getBody(), Map.of("id", 1));
+    }
+
+    @Test
+    void exchange_whenServerReturns4xx_thenPassStatusAndBodyThrough() {
+        server.expect(requestTo("http://server/items/99"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND).contentType(MediaType.APPLICATION_JSON)
+                        .body("{\"error\":\"There is no item with id: 99\"}"));
+
+        ResponseEntity<Object> response = exchange.exchange(HttpMethod.GET, "/99", 7L, null, null).block();
+
+        assertEquals(response.getStatusCode(), HttpStatus.NOT_FOUND);
+        assertEquals(response.getHeaders().getContentType(), MediaType.APPLICATION_JSON);
+        assertEquals(new String((byte[]) response.getBody(), StandardCharsets.UTF_8), "{\"error\":\"There is no item with id: 99\"}");
+    }
+
+    @Test
+    void exchange_whenServerReturns5xx_thenPassStatusAndBodyThrough() {
+        server.expect(requestTo("http://server/items/1"))
+                .andRespond(withServerError().contentType(MediaType.APPLICATION_JSON).body("{\"error\":\"boom\"}"));
+
+        ResponseEntity<Object> response = exchange.exchange(HttpMethod.GET, "/1", 7L, null, null).block();
+
+        assertEquals(response.getStatusCode(), HttpStatus.INTERNAL_SERVER_ERROR);
+        assertEquals(new String((byte[]) response.getBody(), StandardCharsets.UTF_8), "{\"error\":\"boom\"}");
+    }
+}
@@ -0,0 +1,130 @@
+package shareit.client;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WebClientExchangePassthroughTest {
+
+    private MockWebServer server;
+    private ConnectionProvider connectionProvider;
+    private WebClientExchange exchange;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        // a single connection, so a request after a leaked body times out waiting for it
+        connectionProvider = ConnectionProvider.builder("passthrough-test")
+                .maxConnections(1)
+                .pendingAcquireTimeout(Duration.ofSeconds(2))
+                .build();
+        exchange = new WebClientExchange(WebClient.builder()
+                .baseUrl(server.url("/items").toString())
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider)))
+                .build(), true);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        connectionProvider.dispose();
+        server.shutdown();
+    }
+
+    @Test
+    void exchange_whenBodyIsRead_thenStreamBytesAndEndToEndHeaders() throws IOException {
+        server.enqueue(json("{\"id\":1}")
+                .setHeader(HttpHeaders.ETAG, "\"v1\"")
+                .setHeader(HttpHeaders.CONNECTION, "keep-alive"));
+
+        ResponseEntity<Object> response = exchange.exchange(HttpMethod.GET, "/1", 7L, null, null).block();
+
+        assertEquals(response.getStatusCode(), HttpStatus.OK);
+        assertTrue(response.getBody() instanceof Resource);
+        assertEquals(read(response), "{\"id\":1}");
+        assertEquals(response.getHeaders().getETag(), "\"v1\"");
+        assertEquals(response.getHeaders().getContentLength(), 8);
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.CONNECTION));
+    }
+
+    @Test
+    void exchange_whenBodyIsLargerThanOneBuffer_thenStreamAllOfIt() throws IOException {
+        String body = "x".repeat(1024 * 1024);
+        server.enqueue(json(body));
+
+        ResponseEntity<Object> response = exchange.exchange(HttpMethod.GET, "/1", 7L, null, null).block();
+
+        assertEquals(read(response), body);
+    }
+
+    @Test
+    void exchange_whenServerReturnsError_thenBufferBody() {
+        server.enqueue(json("{\"error\":\"boom\"}").setResponseCode(500));
+
+        ResponseEntity<Object> response = exchange.exchange(HttpMethod.GET, "/1", 7L, null, null).block();
+
+        assertEquals(response.getStatusCode(), HttpStatus.INTERNAL_SERVER_ERROR);
+        assertEquals(new String((byte[]) response.getBody(), StandardCharsets.UTF_8), "{\"error\":\"boom\"}");
+    }
+
+    @Test
+    void exchange_whenBodyIsClosedUnread_thenReleaseConnection() throws IOException {
+        server.enqueue(json("x".repeat(1024 * 1024)));
+        server.enqueue(json("{\"id\":2}"));
+
+        ResponseEntity<Object> first = exchange.exchange(HttpMethod.GET, "/1", 7L, null, null).block();
+        ((Resource) first.getBody()).getInputStream().close();
+        ResponseEntity<Object> second = exchange.exchange(HttpMethod.GET, "/2", 7L, null, null).block();
+
+        assertEquals(read(second), "{\"id\":2}");
+    }
+
+    @Test
+    void exchange_whenCancelledBeforeResponseIsWritten_thenReleaseConnection() throws Exception {
+        server.enqueue(json("{\"id\":1}").setHeadersDelay(300, TimeUnit.MILLISECONDS));
+        server.enqueue(json("{\"id\":2}"));
+
+        Disposable subscription = exchange.exchange(HttpMethod.GET, "/1", 7L, null, null).subscribe();
+        server.takeRequest(1, TimeUnit.SECONDS);
+        subscription.dispose();
+        ResponseEntity<Object> second = exchange.exchange(HttpMethod.GET, "/2", 7L, null, null).block();
+
+        assertEquals(read(second), "{\"id\":2}");
+    }
+
+    private static String read(ResponseEntity<Object> response) throws IOException {
+        try (InputStream in = ((Resource) response.getBody()).getInputStream()) {
+            return StreamUtils.copyToString(in, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static MockResponse json(String body) {
+        return new MockResponse()
+                .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .setBody(body);
+    }
+}
@@ -0,0 +1,110 @@
+package shareit.client;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WebClientExchangeTest {
+
+    private MockWebServer server;
+    private WebClientExchange exchange;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        exchange = new WebClientExchange(WebClient.builder().baseUrl(server.url("/items").toString()).build(), false);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    void exchange_whenServerReturns2xx_thenReturnBodyAndEndToEndHeaders() throws InterruptedException {
+        server.enqueue(json(200, "{\"id\":1,\"name\":\"Drill\"}")
+                .setHeader(HttpHeaders.ETAG, "\"v1\"")
+                .setHeader(HttpHeaders.CONNECTION, "keep-alive"));
+
+        ResponseEntity<Object> response = exchange.exchange(HttpMethod.GET, "/1", 7L, null, null).block();
+
+        RecordedRequest request = server.takeRequest(1, TimeUnit.SECONDS);
+        assertEquals(request.getMethod(), "GET");
+        assertEquals(request.getPath(), "/items/1");
+        assertEquals(request.getHeader("X-Sharer-User-Id"), "7");
+        assertEquals(response.getStatusCode(), HttpStatus.OK);
+        assertEquals(response.getBody(), Map.of("id", 1, "name", "Drill"));
+        assertEquals(response.getHeaders().getETag(), "\"v1\"");
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.CONNECTION));
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.CONTENT_LENGTH));
+    }
+
+    @Test
+    void exchange_whenPathAndQueryHaveVariables_thenExpandAndEncodeThem() throws InterruptedException {
+        server.enqueue(json(200, "[]"));
+
+        ResponseEntity<Object> response = exchange.exchange(HttpMethod.GET, "/search?text={text}&from={from}&size={size}", 7L,
+                Map.of("text", "drill bit", "from", 0, "size", 10), null).block();
+
+        assertEquals(server.takeRequest(1, TimeUnit.SECONDS).getPath(), "/items/search?text=drill%20bit&from=0&size=10");
+        assertEquals(response.getStatusCode(), HttpStatus.OK);
+    }
+
+    @Test
+    void exchange_whenRequestHasBody_thenSendItAsJson() throws InterruptedException {
+        server.enqueue(json(201, "{\"id\":1}"));
+
+        ResponseEntity<Object> response = exchange.exchange(HttpMethod.POST, "", 7L, null, Map.of("name", "Drill")).block();
+
+        RecordedRequest request = server.takeRequest(1, TimeUnit.SECONDS);
+        assertEquals(request.getMethod(), "POST");
+        assertEquals(request.getBody().readUtf8(), "{\"name\":\"Drill\"}");
+        assertEquals(response.getStatusCode(), HttpStatus.CREATED);
+        assertEquals(response.getBody(), Map.of("id", 1));
+    }
+
+    @Test
+    void exchange_whenServerReturns4xx_thenPassStatusAndBodyThrough() {
+        server.enqueue(json(404, "{\"error\":\"There is no item with id: 99\"}"));
+
+        ResponseEntity<Object> response = exchange.exchange(HttpMethod.GET, "/99", 7L, null, null).block();
+
+        assertEquals(response.getStatusCode(), HttpStatus.NOT_FOUND);
+        assertEquals(response.getHeaders().getContentType(), MediaType.APPLICATION_JSON);
+        assertEquals(new String((byte[]) response.getBody(), StandardCharsets.UTF_8), "{\"error\":\"There is no item with id: 99\"}");
+    }
+
+    @Test
+    void exchange_whenServerReturns5xx_thenPassStatusAndBodyThrough() {
+        server.enqueue(json(500, "{\"error\":\"boom\"}"));
+
+        ResponseEntity<Object> response = exchange.exchange(HttpMethod.GET, "/1", 7L, null, null).block();
+
+        assertEquals(response.getStatusCode(), HttpStatus.INTERNAL_SERVER_ERROR);
+        assertEquals(new String((byte[]) response.getBody(), StandardCharsets.UTF_8), "{\"error\":\"boom\"}");
+    }
+
+    private static MockResponse json(int status, String body) {
+        return new MockResponse()
+                .setResponseCode(status)
+                .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .setBody(body);
+    }
+}
@@ -0,0 +1,147 @@
+package shareit.client.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import shareit.client.ServerExchange;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingServerExchangeTest {
+
+    @Mock
+    ServerExchange delegate;
+
+    @Test
+    void exchangeCacheable_whenEntryIsFresh_thenServeWithoutUpstreamCall() {
+        ServerExchange exchange = cache(Duration.ofMinutes(1), 10).decorate("/users", delegate);
+        when(delegate.exchange(eq(HttpMethod.GET), eq("/1"), isNull(), isNull(), isNull(), any(HttpHeaders.class)))
+                .thenReturn(Mono.just(ok(Map.of("id", 1), "\"v1\"")));
+
+        exchange.exchangeCacheable("/1", null).block();
+        ResponseEntity<Object> cached = exchange.exchangeCacheable("/1", null).block();
+
+        assertEquals(cached.getBody(), Map.of("id", 1));
+        assertEquals(cached.getHeaders().getETag(), "\"v1\"");
+        verify(delegate, times(1)).exchange(any(), any(), any(), any(), any(), any(HttpHeaders.class));
+    }
+
+    @Test
+    void exchangeCacheable_whenEntryIsStale_thenRevalidateWithETagAndRefreshOn304() throws InterruptedException {
+        ServerExchange exchange = cache(Duration.ofMillis(200), 10).decorate("/users", delegate);
+        when(delegate.exchange(eq(HttpMethod.GET), eq("/1"), isNull(), isNull(), isNull(), any(HttpHeaders.class)))
+                .thenReturn(Mono.just(ok(Map.of("id", 1), "\"v1\"")))
+                .thenReturn(Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).build()));
+
+        exchange.exchangeCacheable("/1", null).block();
+        Thread.sleep(250);
+        ResponseEntity<Object> revalidated = exchange.exchangeCacheable("/1", null).block();
+        ResponseEntity<Object> refreshed = exchange.exchangeCacheable("/1", null).block();
+
+        assertEquals(revalidated.getStatusCode(), HttpStatus.OK);
+        assertEquals(revalidated.getBody(), Map.of("id", 1));
+        assertEquals(refreshed.getBody(), Map.of("id", 1));
+        verify(delegate, times(1)).exchange(eq(HttpMethod.GET), eq("/1"), isNull(), isNull(), isNull(),
+                argThat(headers -> headers.getIfNoneMatch().equals(List.of("\"v1\""))));
+        verify(delegate, times(2)).exchange(any(), any(), any(), any(), any(), any(HttpHeaders.class));
+    }
+
+    @Test
+    void exchange_whenWriteSucceeds_thenInvalidateCachedReads() {
+        ServerExchange exchange = cache(Duration.ofMinutes(1), 10).decorate("/users", delegate);
+        when(delegate.exchange(eq(HttpMethod.GET), eq("/1"), isNull(), isNull(), isNull(), any(HttpHeaders.class)))
+                .thenReturn(Mono.just(ok(Map.of("name", "old"), null)))
+                .thenReturn(Mono.just(ok(Map.of("name", "new"), null)));
+        when(delegate.exchange(eq(HttpMethod.PATCH), eq("/1"), isNull(), isNull(), any(), any(HttpHeaders.class)))
+                .thenReturn(Mono.just(ok(Map.of("name", "new"), null)));
+
+        exchange.exchangeCacheable("/1", null).block();
+        exchange.exchange(HttpMethod.PATCH, "/1", null, null, Map.of("name", "new")).block();
+        ResponseEntity<Object> afterWrite = exchange.exchangeCacheable("/1", null).block();
+
+        assertEquals(afterWrite.getBody(), Map.of("name", "new"));
+    }
+
+    @Test
+    void exchange_whenWriteFails_thenKeepCachedReads() {
+        ServerExchange exchange = cache(Duration.ofMinutes(1), 10).decorate("/users", delegate);
+        when(delegate.exchange(eq(HttpMethod.GET), eq("/1"), isNull(), isNull(), isNull(), any(HttpHeaders.class)))
+                .thenReturn(Mono.just(ok(Map.of("name", "old"), null)));
+        when(delegate.exchange(eq(HttpMethod.PATCH), eq("/1"), isNull(), isNull(), any(), any(HttpHeaders.class)))
+                .thenReturn(Mono.just(ResponseEntity.status(HttpStatus.CONFLICT).build()));
+
+        exchange.exchangeCacheable("/1", null).block();
+        exchange.exchange(HttpMethod.PATCH, "/1", null, null, Map.of("email", "taken@mail.ru")).block();
+        exchange.exchangeCacheable("/1", null).block();
+
+        verify(delegate, times(1)).exchange(eq(HttpMethod.GET), any(), any(), any(), any(), any(HttpHeaders.class));
+    }
+
+    @Test
+    void exchangeCacheable_whenInvalidatedWhileReadIsInFlight_thenDoNotCacheTheRead() {
+        ServerResponseCache cache = cache(Duration.ofMinutes(1), 10);
+        ServerExchange exchange = cache.decorate("/users", delegate);
+        Sinks.One<ResponseEntity<Object>> inFlight = Sinks.one();
+        when(delegate.exchange(eq(HttpMethod.GET), eq("/1"), isNull(), isNull(), isNull(), any(HttpHeaders.class)))
+                .thenReturn(inFlight.asMono())
+                .thenReturn(Mono.just(ok(Map.of("name", "new"), null)));
+
+        Mono<ResponseEntity<Object>> staleRead = exchange.exchangeCacheable("/1", null);
+        cache.invalidateAll();
+        inFlight.tryEmitValue(ok(Map.of("name", "old"), null));
+        staleRead.block();
+        ResponseEntity<Object> nextRead = exchange.exchangeCacheable("/1", null).block();
+
+        assertEquals(nextRead.getBody(), Map.of("name", "new"));
+        verify(delegate, times(2)).exchange(any(), any(), any(), any(), any(), any(HttpHeaders.class));
+    }
+
+    @Test
+    void exchangeCacheable_whenMaxSizeIsReached_thenEvictLeastRecentlyUsed() {
+        ServerExchange exchange = cache(Duration.ofMinutes(1), 2).decorate("/users", delegate);
+        when(delegate.exchange(eq(HttpMethod.GET), anyString(), isNull(), isNull(), isNull(), any(HttpHeaders.class)))
+                .thenAnswer(invocation -> Mono.just(ok(Map.of("path", invocation.getArgument(1)), null)));
+
+        exchange.exchangeCacheable("/1", null).block();
+        exchange.exchangeCacheable("/2", null).block();
+        exchange.exchangeCacheable("/1", null).block();
+        exchange.exchangeCacheable("/3", null).block();
+        exchange.exchangeCacheable("/1", null).block();
+        exchange.exchangeCacheable("/2", null).block();
+
+        verify(delegate, times(1)).exchange(any(), eq("/1"), any(), any(), any(), any(HttpHeaders.class));
+        verify(delegate, times(2)).exchange(any(), eq("/2"), any(), any(), any(), any(HttpHeaders.class));
+        verify(delegate, times(1)).exchange(any(), eq("/3"), any(), any(), any(), any(HttpHeaders.class));
+    }
+
+    @Test
+    void decorate_whenCacheIsDisabled_thenReturnDelegate() {
+        assertEquals(new ServerResponseCache(false, Duration.ofMinutes(1), 10).decorate("/users", delegate), delegate);
+    }
+
+    private static ServerResponseCache cache(Duration ttl, int maxSize) {
+        return new ServerResponseCache(true, ttl, maxSize);
+    }
+
+    private static ResponseEntity<Object> ok(Object body, String eTag) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (eTag != null) {
+            builder.eTag(eTag);
+        }
+        return builder.body(body);
+    }
+}
@@ -0,0 +1,141 @@
+package shareit.client.coalesce;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import shareit.client.ServerExchange;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RequestCoalescerTest {
+
+    @Mock
+    ServerExchange delegate;
+
+    ServerExchange exchange;
+
+    @BeforeEach
+    public void setUp() {
+        exchange = new RequestCoalescer(true).decorate("/items", delegate);
+    }
+
+    @Test
+    void exchange_whenIdenticalGetsAreConcurrent_thenCallUpstreamOnceAndShareResponse() throws Exception {
+        Sinks.One<ResponseEntity<Object>> upstream = Sinks.one();
+        when(delegate.exchange(eq(HttpMethod.GET), eq("/1"), eq(1L), isNull(), isNull(), any(HttpHeaders.class)))
+                .thenReturn(upstream.asMono());
+        int callers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<CompletableFuture<ResponseEntity<Object>>>> subscriptions = new ArrayList<>();
+        try {
+            for (int i = 0; i < callers; i++) {
+                subscriptions.add(executor.submit(() -> {
+                    start.await();
+                    return exchange.exchange(HttpMethod.GET, "/1", 1L, null, null).toFuture();
+                }));
+            }
+            start.countDown();
+            List<CompletableFuture<ResponseEntity<Object>>> responses = new ArrayList<>();
+            for (Future<CompletableFuture<ResponseEntity<Object>>> subscription : subscriptions) {
+                responses.add(subscription.get(5, TimeUnit.SECONDS));
+            }
+            upstream.tryEmitValue(ResponseEntity.ok(Map.of("id", 1)));
+
+            for (CompletableFuture<ResponseEntity<Object>> response : responses) {
+                assertEquals(response.get(5, TimeUnit.SECONDS).getBody(), Map.of("id", 1));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(delegate, times(1)).exchange(any(), any(), any(), any(), any(), any(HttpHeaders.class));
+    }
+
+    @Test
+    void exchange_whenUsersOrParametersDiffer_thenDoNotCoalesce() {
+        when(delegate.exchange(eq(HttpMethod.GET), eq("/search"), any(), any(), isNull(), any(HttpHeaders.class)))
+                .thenAnswer(invocation -> Sinks.<ResponseEntity<Object>>one().asMono());
+        Map<String, Object> drill = new LinkedHashMap<>();
+        drill.put("text", "drill");
+        drill.put("from", 0);
+        Map<String, Object> drillReordered = new LinkedHashMap<>();
+        drillReordered.put("from", 0);
+        drillReordered.put("text", "drill");
+
+        exchange.exchange(HttpMethod.GET, "/search", 1L, drill, null).subscribe();
+        exchange.exchange(HttpMethod.GET, "/search", 1L, drillReordered, null).subscribe();
+        exchange.exchange(HttpMethod.GET, "/search", 2L, drill, null).subscribe();
+        exchange.exchange(HttpMethod.GET, "/search", 1L, Map.of("text", "saw", "from", 0), null).subscribe();
+
+        verify(delegate, times(1)).exchange(any(), any(), eq(1L), eq(drill), any(), any(HttpHeaders.class));
+        verify(delegate, times(1)).exchange(any(), any(), eq(2L), any(), any(), any(HttpHeaders.class));
+        verify(delegate, times(3)).exchange(any(), any(), any(), any(), any(), any(HttpHeaders.class));
+    }
+
+    @Test
+    void exchange_whenUpstreamFails_thenFanOutErrorAndForgetInFlightCall() {
+        Sinks.One<ResponseEntity<Object>> failing = Sinks.one();
+        when(delegate.exchange(eq(HttpMethod.GET), eq("/1"), eq(1L), isNull(), isNull(), any(HttpHeaders.class)))
+                .thenReturn(failing.asMono())
+                .thenReturn(Mono.just(ResponseEntity.ok(Map.of("id", 1))));
+
+        CompletableFuture<ResponseEntity<Object>> first = exchange.exchange(HttpMethod.GET, "/1", 1L, null, null).toFuture();
+        CompletableFuture<ResponseEntity<Object>> second = exchange.exchange(HttpMethod.GET, "/1", 1L, null, null).toFuture();
+        failing.tryEmitError(new IllegalStateException("upstream down"));
+
+        assertTrue(first.isCompletedExceptionally());
+        assertTrue(second.isCompletedExceptionally());
+        assertEquals(exchange.exchange(HttpMethod.GET, "/1", 1L, null, null).block().getBody(), Map.of("id", 1));
+        verify(delegate, times(2)).exchange(any(), any(), any(), any(), any(), any(HttpHeaders.class));
+    }
+
+    @Test
+    void exchange_whenBodyIsStreamed_thenBufferItBeforeFanOut() {
+        Sinks.One<ResponseEntity<Object>> upstream = Sinks.one();
+        when(delegate.exchange(eq(HttpMethod.GET), eq("/1"), eq(1L), isNull(), isNull(), any(HttpHeaders.class)))
+                .thenReturn(upstream.asMono());
+        byte[] json = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+
+        CompletableFuture<ResponseEntity<Object>> first = exchange.exchange(HttpMethod.GET, "/1", 1L, null, null).toFuture();
+        CompletableFuture<ResponseEntity<Object>> second = exchange.exchange(HttpMethod.GET, "/1", 1L, null, null).toFuture();
+        upstream.tryEmitValue(ResponseEntity.ok(new InputStreamResource(new ByteArrayInputStream(json))));
+
+        assertArrayEquals((byte[]) first.join().getBody(), json);
+        assertArrayEquals((byte[]) second.join().getBody(), json);
+    }
+
+    @Test
+    void exchange_whenMethodIsNotGet_thenNeverCoalesce() {
+        when(delegate.exchange(eq(HttpMethod.POST), eq(""), eq(1L), isNull(), any(), any(HttpHeaders.class)))
+                .thenAnswer(invocation -> Sinks.<ResponseEntity<Object>>one().asMono());
+
+        exchange.exchange(HttpMethod.POST, "", 1L, null, Map.of("name", "Drill")).subscribe();
+        exchange.exchange(HttpMethod.POST, "", 1L, null, Map.of("name", "Drill")).subscribe();
+
+        verify(delegate, times(2)).exchange(any(), any(), any(), any(), any(), any(HttpHeaders.class));
+    }
+}
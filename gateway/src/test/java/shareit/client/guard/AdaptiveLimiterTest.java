@@ -0,0 +1,110 @@
+package shareit.client.guard;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+    AdaptiveLimiter limiter;
+
+    @BeforeEach
+    public void setUp() {
+        GuardProperties properties = new GuardProperties();
+        properties.setLimitInitial(8);
+        properties.setLimitMin(2);
+        properties.setLimitMax(10);
+        properties.setLimitLatencyThreshold(Duration.ofMillis(100));
+        properties.setLimitBackoffRatio(0.5);
+        limiter = new AdaptiveLimiter(properties);
+    }
+
+    @Test
+    void tryAcquire_whenLimitIsReached_thenReject() {
+        for (int i = 0; i < 8; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+
+        assertFalse(limiter.tryAcquire());
+        assertEquals(limiter.getInFlight(), 8);
+    }
+
+    @Test
+    void onComplete_whenCallIsSlow_thenDecreaseLimit() {
+        limiter.tryAcquire();
+
+        limiter.onComplete(SLOW, false);
+
+        assertEquals(limiter.getLimit(), 4);
+        assertEquals(limiter.getInFlight(), 0);
+    }
+
+    @Test
+    void onComplete_whenCallFails_thenDecreaseLimitDownToMinimum() {
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire();
+            limiter.onComplete(FAST, true);
+        }
+
+        assertEquals(limiter.getLimit(), 2);
+    }
+
+    @Test
+    void onComplete_whenFastCallsSaturateLimit_thenIncreaseBackUpToMaximum() {
+        limiter.tryAcquire();
+        limiter.onComplete(SLOW, false);
+        assertEquals(limiter.getLimit(), 4);
+
+        int rounds = saturateUntil(8);
+        assertTrue(rounds > 1);
+        saturateUntil(10);
+        saturate();
+
+        assertEquals(limiter.getLimit(), 10);
+    }
+
+    @Test
+    void onComplete_whenLimitIsUnderused_thenKeepLimit() {
+        limiter.tryAcquire();
+
+        limiter.onComplete(FAST, false);
+
+        assertEquals(limiter.getLimit(), 8);
+    }
+
+    @Test
+    void onIgnored_whenCallIsCancelled_thenReleaseWithoutChangingLimit() {
+        limiter.tryAcquire();
+
+        limiter.onIgnored();
+
+        assertEquals(limiter.getInFlight(), 0);
+        assertEquals(limiter.getLimit(), 8);
+    }
+
+    private int saturateUntil(int expectedLimit) {
+        int rounds = 0;
+        while (limiter.getLimit() < expectedLimit) {
+            assertTrue(++rounds < 100, "limit did not grow to " + expectedLimit);
+            saturate();
+        }
+        return rounds;
+    }
+
+    private void saturate() {
+        int acquired = 0;
+        while (limiter.tryAcquire()) {
+            acquired++;
+        }
+        for (int i = 0; i < acquired; i++) {
+            limiter.onComplete(FAST, false);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package shareit.client.guard;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private static final long OPEN_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    CircuitBreaker breaker;
+
+    @BeforeEach
+    public void setUp() {
+        GuardProperties properties = new GuardProperties();
+        properties.setBreakerWindowSize(4);
+        properties.setBreakerMinimumCalls(4);
+        properties.setBreakerFailureRateThreshold(50);
+        properties.setBreakerOpenDuration(Duration.ofNanos(OPEN_NANOS));
+        properties.setBreakerHalfOpenCalls(2);
+        breaker = new CircuitBreaker(properties);
+    }
+
+    @Test
+    void onFailure_whenFailureRateReachesThreshold_thenOpen() {
+        breaker.onSuccess();
+        breaker.onSuccess();
+        breaker.onFailure(0);
+        assertEquals(breaker.getState(), CircuitBreaker.State.CLOSED);
+
+        breaker.onFailure(100);
+
+        assertEquals(breaker.getState(), CircuitBreaker.State.OPEN);
+        assertFalse(breaker.tryAcquire(100 + OPEN_NANOS - 1));
+    }
+
+    @Test
+    void onFailure_whenFewerThanMinimumCalls_thenStayClosed() {
+        breaker.onFailure(0);
+        breaker.onFailure(0);
+        breaker.onFailure(0);
+
+        assertEquals(breaker.getState(), CircuitBreaker.State.CLOSED);
+        assertTrue(breaker.tryAcquire(0));
+    }
+
+    @Test
+    void onFailure_whenOldFailuresLeaveWindow_thenStayClosed() {
+        breaker.onFailure(0);
+        breaker.onSuccess();
+        breaker.onSuccess();
+        breaker.onSuccess();
+        breaker.onSuccess();
+
+        breaker.onFailure(0);
+
+        assertEquals(breaker.getState(), CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void tryAcquire_whenOpenDurationElapsed_thenAllowLimitedTrialCalls() {
+        open(0);
+
+        assertTrue(breaker.tryAcquire(OPEN_NANOS));
+        assertEquals(breaker.getState(), CircuitBreaker.State.HALF_OPEN);
+        assertTrue(breaker.tryAcquire(OPEN_NANOS));
+        assertFalse(breaker.tryAcquire(OPEN_NANOS));
+    }
+
+    @Test
+    void onSuccess_whenAllTrialCallsSucceed_thenClose() {
+        open(0);
+        breaker.tryAcquire(OPEN_NANOS);
+        breaker.tryAcquire(OPEN_NANOS);
+
+        breaker.onSuccess();
+        assertEquals(breaker.getState(), CircuitBreaker.State.HALF_OPEN);
+        breaker.onSuccess();
+
+        assertEquals(breaker.getState(), CircuitBreaker.State.CLOSED);
+        breaker.onFailure(OPEN_NANOS);
+        assertEquals(breaker.getState(), CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void onFailure_whenTrialCallFails_thenReopenForFullDuration() {
+        open(0);
+        breaker.tryAcquire(OPEN_NANOS);
+
+        breaker.onFailure(OPEN_NANOS + 5);
+
+        assertEquals(breaker.getState(), CircuitBreaker.State.OPEN);
+        assertFalse(breaker.tryAcquire(2 * OPEN_NANOS));
+        assertTrue(breaker.tryAcquire(2 * OPEN_NANOS + 5));
+    }
+
+    @Test
+    void onIgnored_whenTrialCallIsCancelled_thenReturnTrialSlot() {
+        open(0);
+        breaker.tryAcquire(OPEN_NANOS);
+        breaker.tryAcquire(OPEN_NANOS);
+
+        breaker.onIgnored();
+
+        assertTrue(breaker.tryAcquire(OPEN_NANOS));
+        assertFalse(breaker.tryAcquire(OPEN_NANOS));
+    }
+
+    private void open(long now) {
+        for (int i = 0; i < 4; i++) {
+            breaker.onFailure(now);
+        }
+        assertEquals(breaker.getState(), CircuitBreaker.State.OPEN);
+    }
+}
@@ -0,0 +1,157 @@
+package shareit.client.guard;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import shareit.client.ServerExchange;
+import shareit.client.ServerExchangeFactory;
+import shareit.exception.ErrorHandler;
+import shareit.exception.ServerUnavailableException;
+import shareit.user.UserClient;
+import shareit.user.UserController;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class GuardedServerExchangeTest {
+
+    @Mock
+    ServerExchange delegate;
+
+    SimpleMeterRegistry meterRegistry;
+    CircuitBreaker breaker;
+    Semaphore bulkhead;
+    AdaptiveLimiter limiter;
+    GuardedServerExchange exchange;
+
+    @BeforeEach
+    public void setUp() {
+        GuardProperties properties = new GuardProperties();
+        properties.setBreakerWindowSize(2);
+        properties.setBreakerMinimumCalls(2);
+        properties.setBreakerOpenDuration(Duration.ofMinutes(1));
+        properties.setBreakerHalfOpenCalls(1);
+        properties.setLimitInitial(4);
+        meterRegistry = new SimpleMeterRegistry();
+        breaker = new CircuitBreaker(properties);
+        bulkhead = new Semaphore(2);
+        limiter = new AdaptiveLimiter(properties);
+        exchange = new GuardedServerExchange("users", delegate, breaker, bulkhead, limiter,
+                new ServerGuard(properties, meterRegistry));
+    }
+
+    @Test
+    void exchange_whenBulkheadIsFull_thenRejectWithoutUpstreamCall() {
+        bulkhead.drainPermits();
+
+        assertThrows(ServerUnavailableException.class, () -> exchange.exchange(HttpMethod.GET, "/1", 1L, null, null).block());
+
+        verify(delegate, never()).exchange(any(), any(), any(), any(), any(), any(HttpHeaders.class));
+        assertEquals(limiter.getInFlight(), 0);
+        assertEquals(meterRegistry.get("shareit.gateway.rejections").tag("reason", "bulkhead_full").counter().count(), 1.0);
+    }
+
+    @Test
+    void exchange_whenBulkheadIsFull_thenRespondServiceUnavailable() throws Exception {
+        bulkhead.drainPermits();
+        ServerExchangeFactory factory = apiPrefix -> exchange;
+        MockMvc mvc = MockMvcBuilders.standaloneSetup(new UserController(new UserClient(factory)))
+                .setControllerAdvice(new ErrorHandler())
+                .build();
+
+        MvcResult result = mvc.perform(get("/users/1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    void exchange_whenUpstreamKeepsFailing_thenOpenBreakerAndReject() {
+        when(delegate.exchange(any(), any(), any(), any(), any(), any(HttpHeaders.class)))
+                .thenReturn(Mono.just(ResponseEntity.status(HttpStatus.BAD_GATEWAY).build()))
+                .thenReturn(Mono.error(new IllegalStateException("connection refused")));
+
+        exchange.exchange(HttpMethod.GET, "/1", 1L, null, null).block();
+        assertThrows(IllegalStateException.class, () -> exchange.exchange(HttpMethod.GET, "/1", 1L, null, null).block());
+
+        assertEquals(breaker.getState(), CircuitBreaker.State.OPEN);
+        assertThrows(ServerUnavailableException.class, () -> exchange.exchange(HttpMethod.GET, "/1", 1L, null, null).block());
+        verify(delegate, times(2)).exchange(any(), any(), any(), any(), any(), any(HttpHeaders.class));
+        assertEquals(bulkhead.availablePermits(), 2);
+        assertEquals(limiter.getInFlight(), 0);
+    }
+
+    @Test
+    void exchange_whenCallIsCancelledBeforeResponse_thenReleaseAllPermits() {
+        Sinks.One<ResponseEntity<Object>> upstream = Sinks.one();
+        when(delegate.exchange(any(), any(), any(), any(), any(), any(HttpHeaders.class))).thenReturn(upstream.asMono());
+        int limit = limiter.getLimit();
+
+        Disposable call = exchange.exchange(HttpMethod.GET, "/1", 1L, null, null).subscribe();
+        assertEquals(bulkhead.availablePermits(), 1);
+        assertEquals(limiter.getInFlight(), 1);
+        call.dispose();
+
+        assertEquals(bulkhead.availablePermits(), 2);
+        assertEquals(limiter.getInFlight(), 0);
+        assertEquals(limiter.getLimit(), limit);
+        assertEquals(breaker.getState(), CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void exchange_whenCancelledAfterResponse_thenReleaseLimiterOnce() {
+        when(delegate.exchange(any(), any(), any(), any(), any(), any(HttpHeaders.class)))
+                .thenReturn(Flux.<ResponseEntity<Object>>just(ResponseEntity.ok(Map.of("id", 1)))
+                        .concatWith(Mono.never())
+                        .next());
+
+        Flux.from(exchange.exchange(HttpMethod.GET, "/1", 1L, null, null)).take(1).blockLast();
+        Flux.from(exchange.exchange(HttpMethod.GET, "/1", 1L, null, null)).take(1).blockLast();
+
+        assertEquals(limiter.getInFlight(), 0);
+        assertEquals(bulkhead.availablePermits(), 2);
+    }
+
+    @Test
+    void exchange_whenTrialCallIsCancelled_thenAllowAnotherTrial() {
+        when(delegate.exchange(any(), any(), any(), any(), any(), any(HttpHeaders.class)))
+                .thenReturn(Mono.error(new IllegalStateException("connection refused")))
+                .thenReturn(Mono.error(new IllegalStateException("connection refused")));
+        assertThrows(IllegalStateException.class, () -> exchange.exchange(HttpMethod.GET, "/1", 1L, null, null).block());
+        assertThrows(IllegalStateException.class, () -> exchange.exchange(HttpMethod.GET, "/1", 1L, null, null).block());
+        assertEquals(breaker.getState(), CircuitBreaker.State.OPEN);
+        long afterOpen = System.nanoTime() + Duration.ofMinutes(1).toNanos();
+        assertTrue(breaker.tryAcquire(afterOpen));
+
+        breaker.onIgnored();
+
+        assertTrue(breaker.tryAcquire(afterOpen));
+        assertFalse(breaker.tryAcquire(afterOpen));
+    }
+}
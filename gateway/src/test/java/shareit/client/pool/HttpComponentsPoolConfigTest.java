@@ -0,0 +1,54 @@
+package shareit.client.pool;
+
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.context.ConfigurationPropertiesAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HttpComponentsPoolConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(ConfigurationPropertiesAutoConfiguration.class))
+            .withUserConfiguration(ServerPoolProperties.class, HttpComponentsPoolConfig.class);
+
+    @Test
+    void serverConnectionManager_whenDefaults_thenValidateStaleConnectionsAfterShortInactivity() {
+        contextRunner.run(context -> {
+            PoolingHttpClientConnectionManager connectionManager = context.getBean(PoolingHttpClientConnectionManager.class);
+
+            assertEquals(connectionManager.getValidateAfterInactivity(), 2000);
+            assertEquals(connectionManager.getMaxTotal(), 200);
+            assertEquals(connectionManager.getDefaultMaxPerRoute(), 200);
+            assertTrue(context.getBean(ClientHttpRequestFactory.class) instanceof HttpComponentsClientHttpRequestFactory);
+        });
+    }
+
+    @Test
+    void serverConnectionManager_whenPropertiesSet_thenKeepValidationIndependentOfIdleEviction() {
+        contextRunner
+                .withPropertyValues("shareit-server.client.pool.validate-after-inactivity=500ms",
+                        "shareit-server.client.pool.idle-eviction=45s",
+                        "shareit-server.client.pool.max-total=50",
+                        "shareit-server.client.pool.max-per-route=20")
+                .run(context -> {
+                    PoolingHttpClientConnectionManager connectionManager = context.getBean(PoolingHttpClientConnectionManager.class);
+
+                    assertEquals(connectionManager.getValidateAfterInactivity(), 500);
+                    assertEquals(connectionManager.getMaxTotal(), 50);
+                    assertEquals(connectionManager.getDefaultMaxPerRoute(), 20);
+                });
+    }
+
+    @Test
+    void poolConfig_whenModeIsReactive_thenDoNotCreateHttpComponentsPool() {
+        contextRunner
+                .withPropertyValues("shareit-server.client.mode=reactive")
+                .run(context -> assertTrue(context.getBeansOfType(PoolingHttpClientConnectionManager.class).isEmpty()));
+    }
+}
@@ -0,0 +1,75 @@
+package shareit.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import reactor.core.publisher.Mono;
+import shareit.exception.ErrorHandler;
+import shareit.user.UserClient;
+import shareit.user.UserController;
+
+import java.util.Map;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class RateLimitInterceptorTest {
+
+    @Mock
+    UserClient userClient;
+
+    MockMvc mvc;
+
+    @BeforeEach
+    public void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getDefaults().setCapacity(2);
+        properties.getDefaults().setRefillPerSecond(0.25);
+        mvc = MockMvcBuilders.standaloneSetup(new UserController(userClient))
+                .addInterceptors(new RateLimitInterceptor(new RateLimiter(properties)))
+                .setControllerAdvice(new ErrorHandler())
+                .build();
+    }
+
+    @Test
+    void preHandle_whenResponseIsDispatchedAsync_thenConsumeOneTokenPerRequest() throws Exception {
+        when(userClient.getUserById(1L)).thenReturn(Mono.just(ResponseEntity.ok(Map.of("id", 1))));
+
+        for (int i = 0; i < 2; i++) {
+            MvcResult result = mvc.perform(get("/users/1").header("X-Sharer-User-Id", 1))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            mvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk());
+        }
+
+        mvc.perform(get("/users/1").header("X-Sharer-User-Id", 1))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "4"));
+    }
+
+    @Test
+    void preHandle_whenClientsDiffer_thenUseSeparateBuckets() throws Exception {
+        when(userClient.getUserById(1L)).thenReturn(Mono.just(ResponseEntity.ok(Map.of("id", 1))));
+
+        for (int i = 0; i < 2; i++) {
+            mvc.perform(get("/users/1").header("X-Sharer-User-Id", 1)).andExpect(request().asyncStarted());
+        }
+
+        mvc.perform(get("/users/1").header("X-Sharer-User-Id", 2)).andExpect(request().asyncStarted());
+        mvc.perform(get("/users/1")).andExpect(request().asyncStarted());
+        mvc.perform(get("/users/1").header("X-Sharer-User-Id", 1)).andExpect(status().isTooManyRequests());
+    }
+}
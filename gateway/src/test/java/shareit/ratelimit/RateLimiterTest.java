@@ -0,0 +1,107 @@
+package shareit.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    RateLimitProperties properties;
+    long start;
+
+    @BeforeEach
+    public void setUp() {
+        properties = new RateLimitProperties();
+        properties.getDefaults().setCapacity(1);
+        properties.getDefaults().setRefillPerSecond(0.25);
+        properties.setIdleEviction(Duration.ofMinutes(1));
+        start = System.nanoTime();
+    }
+
+    @Test
+    void tryAcquire_whenBucketIsEmpty_thenReturnRetryAfterRoundedUpToSeconds() {
+        RateLimiter limiter = new RateLimiter(properties);
+
+        assertEquals(limiter.tryAcquire("user:1", "10.0.0.1", "/items", start), 0);
+        assertEquals(limiter.tryAcquire("user:1", "10.0.0.1", "/items", start), 4);
+        assertEquals(limiter.tryAcquire("user:1", "10.0.0.1", "/items", start + 3 * SECOND + 1), 1);
+    }
+
+    @Test
+    void tryAcquire_whenRetryIsUnderOneSecond_thenReturnOneSecond() {
+        properties.getDefaults().setRefillPerSecond(10);
+        RateLimiter limiter = new RateLimiter(properties);
+
+        limiter.tryAcquire("user:1", "10.0.0.1", "/items", start);
+
+        assertEquals(limiter.tryAcquire("user:1", "10.0.0.1", "/items", start), 1);
+    }
+
+    @Test
+    void tryAcquire_whenPathMatchesRoute_thenUseRouteBucket() {
+        RateLimitProperties.Limit search = new RateLimitProperties.Limit();
+        search.setCapacity(1);
+        search.setRefillPerSecond(1);
+        properties.getRoutes().put("/items/search", search);
+        RateLimiter limiter = new RateLimiter(properties);
+
+        assertEquals(limiter.tryAcquire("user:1", "10.0.0.1", "/items", start), 0);
+        assertEquals(limiter.tryAcquire("user:1", "10.0.0.1", "/items/search", start), 0);
+        assertEquals(limiter.tryAcquire("user:1", "10.0.0.1", "/items/search", start), 1);
+    }
+
+    @Test
+    void tryAcquire_whenBucketsAreIdle_thenEvictOnlyIdleOnes() {
+        properties.getDefaults().setRefillPerSecond(0.001);
+        RateLimiter limiter = new RateLimiter(properties);
+        limiter.tryAcquire("user:1", "10.0.0.1", "/items", start);
+        limiter.tryAcquire("user:2", "10.0.0.1", "/items", start);
+        limiter.tryAcquire("user:1", "10.0.0.1", "/items", start + 50 * SECOND);
+
+        limiter.tryAcquire("user:3", "10.0.0.1", "/items", start + 70 * SECOND);
+
+        assertEquals(limiter.size(), 2);
+        assertTrue(limiter.tryAcquire("user:1", "10.0.0.1", "/items", start + 70 * SECOND) > 0);
+        assertEquals(limiter.tryAcquire("user:2", "10.0.0.1", "/items", start + 70 * SECOND), 0);
+    }
+
+    @Test
+    void tryAcquire_whenTableIsFull_thenKeepRecentBucketsAndShareBucketPerAddress() {
+        properties.setMaxBuckets(2);
+        RateLimiter limiter = new RateLimiter(properties);
+        limiter.tryAcquire("user:1", "10.0.0.1", "/items", start);
+        limiter.tryAcquire("user:2", "10.0.0.2", "/items", start);
+
+        for (int i = 3; i < 100; i++) {
+            limiter.tryAcquire("user:" + i, "10.0.0.3", "/items", start + 2 * SECOND);
+        }
+
+        assertEquals(limiter.size(), 2);
+        assertTrue(limiter.tryAcquire("user:1", "10.0.0.1", "/items", start + 2 * SECOND) > 0);
+        assertTrue(limiter.tryAcquire("user:100", "10.0.0.3", "/items", start + 2 * SECOND) > 0);
+        assertEquals(limiter.tryAcquire("user:101", "10.0.0.4", "/items", start + 2 * SECOND), 0);
+    }
+
+    @Test
+    void tryAcquire_whenFullTableHasIdleBuckets_thenFreeSlots() {
+        properties.getDefaults().setRefillPerSecond(0.001);
+        properties.setMaxBuckets(2);
+        RateLimiter limiter = new RateLimiter(properties);
+        limiter.tryAcquire("user:1", "10.0.0.1", "/items", start);
+        limiter.tryAcquire("user:2", "10.0.0.2", "/items", start);
+
+        assertEquals(limiter.tryAcquire("user:3", "10.0.0.3", "/items", start + 2 * SECOND), 0);
+        assertTrue(limiter.tryAcquire("user:4", "10.0.0.3", "/items", start + 2 * SECOND) > 0);
+        limiter.tryAcquire("user:2", "10.0.0.2", "/items", start + 30 * SECOND);
+
+        assertEquals(limiter.tryAcquire("user:4", "10.0.0.3", "/items", start + 70 * SECOND), 0);
+        assertEquals(limiter.size(), 2);
+        assertTrue(limiter.tryAcquire("user:2", "10.0.0.2", "/items", start + 70 * SECOND) > 0);
+    }
+}
@@ -0,0 +1,65 @@
+package shareit.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    TokenBucket bucket;
+
+    @BeforeEach
+    public void setUp() {
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit();
+        limit.setCapacity(2);
+        limit.setRefillPerSecond(1);
+        bucket = new TokenBucket(limit, 0);
+    }
+
+    @Test
+    void tryConsume_whenTokensAreLeft_thenConsumeWithoutWaiting() {
+        assertEquals(bucket.tryConsume(0), 0);
+        assertEquals(bucket.tryConsume(0), 0);
+    }
+
+    @Test
+    void tryConsume_whenEmpty_thenReturnTimeUntilNextToken() {
+        bucket.tryConsume(0);
+        bucket.tryConsume(0);
+
+        assertEquals(bucket.tryConsume(0), SECOND);
+        assertEquals(bucket.tryConsume(SECOND / 4), SECOND * 3 / 4);
+    }
+
+    @Test
+    void tryConsume_whenTimePasses_thenRefillProportionally() {
+        bucket.tryConsume(0);
+        bucket.tryConsume(0);
+
+        assertEquals(bucket.tryConsume(SECOND), 0);
+        assertEquals(bucket.tryConsume(SECOND), SECOND);
+    }
+
+    @Test
+    void tryConsume_whenIdleForLong_thenRefillUpToCapacity() {
+        bucket.tryConsume(0);
+        bucket.tryConsume(0);
+
+        assertEquals(bucket.tryConsume(10 * SECOND), 0);
+        assertEquals(bucket.tryConsume(10 * SECOND), 0);
+        assertTrue(bucket.tryConsume(10 * SECOND) > 0);
+    }
+
+    @Test
+    void isIdle_whenAccessedRecently_thenFalse() {
+        bucket.tryConsume(5 * SECOND);
+
+        assertFalse(bucket.isIdle(6 * SECOND, 2 * SECOND));
+        assertTrue(bucket.isIdle(8 * SECOND, 2 * SECOND));
+    }
+}
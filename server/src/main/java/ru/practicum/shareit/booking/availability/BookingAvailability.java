@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking.availability;
+
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BookingAvailability {
+
+    List<BookingStatus> ACTIVE_STATUSES = List.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+
+    void checkAvailable(long itemId, LocalDateTime start, LocalDateTime end);
+
+    void onBookingSaved(Booking booking);
+
+    void invalidate(long itemId);
+}
@@ -0,0 +1,33 @@
+package ru.practicum.shareit.booking.availability;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.IncorrectDataException;
+
+import java.time.LocalDateTime;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.booking.availability.mode", havingValue = "db", matchIfMissing = true)
+public class DbBookingAvailability implements BookingAvailability {
+
+    private final BookingRepository bookingRepository;
+
+    @Override
+    public void checkAvailable(long itemId, LocalDateTime start, LocalDateTime end) {
+        if (bookingRepository.existsOverlappingBooking(itemId, ACTIVE_STATUSES, start, end)) {
+            throw new IncorrectDataException("Booking: Item is already booked for these dates");
+        }
+    }
+
+    @Override
+    public void onBookingSaved(Booking booking) {
+    }
+
+    @Override
+    public void invalidate(long itemId) {
+    }
+}
@@ -0,0 +1,64 @@
+package ru.practicum.shareit.booking.availability;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.dto.BookingLiteDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.IncorrectDataException;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.booking.availability.mode", havingValue = "index")
+public class IndexBookingAvailability implements BookingAvailability {
+
+    private final BookingRepository bookingRepository;
+    private final Map<Long, BookingIntervalTree> timelines = new ConcurrentHashMap<>();
+
+    @Override
+    public void checkAvailable(long itemId, LocalDateTime start, LocalDateTime end) {
+        if (!timeline(itemId).overlaps(start, end)) {
+            return;
+        }
+        if (bookingRepository.existsOverlappingBooking(itemId, ACTIVE_STATUSES, start, end)) {
+            throw new IncorrectDataException("Booking: Item is already booked for these dates");
+        }
+        log.debug("Availability index of item {} is stale, reloading", itemId);
+        invalidate(itemId);
+    }
+
+    @Override
+    public void onBookingSaved(Booking booking) {
+        BookingIntervalTree timeline = timelines.get(booking.itemId());
+        if (timeline == null) {
+            return;
+        }
+        if (ACTIVE_STATUSES.contains(booking.getStatus())) {
+            timeline.insert(booking.getId(), booking.getStart(), booking.getEnd());
+        } else {
+            timeline.remove(booking.getId(), booking.getStart());
+        }
+    }
+
+    @Override
+    public void invalidate(long itemId) {
+        timelines.remove(itemId);
+    }
+
+    private BookingIntervalTree timeline(long itemId) {
+        return timelines.computeIfAbsent(itemId, id -> {
+            BookingIntervalTree timeline = new BookingIntervalTree();
+            for (BookingLiteDto booking : bookingRepository.findActiveBookingsByItemId(id, ACTIVE_STATUSES, LocalDateTime.now())) {
+                timeline.insert(booking.getId(), booking.getStart(), booking.getEnd());
+            }
+            return timeline;
+        });
+    }
+}
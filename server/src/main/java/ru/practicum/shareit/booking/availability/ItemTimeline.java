@@ -0,0 +1,83 @@
+package ru.practicum.shareit.booking.availability;
+
+import ru.practicum.shareit.booking.dto.BookingLiteDto;
+import ru.practicum.shareit.item.dto.AvailabilityRangeDto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+public class ItemTimeline {
+
+    private final long[] starts;
+    private final long[] ends;
+
+    private ItemTimeline(long[] starts, long[] ends) {
+        this.starts = starts;
+        this.ends = ends;
+    }
+
+    public static ItemTimeline of(List<BookingLiteDto> bookings) {
+        List<BookingLiteDto> sortedBookings = new ArrayList<>(bookings);
+        sortedBookings.sort(Comparator.comparing(BookingLiteDto::getStart));
+        long[] starts = new long[sortedBookings.size()];
+        long[] ends = new long[sortedBookings.size()];
+        int size = 0;
+        for (BookingLiteDto booking : sortedBookings) {
+            long start = toSeconds(booking.getStart());
+            long end = toSeconds(booking.getEnd());
+            if (size > 0 && start <= ends[size - 1]) {
+                ends[size - 1] = Math.max(ends[size - 1], end);
+            } else {
+                starts[size] = start;
+                ends[size] = end;
+                size++;
+            }
+        }
+        return new ItemTimeline(Arrays.copyOf(starts, size), Arrays.copyOf(ends, size));
+    }
+
+    public List<AvailabilityRangeDto> ranges(LocalDateTime from, LocalDateTime to) {
+        long fromSeconds = toSeconds(from);
+        long toSeconds = toSeconds(to);
+        List<AvailabilityRangeDto> ranges = new ArrayList<>();
+        long cursor = fromSeconds;
+        for (int i = firstEndingAfter(fromSeconds); i < starts.length && starts[i] < toSeconds; i++) {
+            long busyStart = Math.max(starts[i], fromSeconds);
+            long busyEnd = Math.min(ends[i], toSeconds);
+            if (cursor < busyStart) {
+                ranges.add(range(cursor, busyStart, false));
+            }
+            ranges.add(range(busyStart, busyEnd, true));
+            cursor = busyEnd;
+        }
+        if (cursor < toSeconds) {
+            ranges.add(range(cursor, toSeconds, false));
+        }
+        return ranges;
+    }
+
+    public int size() {
+        return starts.length;
+    }
+
+    private int firstEndingAfter(long seconds) {
+        int index = Arrays.binarySearch(ends, seconds);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    private static AvailabilityRangeDto range(long start, long end, boolean busy) {
+        return AvailabilityRangeDto.builder()
+                .start(LocalDateTime.ofEpochSecond(start, 0, ZoneOffset.UTC))
+                .end(LocalDateTime.ofEpochSecond(end, 0, ZoneOffset.UTC))
+                .busy(busy)
+                .build();
+    }
+
+    private static long toSeconds(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,56 @@
+package ru.practicum.shareit.booking.availability;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+public class ItemTimelineCache {
+
+    private final BookingRepository bookingRepository;
+    private final Map<Long, ItemTimeline> timelines;
+    private final Map<Long, Object> loads = new HashMap<>();
+
+    public ItemTimelineCache(BookingRepository bookingRepository,
+                             @Value("${shareit.item.timeline.cache-size:10000}") int cacheSize) {
+        this.bookingRepository = bookingRepository;
+        this.timelines = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, ItemTimeline> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    public ItemTimeline get(long itemId) {
+        Object load = new Object();
+        synchronized (this) {
+            ItemTimeline timeline = timelines.get(itemId);
+            if (timeline != null) {
+                return timeline;
+            }
+            loads.put(itemId, load);
+        }
+        ItemTimeline timeline = null;
+        try {
+            timeline = ItemTimeline.of(bookingRepository.findAllByItemIdAndStatuses(itemId, BookingAvailability.ACTIVE_STATUSES));
+            return timeline;
+        } finally {
+            synchronized (this) {
+                // an invalidate() during the load drops its token, so a stale timeline is never cached
+                if (loads.remove(itemId, load) && timeline != null) {
+                    timelines.put(itemId, timeline);
+                }
+            }
+        }
+    }
+
+    public synchronized void invalidate(long itemId) {
+        timelines.remove(itemId);
+        loads.remove(itemId);
+    }
+}
@@ -4,7 +4,9 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.validator.PageableValidator;
@@ -16,6 +18,9 @@ import java.util.List;
 @Slf4j
 @RequiredArgsConstructor
 public class BookingController {
+
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final BookingService bookingService;
     private final PageableValidator pageableValidator;
 
@@ -32,25 +37,33 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingDto> getAllBookingsForUser(@RequestParam(defaultValue = "ALL") String state,
-                                                  @RequestParam(defaultValue = "0") Integer from,
-                                                  @RequestParam(defaultValue = "10") Integer size,
-                                                  @RequestHeader("X-Sharer-User-Id") long userId) {
+    public ResponseEntity<List<BookingDto>> getAllBookingsForUser(@RequestParam(defaultValue = "ALL") String state,
+                                                                  @RequestParam(defaultValue = "0") Integer from,
+                                                                  @RequestParam(defaultValue = "10") Integer size,
+                                                                  @RequestParam(required = false) String after,
+                                                                  @RequestHeader("X-Sharer-User-Id") long userId) {
         pageableValidator.checkingPageableParams(from, size);
         log.info("Getting info by user bookings");
+        if (after != null) {
+            return withNextCursor(bookingService.getAllBookingsByUserIdAfter(userId, state, after, size), size);
+        }
         Pageable page = PageRequest.of(from / size, size);
-        return bookingService.getAllBookingsByUserId(userId, state, page);
+        return ResponseEntity.ok(bookingService.getAllBookingsByUserId(userId, state, page));
     }
 
     @GetMapping("/owner")
-    public List<BookingDto> getAllBookingsForOwner(@RequestParam(defaultValue = "ALL") String state,
-                                                   @RequestParam(defaultValue = "0") Integer from,
-                                                   @RequestParam(defaultValue = "10") Integer size,
-                                                   @RequestHeader("X-Sharer-User-Id") long userId) {
+    public ResponseEntity<List<BookingDto>> getAllBookingsForOwner(@RequestParam(defaultValue = "ALL") String state,
+                                                                   @RequestParam(defaultValue = "0") Integer from,
+                                                                   @RequestParam(defaultValue = "10") Integer size,
+                                                                   @RequestParam(required = false) String after,
+                                                                   @RequestHeader("X-Sharer-User-Id") long userId) {
         pageableValidator.checkingPageableParams(from, size);
         log.info("Getting info by owner bookings");
+        if (after != null) {
+            return withNextCursor(bookingService.getAllBookingsByOwnerIdAfter(userId, state, after, size), size);
+        }
         Pageable page = PageRequest.of(from / size, size);
-        return bookingService.getAllBookingsByOwnerId(userId, state, page);
+        return ResponseEntity.ok(bookingService.getAllBookingsByOwnerId(userId, state, page));
     }
 
     @GetMapping("/{bookingId}")
@@ -58,4 +71,13 @@ public class BookingController {
         log.info("Getting info for booking: {}", bookingId);
         return bookingService.getBookingInfo(bookingId, userId);
     }
+
+    private ResponseEntity<List<BookingDto>> withNextCursor(List<BookingDto> bookings, int size) {
+        if (bookings.size() < size) {
+            return ResponseEntity.ok(bookings);
+        }
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, BookingCursor.of(bookings.get(bookings.size() - 1)).toString())
+                .body(bookings);
+    }
 }
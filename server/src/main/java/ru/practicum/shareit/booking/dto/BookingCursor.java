@@ -0,0 +1,38 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.exception.IncorrectDataException;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+@Getter
+@AllArgsConstructor
+public class BookingCursor {
+
+    private final LocalDateTime start;
+    private final Long id;
+
+    public static BookingCursor parse(String cursor) {
+        int separator = cursor.lastIndexOf(',');
+        if (separator < 0) {
+            throw new IncorrectDataException("Incorrect booking cursor: " + cursor);
+        }
+        try {
+            return new BookingCursor(LocalDateTime.parse(cursor.substring(0, separator)),
+                    Long.parseLong(cursor.substring(separator + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IncorrectDataException("Incorrect booking cursor: " + cursor);
+        }
+    }
+
+    public static BookingCursor of(BookingDto bookingDto) {
+        return new BookingCursor(bookingDto.getStart(), bookingDto.getId());
+    }
+
+    @Override
+    public String toString() {
+        return start + "," + id;
+    }
+}
@@ -22,4 +22,13 @@ public class BookingLiteDto {
     private Long bookerId;
     private BookingStatus status;
     private Long itemId;
+
+    public BookingLiteDto(Long id, LocalDateTime start, LocalDateTime end, Long bookerId, BookingStatus status, Long itemId) {
+        this.id = id;
+        this.start = start;
+        this.end = end;
+        this.bookerId = bookerId;
+        this.status = status;
+        this.itemId = itemId;
+    }
 }
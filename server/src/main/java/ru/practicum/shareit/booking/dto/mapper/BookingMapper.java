@@ -85,4 +85,18 @@ public class BookingMapper {
         }
         return bookingLiteDto;
     }
+
+    public static BookingLiteDto toBookingLiteDto(Booking booking) {
+        if (booking == null) {
+            return null;
+        }
+        return BookingLiteDto.builder()
+                .id(booking.getId())
+                .start(booking.getStart())
+                .end(booking.getEnd())
+                .status(booking.getStatus())
+                .bookerId(booking.bookerId())
+                .itemId(booking.itemId())
+                .build();
+    }
 }
@@ -4,6 +4,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.booking.dto.BookingLiteDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 
@@ -11,32 +12,65 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingSeekRepository {
 
+    @Query("select b from Booking b where b.booker.id = :bookerId")
     List<Booking> findAllByBooker_Id(Long bookerId, Pageable page);
 
-    List<Booking> findAllByItem_Owner_Id(Long ownerId);
+    @Query("select new ru.practicum.shareit.booking.dto.BookingLiteDto(b.id, b.start, b.end, b.booker.id, b.status, b.item.id) " +
+            "from Booking b where b.item.id = :itemId AND b.start < :now AND b.status NOT IN :excludedStatuses " +
+            "order by b.start desc, b.id desc")
+    List<BookingLiteDto> findLastBookingsByItemId(Long itemId, LocalDateTime now, List<BookingStatus> excludedStatuses, Pageable page);
+
+    @Query("select new ru.practicum.shareit.booking.dto.BookingLiteDto(b.id, b.start, b.end, b.booker.id, b.status, b.item.id) " +
+            "from Booking b where b.item.id = :itemId AND b.start > :now AND b.status NOT IN :excludedStatuses " +
+            "order by b.start asc, b.id desc")
+    List<BookingLiteDto> findNextBookingsByItemId(Long itemId, LocalDateTime now, List<BookingStatus> excludedStatuses, Pageable page);
+
+    @Query("select new ru.practicum.shareit.booking.dto.BookingLiteDto(b.id, b.start, b.end, b.booker.id, b.status, b.item.id) " +
+            "from Booking b where b.item.id IN :itemsIds AND b.status NOT IN :excludedStatuses AND b.start = " +
+            "(select max(l.start) from Booking l where l.item.id = b.item.id AND l.start < :now " +
+            "AND l.status NOT IN :excludedStatuses)")
+    List<BookingLiteDto> findLastBookingsByItemIdIn(List<Long> itemsIds, LocalDateTime now, List<BookingStatus> excludedStatuses);
+
+    @Query("select new ru.practicum.shareit.booking.dto.BookingLiteDto(b.id, b.start, b.end, b.booker.id, b.status, b.item.id) " +
+            "from Booking b where b.item.id IN :itemsIds AND b.status NOT IN :excludedStatuses AND b.start = " +
+            "(select min(n.start) from Booking n where n.item.id = b.item.id AND n.start > :now " +
+            "AND n.status NOT IN :excludedStatuses)")
+    List<BookingLiteDto> findNextBookingsByItemIdIn(List<Long> itemsIds, LocalDateTime now, List<BookingStatus> excludedStatuses);
+
+    @Query("select case when count(b) > 0 then true else false end from Booking b where b.item.id = :itemId " +
+            "AND b.status IN :statuses AND b.start < :end AND b.end > :start")
+    boolean existsOverlappingBooking(Long itemId, List<BookingStatus> statuses, LocalDateTime start, LocalDateTime end);
+
+    @Query("select new ru.practicum.shareit.booking.dto.BookingLiteDto(b.id, b.start, b.end, b.booker.id, b.status, b.item.id) " +
+            "from Booking b where b.item.id = :itemId AND b.status IN :statuses AND b.end > :now")
+    List<BookingLiteDto> findActiveBookingsByItemId(Long itemId, List<BookingStatus> statuses, LocalDateTime now);
+
+    @Query("select new ru.practicum.shareit.booking.dto.BookingLiteDto(b.id, b.start, b.end, b.booker.id, b.status, b.item.id) " +
+            "from Booking b where b.item.id = :itemId AND b.status IN :statuses order by b.start")
+    List<BookingLiteDto> findAllByItemIdAndStatuses(Long itemId, List<BookingStatus> statuses);
 
     @Query("select b from Booking b where b.item.id = :itemId AND b.booker.id = :bookerId AND b.end <= :now")
     List<Booking> findAllByUserIdAndItemIdAndEndDateIsPassed(Long bookerId, Long itemId, LocalDateTime now);
 
-    @Query("select b from Booking b where b.item.id IN :itemsIds")
-    List<Booking> findAllByOwnerItems(List<Long> itemsIds, Pageable page);
+    @Query("select b from Booking b join b.item i where i.owner.id = :ownerId")
+    List<Booking> findAllByOwnerId(Long ownerId, Pageable page);
 
-    @Query("select b from Booking b where b.item.id IN :itemsIds AND b.status = :waiting")
-    List<Booking> findAllByOwnerItemsAndWaitingStatus(List<Long> itemsIds, BookingStatus waiting, Pageable page);
+    @Query("select b from Booking b join b.item i where i.owner.id = :ownerId AND b.status = :waiting")
+    List<Booking> findAllByOwnerIdAndWaitingStatus(Long ownerId, BookingStatus waiting, Pageable page);
 
-    @Query("select b from Booking b where b.item.id IN :itemsIds AND b.status IN :rejected")
-    List<Booking> findAllByOwnerItemsAndRejectedStatus(List<Long> itemsIds, List<BookingStatus> rejected, Pageable page);
+    @Query("select b from Booking b join b.item i where i.owner.id = :ownerId AND b.status IN :rejected")
+    List<Booking> findAllByOwnerIdAndRejectedStatus(Long ownerId, List<BookingStatus> rejected, Pageable page);
 
-    @Query("select b from Booking b where b.item.id IN :itemsIds AND b.start < :now AND b.end > :now")
-    List<Booking> findAllByOwnerItemsAndCurrentStatus(List<Long> itemsIds, LocalDateTime now, Pageable page);
+    @Query("select b from Booking b join b.item i where i.owner.id = :ownerId AND b.start < :now AND b.end > :now")
+    List<Booking> findAllByOwnerIdAndCurrentStatus(Long ownerId, LocalDateTime now, Pageable page);
 
-    @Query("select b from Booking b where b.item.id IN :itemsIds AND b.start > :now")
-    List<Booking> findAllByOwnerItemsAndFutureStatus(List<Long> itemsIds, LocalDateTime now, Pageable page);
+    @Query("select b from Booking b join b.item i where i.owner.id = :ownerId AND b.start > :now")
+    List<Booking> findAllByOwnerIdAndFutureStatus(Long ownerId, LocalDateTime now, Pageable page);
 
-    @Query("select b from Booking b where b.item.id IN :itemsIds AND b.end < :now")
-    List<Booking> findAllByOwnerItemsAndPastStatus(List<Long> itemsIds, LocalDateTime now, Pageable page);
+    @Query("select b from Booking b join b.item i where i.owner.id = :ownerId AND b.end < :now")
+    List<Booking> findAllByOwnerIdAndPastStatus(Long ownerId, LocalDateTime now, Pageable page);
 
     @Query("select b from Booking b where b.booker.id = :bookerId AND b.status = :waiting")
     List<Booking> findAllByBookerIdAndWaitingStatus(Long bookerId, BookingStatus waiting, Pageable page);
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.booking.repository;
+
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BookingSeekRepository {
+
+    List<Booking> findAllByBookerIdAfter(Long bookerId, BookingState state, LocalDateTime now, BookingCursor after, int size);
+
+    List<Booking> findAllByOwnerIdAfter(Long ownerId, BookingState state, LocalDateTime now, BookingCursor after, int size);
+}
@@ -0,0 +1,73 @@
+package ru.practicum.shareit.booking.repository;
+
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class BookingSeekRepositoryImpl implements BookingSeekRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Booking> findAllByBookerIdAfter(Long bookerId, BookingState state, LocalDateTime now, BookingCursor after, int size) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("bookerId", bookerId);
+        return findAllAfter("where b.booker.id = :bookerId", parameters, state, now, after, size);
+    }
+
+    @Override
+    public List<Booking> findAllByOwnerIdAfter(Long ownerId, BookingState state, LocalDateTime now, BookingCursor after, int size) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("ownerId", ownerId);
+        return findAllAfter("join b.item i where i.owner.id = :ownerId", parameters, state, now, after, size);
+    }
+
+    private List<Booking> findAllAfter(String ownerCondition, Map<String, Object> parameters, BookingState state,
+                                       LocalDateTime now, BookingCursor after, int size) {
+        StringBuilder jpql = new StringBuilder("select b from Booking b ").append(ownerCondition);
+        switch (state) {
+            case WAITING:
+                jpql.append(" AND b.status = :status");
+                parameters.put("status", BookingStatus.WAITING);
+                break;
+            case REJECTED:
+                jpql.append(" AND b.status IN :statuses");
+                parameters.put("statuses", List.of(BookingStatus.REJECTED, BookingStatus.CANCELED));
+                break;
+            case CURRENT:
+                jpql.append(" AND b.start < :now AND b.end > :now");
+                parameters.put("now", now);
+                break;
+            case FUTURE:
+                jpql.append(" AND b.start > :now");
+                parameters.put("now", now);
+                break;
+            case PAST:
+                jpql.append(" AND b.end < :now");
+                parameters.put("now", now);
+                break;
+            default:
+                break;
+        }
+        if (after != null) {
+            jpql.append(" AND (b.start < :afterStart OR (b.start = :afterStart AND b.id < :afterId))");
+            parameters.put("afterStart", after.getStart());
+            parameters.put("afterId", after.getId());
+        }
+        jpql.append(" order by b.start desc, b.id desc");
+
+        TypedQuery<Booking> query = entityManager.createQuery(jpql.toString(), Booking.class);
+        parameters.forEach(query::setParameter);
+        return query.setMaxResults(size).getResultList();
+    }
+}
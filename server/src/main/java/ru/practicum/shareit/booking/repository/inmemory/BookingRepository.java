@@ -0,0 +1,60 @@
+package ru.practicum.shareit.booking.repository.inmemory;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.dto.BookingLiteDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingSeekRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface BookingRepository extends BookingSeekRepository {
+
+    Booking save(Booking booking);
+
+    Optional<Booking> findById(Long id);
+
+    void deleteById(Long id);
+
+    List<Booking> findAllByBooker_Id(Long bookerId, Pageable page);
+
+    List<BookingLiteDto> findLastBookingsByItemId(Long itemId, LocalDateTime now, List<BookingStatus> excludedStatuses, Pageable page);
+
+    List<BookingLiteDto> findNextBookingsByItemId(Long itemId, LocalDateTime now, List<BookingStatus> excludedStatuses, Pageable page);
+
+    List<BookingLiteDto> findLastBookingsByItemIdIn(List<Long> itemsIds, LocalDateTime now, List<BookingStatus> excludedStatuses);
+
+    List<BookingLiteDto> findNextBookingsByItemIdIn(List<Long> itemsIds, LocalDateTime now, List<BookingStatus> excludedStatuses);
+
+    boolean existsOverlappingBooking(Long itemId, List<BookingStatus> statuses, LocalDateTime start, LocalDateTime end);
+
+    List<BookingLiteDto> findActiveBookingsByItemId(Long itemId, List<BookingStatus> statuses, LocalDateTime now);
+
+    List<BookingLiteDto> findAllByItemIdAndStatuses(Long itemId, List<BookingStatus> statuses);
+
+    List<Booking> findAllByUserIdAndItemIdAndEndDateIsPassed(Long bookerId, Long itemId, LocalDateTime now);
+
+    List<Booking> findAllByOwnerId(Long ownerId, Pageable page);
+
+    List<Booking> findAllByOwnerIdAndWaitingStatus(Long ownerId, BookingStatus waiting, Pageable page);
+
+    List<Booking> findAllByOwnerIdAndRejectedStatus(Long ownerId, List<BookingStatus> rejected, Pageable page);
+
+    List<Booking> findAllByOwnerIdAndCurrentStatus(Long ownerId, LocalDateTime now, Pageable page);
+
+    List<Booking> findAllByOwnerIdAndFutureStatus(Long ownerId, LocalDateTime now, Pageable page);
+
+    List<Booking> findAllByOwnerIdAndPastStatus(Long ownerId, LocalDateTime now, Pageable page);
+
+    List<Booking> findAllByBookerIdAndWaitingStatus(Long bookerId, BookingStatus waiting, Pageable page);
+
+    List<Booking> findAllByBookerIdAndRejectedStatus(Long bookerId, List<BookingStatus> rejected, Pageable page);
+
+    List<Booking> findAllByBookerIdAndCurrentStatus(Long bookerId, LocalDateTime now, Pageable page);
+
+    List<Booking> findAllByBookerIdAndFutureStatus(Long bookerId, LocalDateTime now, Pageable page);
+
+    List<Booking> findAllByBookerIdAndPastStatus(Long bookerId, LocalDateTime now, Pageable page);
+}
@@ -0,0 +1,311 @@
+package ru.practicum.shareit.booking.repository.inmemory;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingLiteDto;
+import ru.practicum.shareit.booking.dto.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static ru.practicum.shareit.storage.InMemoryPaging.page;
+
+@Slf4j
+public class BookingRepositoryInMemoryImpl implements BookingRepository {
+
+    private static final Sort START_DESC = Sort.by("start").descending();
+    private static final Comparator<Booking> BY_START_DESC = Comparator.comparing(Booking::getStart)
+            .thenComparing(Booking::getId)
+            .reversed();
+    private static final NavigableSet<Booking> NO_BOOKINGS = Collections.unmodifiableNavigableSet(new TreeSet<>(BY_START_DESC));
+
+    private final ConcurrentMap<Long, Booking> bookings = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, NavigableSet<Booking>> bookingsByBooker = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, NavigableSet<Booking>> bookingsByItem = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, NavigableSet<Booking>> bookingsByOwner = new ConcurrentHashMap<>();
+    private final AtomicLong bookingId = new AtomicLong();
+
+    @Override
+    public synchronized Booking save(Booking booking) {
+        log.debug("Saving booking: {}", booking);
+        if (booking.getId() == 0) {
+            booking.setId(bookingId.incrementAndGet());
+        } else {
+            bookingId.accumulateAndGet(booking.getId(), Math::max);
+        }
+        Booking previous = bookings.put(booking.getId(), booking);
+        if (previous != null) {
+            unindex(previous);
+        }
+        index(booking);
+        return booking;
+    }
+
+    @Override
+    public Optional<Booking> findById(Long id) {
+        return Optional.ofNullable(bookings.get(id));
+    }
+
+    @Override
+    public synchronized void deleteById(Long id) {
+        log.debug("Removing booking with id: {}", id);
+        Booking previous = bookings.remove(id);
+        if (previous != null) {
+            unindex(previous);
+        }
+    }
+
+    @Override
+    public List<Booking> findAllByBooker_Id(Long bookerId, Pageable page) {
+        return page(byBooker(bookerId).stream(), page, START_DESC);
+    }
+
+    @Override
+    public List<BookingLiteDto> findLastBookingsByItemId(Long itemId, LocalDateTime now,
+                                                         List<BookingStatus> excludedStatuses, Pageable page) {
+        return page(startedBefore(byItem(itemId), now).stream()
+                .filter(b -> !excludedStatuses.contains(b.getStatus()))
+                .map(BookingMapper::toBookingLiteDto), page, Sort.unsorted());
+    }
+
+    @Override
+    public List<BookingLiteDto> findNextBookingsByItemId(Long itemId, LocalDateTime now,
+                                                         List<BookingStatus> excludedStatuses, Pageable page) {
+        return page(startedAfter(byItem(itemId), now).descendingSet().stream()
+                .filter(b -> !excludedStatuses.contains(b.getStatus()))
+                .map(BookingMapper::toBookingLiteDto), page, Sort.unsorted());
+    }
+
+    @Override
+    public List<BookingLiteDto> findLastBookingsByItemIdIn(List<Long> itemsIds, LocalDateTime now,
+                                                           List<BookingStatus> excludedStatuses) {
+        return itemsIds.stream()
+                .distinct()
+                .flatMap(itemId -> startedBefore(byItem(itemId), now).stream()
+                        .filter(b -> !excludedStatuses.contains(b.getStatus()))
+                        .limit(1))
+                .map(BookingMapper::toBookingLiteDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<BookingLiteDto> findNextBookingsByItemIdIn(List<Long> itemsIds, LocalDateTime now,
+                                                           List<BookingStatus> excludedStatuses) {
+        return itemsIds.stream()
+                .distinct()
+                .flatMap(itemId -> startedAfter(byItem(itemId), now).descendingSet().stream()
+                        .filter(b -> !excludedStatuses.contains(b.getStatus()))
+                        .limit(1))
+                .map(BookingMapper::toBookingLiteDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public boolean existsOverlappingBooking(Long itemId, List<BookingStatus> statuses, LocalDateTime start,
+                                            LocalDateTime end) {
+        return startedBefore(byItem(itemId), end).stream()
+                .anyMatch(b -> statuses.contains(b.getStatus()) && b.getEnd().isAfter(start));
+    }
+
+    @Override
+    public List<BookingLiteDto> findActiveBookingsByItemId(Long itemId, List<BookingStatus> statuses,
+                                                           LocalDateTime now) {
+        return byItem(itemId).stream()
+                .filter(b -> statuses.contains(b.getStatus()) && b.getEnd().isAfter(now))
+                .map(BookingMapper::toBookingLiteDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<BookingLiteDto> findAllByItemIdAndStatuses(Long itemId, List<BookingStatus> statuses) {
+        return byItem(itemId).descendingSet().stream()
+                .filter(b -> statuses.contains(b.getStatus()))
+                .map(BookingMapper::toBookingLiteDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Booking> findAllByUserIdAndItemIdAndEndDateIsPassed(Long bookerId, Long itemId, LocalDateTime now) {
+        return byItem(itemId).stream()
+                .filter(b -> Objects.equals(b.bookerId(), bookerId) && !b.getEnd().isAfter(now))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Booking> findAllByOwnerId(Long ownerId, Pageable page) {
+        return page(byOwner(ownerId).stream(), page, START_DESC);
+    }
+
+    @Override
+    public List<Booking> findAllByOwnerIdAndWaitingStatus(Long ownerId, BookingStatus waiting, Pageable page) {
+        return page(byOwner(ownerId).stream().filter(b -> b.getStatus() == waiting), page, START_DESC);
+    }
+
+    @Override
+    public List<Booking> findAllByOwnerIdAndRejectedStatus(Long ownerId, List<BookingStatus> rejected, Pageable page) {
+        return page(byOwner(ownerId).stream().filter(b -> rejected.contains(b.getStatus())), page, START_DESC);
+    }
+
+    @Override
+    public List<Booking> findAllByOwnerIdAndCurrentStatus(Long ownerId, LocalDateTime now, Pageable page) {
+        return page(startedBefore(byOwner(ownerId), now).stream().filter(b -> b.getEnd().isAfter(now)), page, START_DESC);
+    }
+
+    @Override
+    public List<Booking> findAllByOwnerIdAndFutureStatus(Long ownerId, LocalDateTime now, Pageable page) {
+        return page(startedAfter(byOwner(ownerId), now).stream(), page, START_DESC);
+    }
+
+    @Override
+    public List<Booking> findAllByOwnerIdAndPastStatus(Long ownerId, LocalDateTime now, Pageable page) {
+        return page(startedBefore(byOwner(ownerId), now).stream().filter(b -> b.getEnd().isBefore(now)), page, START_DESC);
+    }
+
+    @Override
+    public List<Booking> findAllByBookerIdAndWaitingStatus(Long bookerId, BookingStatus waiting, Pageable page) {
+        return page(byBooker(bookerId).stream().filter(b -> b.getStatus() == waiting), page, START_DESC);
+    }
+
+    @Override
+    public List<Booking> findAllByBookerIdAndRejectedStatus(Long bookerId, List<BookingStatus> rejected, Pageable page) {
+        return page(byBooker(bookerId).stream().filter(b -> rejected.contains(b.getStatus())), page, START_DESC);
+    }
+
+    @Override
+    public List<Booking> findAllByBookerIdAndCurrentStatus(Long bookerId, LocalDateTime now, Pageable page) {
+        return page(startedBefore(byBooker(bookerId), now).stream().filter(b -> b.getEnd().isAfter(now)), page, START_DESC);
+    }
+
+    @Override
+    public List<Booking> findAllByBookerIdAndFutureStatus(Long bookerId, LocalDateTime now, Pageable page) {
+        return page(startedAfter(byBooker(bookerId), now).stream(), page, START_DESC);
+    }
+
+    @Override
+    public List<Booking> findAllByBookerIdAndPastStatus(Long bookerId, LocalDateTime now, Pageable page) {
+        return page(startedBefore(byBooker(bookerId), now).stream().filter(b -> b.getEnd().isBefore(now)), page, START_DESC);
+    }
+
+    @Override
+    public List<Booking> findAllByBookerIdAfter(Long bookerId, BookingState state, LocalDateTime now,
+                                                BookingCursor after, int size) {
+        return findAllAfter(byBooker(bookerId), state, now, after, size);
+    }
+
+    @Override
+    public List<Booking> findAllByOwnerIdAfter(Long ownerId, BookingState state, LocalDateTime now,
+                                               BookingCursor after, int size) {
+        return findAllAfter(byOwner(ownerId), state, now, after, size);
+    }
+
+    private List<Booking> findAllAfter(NavigableSet<Booking> bookings, BookingState state, LocalDateTime now,
+                                       BookingCursor after, int size) {
+        Booking lower = after != null ? probe(after.getStart(), after.getId()) : null;
+        Booking upper = null;
+        Predicate<Booking> condition = b -> true;
+        switch (state) {
+            case WAITING:
+                condition = b -> b.getStatus() == BookingStatus.WAITING;
+                break;
+            case REJECTED:
+                condition = b -> b.getStatus() == BookingStatus.REJECTED || b.getStatus() == BookingStatus.CANCELED;
+                break;
+            case CURRENT:
+                lower = later(lower, probe(now, Long.MIN_VALUE));
+                condition = b -> b.getEnd().isAfter(now);
+                break;
+            case FUTURE:
+                upper = probe(now, Long.MAX_VALUE);
+                break;
+            case PAST:
+                lower = later(lower, probe(now, Long.MIN_VALUE));
+                condition = b -> b.getEnd().isBefore(now);
+                break;
+            default:
+                break;
+        }
+        return range(bookings, lower, upper).stream()
+                .filter(condition)
+                .limit(size)
+                .collect(Collectors.toList());
+    }
+
+    private NavigableSet<Booking> startedBefore(NavigableSet<Booking> bookings, LocalDateTime moment) {
+        return bookings.tailSet(probe(moment, Long.MIN_VALUE), false);
+    }
+
+    private NavigableSet<Booking> startedAfter(NavigableSet<Booking> bookings, LocalDateTime moment) {
+        return bookings.headSet(probe(moment, Long.MAX_VALUE), false);
+    }
+
+    private NavigableSet<Booking> range(NavigableSet<Booking> bookings, Booking lower, Booking upper) {
+        if (lower == null) {
+            return upper == null ? bookings : bookings.headSet(upper, false);
+        }
+        if (upper == null) {
+            return bookings.tailSet(lower, false);
+        }
+        if (BY_START_DESC.compare(lower, upper) >= 0) {
+            return NO_BOOKINGS;
+        }
+        return bookings.subSet(lower, false, upper, false);
+    }
+
+    private Booking later(Booking current, Booking bound) {
+        return current == null || BY_START_DESC.compare(bound, current) > 0 ? bound : current;
+    }
+
+    private Booking probe(LocalDateTime start, long id) {
+        return Booking.builder().start(start).id(id).build();
+    }
+
+    private NavigableSet<Booking> byBooker(Long bookerId) {
+        return bookingsByBooker.getOrDefault(bookerId, NO_BOOKINGS);
+    }
+
+    private NavigableSet<Booking> byItem(Long itemId) {
+        return bookingsByItem.getOrDefault(itemId, NO_BOOKINGS);
+    }
+
+    private NavigableSet<Booking> byOwner(Long ownerId) {
+        return bookingsByOwner.getOrDefault(ownerId, NO_BOOKINGS);
+    }
+
+    private void index(Booking booking) {
+        index(bookingsByBooker, booking.bookerId(), booking);
+        index(bookingsByItem, booking.itemId(), booking);
+        index(bookingsByOwner, booking.getItem() != null ? booking.getItem().ownerId() : null, booking);
+    }
+
+    private void unindex(Booking booking) {
+        unindex(bookingsByBooker, booking.bookerId(), booking);
+        unindex(bookingsByItem, booking.itemId(), booking);
+        unindex(bookingsByOwner, booking.getItem() != null ? booking.getItem().ownerId() : null, booking);
+    }
+
+    private void index(ConcurrentMap<Long, NavigableSet<Booking>> index, Long key, Booking booking) {
+        if (key != null) {
+            index.computeIfAbsent(key, k -> new ConcurrentSkipListSet<>(BY_START_DESC)).add(booking);
+        }
+    }
+
+    private void unindex(ConcurrentMap<Long, NavigableSet<Booking>> index, Long key, Booking booking) {
+        if (key != null) {
+            NavigableSet<Booking> bookings = index.get(key);
+            if (bookings != null) {
+                bookings.remove(booking);
+            }
+        }
+    }
+}
@@ -16,4 +16,8 @@ public interface BookingService {
     List<BookingDto> getAllBookingsByUserId(Long userId, String state, Pageable page);
 
     List<BookingDto> getAllBookingsByOwnerId(Long ownerId, String state, Pageable page);
+
+    List<BookingDto> getAllBookingsByUserIdAfter(Long userId, String state, String after, int size);
+
+    List<BookingDto> getAllBookingsByOwnerIdAfter(Long ownerId, String state, String after, int size);
 }
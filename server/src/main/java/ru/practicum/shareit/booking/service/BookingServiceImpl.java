@@ -1,13 +1,19 @@
 package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.booking.availability.BookingAvailability;
+import ru.practicum.shareit.booking.availability.ItemTimelineCache;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.EntityNotFoundException;
@@ -20,6 +26,7 @@ import ru.practicum.shareit.validator.ItemValidator;
 import ru.practicum.shareit.validator.UserValidator;
 
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -33,11 +40,15 @@ import static ru.practicum.shareit.booking.dto.mapper.BookingMapper.*;
 public class BookingServiceImpl implements BookingService {
 
     private static final Sort SORT_BY_START_DESC = Sort.by("start").descending();
+    private static final String EXCLUSION_VIOLATION_SQL_STATE = "23P01";
+    private static final String OVERLAP_CONSTRAINT = "ex_booking_item_period";
     private final ItemRepository itemRepository;
     private final BookingRepository bookingRepository;
     private final UserValidator userValidator;
     private final ItemValidator itemValidator;
     private final BookingValidator bookingValidator;
+    private final BookingAvailability bookingAvailability;
+    private final ItemTimelineCache itemTimelineCache;
 
     @Override
     public BookingDto addBooking(BookingDto bookingDto, Long bookerId) {
@@ -57,8 +68,12 @@ public class BookingServiceImpl implements BookingService {
                 || bookingDto.getEnd().isBefore(LocalDateTime.now()) || bookingDto.getStart().isBefore(LocalDateTime.now())) {
             throw new IncorrectDataException("Booking: Problem in dates");
         }
+        bookingAvailability.checkAvailable(itemFromDb.getId(), bookingDto.getStart(), bookingDto.getEnd());
         bookingDto.setStatus(BookingStatus.WAITING);
-        return toBookingDto(bookingRepository.save(toBookingDb(bookingDto, itemFromDb, booker)));
+        Booking savedBooking = saveBooking(toBookingDb(bookingDto, itemFromDb, booker), itemFromDb.getId());
+        bookingAvailability.onBookingSaved(savedBooking);
+        itemTimelineCache.invalidate(itemFromDb.getId());
+        return toBookingDto(savedBooking);
     }
 
     @Override
@@ -76,6 +91,10 @@ public class BookingServiceImpl implements BookingService {
                 if (bookingDto.getStatus().equals(BookingStatus.APPROVED)) {
                     throw new IncorrectDataException("Status is Approved");
                 }
+                // a rejected or canceled booking no longer holds its dates, someone else may have taken them
+                if (!BookingAvailability.ACTIVE_STATUSES.contains(bookingDto.getStatus())) {
+                    bookingAvailability.checkAvailable(bookingFromDb.itemId(), bookingDto.getStart(), bookingDto.getEnd());
+                }
                 bookingDto.setStatus(BookingStatus.APPROVED);
                 break;
             }
@@ -87,7 +106,9 @@ public class BookingServiceImpl implements BookingService {
                 throw new IncorrectDataException("Incorrect data in approve method");
         }
         Booking bookingToUpdate = toBookingUpdate(bookingDto, bookingFromDb);
-        bookingRepository.save(bookingToUpdate);
+        saveBooking(bookingToUpdate, bookingFromDb.itemId());
+        bookingAvailability.onBookingSaved(bookingToUpdate);
+        itemTimelineCache.invalidate(bookingFromDb.itemId());
         return toBookingDto(bookingToUpdate);
     }
 
@@ -145,36 +166,32 @@ public class BookingServiceImpl implements BookingService {
         bookingValidator.validateBookingState(state);
         Pageable pageForBookings = PageRequest.of(page.getPageNumber(), page.getPageSize(), SORT_BY_START_DESC);
 
-        List<Long> userItemsIds = itemRepository.findByOwner_Id_WithoutPageable(ownerId).stream()
-                .map(Item::getId)
-                .collect(Collectors.toList());
-        if (userItemsIds.isEmpty()) {
-            throw new IncorrectDataException("This method only for users who have >1 items");
-        }
+        validateOwnerHasItems(ownerId);
+
         List<Booking> bookings;
         switch (state.toUpperCase()) {
             case "WAITING": {
-                bookings = new ArrayList<>(bookingRepository.findAllByOwnerItemsAndWaitingStatus(userItemsIds, BookingStatus.WAITING, pageForBookings));
+                bookings = new ArrayList<>(bookingRepository.findAllByOwnerIdAndWaitingStatus(ownerId, BookingStatus.WAITING, pageForBookings));
                 break;
             }
             case "REJECTED": {
-                bookings = new ArrayList<>(bookingRepository.findAllByOwnerItemsAndRejectedStatus(userItemsIds, List.of(BookingStatus.REJECTED, BookingStatus.CANCELED), pageForBookings));
+                bookings = new ArrayList<>(bookingRepository.findAllByOwnerIdAndRejectedStatus(ownerId, List.of(BookingStatus.REJECTED, BookingStatus.CANCELED), pageForBookings));
                 break;
             }
             case "CURRENT": {
-                bookings = new ArrayList<>(bookingRepository.findAllByOwnerItemsAndCurrentStatus(userItemsIds, LocalDateTime.now(), pageForBookings));
+                bookings = new ArrayList<>(bookingRepository.findAllByOwnerIdAndCurrentStatus(ownerId, LocalDateTime.now(), pageForBookings));
                 break;
             }
             case "FUTURE": {
-                bookings = new ArrayList<>(bookingRepository.findAllByOwnerItemsAndFutureStatus(userItemsIds, LocalDateTime.now(), pageForBookings));
+                bookings = new ArrayList<>(bookingRepository.findAllByOwnerIdAndFutureStatus(ownerId, LocalDateTime.now(), pageForBookings));
                 break;
             }
             case "PAST": {
-                bookings = new ArrayList<>(bookingRepository.findAllByOwnerItemsAndPastStatus(userItemsIds, LocalDateTime.now(), pageForBookings));
+                bookings = new ArrayList<>(bookingRepository.findAllByOwnerIdAndPastStatus(ownerId, LocalDateTime.now(), pageForBookings));
                 break;
             }
             case "ALL": {
-                bookings = new ArrayList<>(bookingRepository.findAllByOwnerItems(userItemsIds, pageForBookings));
+                bookings = new ArrayList<>(bookingRepository.findAllByOwnerId(ownerId, pageForBookings));
                 break;
             }
             default:
@@ -182,4 +199,63 @@ public class BookingServiceImpl implements BookingService {
         }
         return bookings.stream().map(BookingMapper::toBookingDto).collect(Collectors.toList());
     }
+
+    @Override
+    public List<BookingDto> getAllBookingsByUserIdAfter(Long userId, String state, String after, int size) {
+        userValidator.validateUserId(userId);
+        bookingValidator.validateBookingState(state);
+
+        return bookingRepository.findAllByBookerIdAfter(userId, BookingState.valueOf(state.toUpperCase()), LocalDateTime.now(),
+                        toBookingCursor(after), size).stream()
+                .map(BookingMapper::toBookingDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<BookingDto> getAllBookingsByOwnerIdAfter(Long ownerId, String state, String after, int size) {
+        userValidator.validateUserId(ownerId);
+        bookingValidator.validateBookingState(state);
+
+        validateOwnerHasItems(ownerId);
+
+        return bookingRepository.findAllByOwnerIdAfter(ownerId, BookingState.valueOf(state.toUpperCase()),
+                        LocalDateTime.now(), toBookingCursor(after), size).stream()
+                .map(BookingMapper::toBookingDto)
+                .collect(Collectors.toList());
+    }
+
+    private void validateOwnerHasItems(Long ownerId) {
+        if (!itemRepository.existsByOwner_Id(ownerId)) {
+            throw new IncorrectDataException("This method only for users who have >1 items");
+        }
+    }
+
+    private BookingCursor toBookingCursor(String after) {
+        return after.isEmpty() ? null : BookingCursor.parse(after);
+    }
+
+    private Booking saveBooking(Booking booking, long itemId) {
+        try {
+            return bookingRepository.save(booking);
+        } catch (DataIntegrityViolationException e) {
+            if (!isOverlapViolation(e)) {
+                throw e;
+            }
+            bookingAvailability.invalidate(itemId);
+            throw new IncorrectDataException("Booking: Item is already booked for these dates");
+        }
+    }
+
+    private static boolean isOverlapViolation(DataIntegrityViolationException e) {
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException
+                    && OVERLAP_CONSTRAINT.equals(((ConstraintViolationException) cause).getConstraintName())) {
+                return true;
+            }
+            if (cause instanceof SQLException && EXCLUSION_VIOLATION_SQL_STATE.equals(((SQLException) cause).getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
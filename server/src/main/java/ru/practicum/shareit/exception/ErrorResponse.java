@@ -0,0 +1,17 @@
+package ru.practicum.shareit.exception;
+
+import lombok.Getter;
+
+@Getter
+public class ErrorResponse {
+
+    private final String error;
+
+    private ErrorResponse(String error) {
+        this.error = error;
+    }
+
+    public static ErrorResponse of(String prefix, String message) {
+        return new ErrorResponse(message != null ? prefix.concat(message) : prefix);
+    }
+}
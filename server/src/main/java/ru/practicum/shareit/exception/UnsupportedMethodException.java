@@ -1,6 +1,6 @@
 package ru.practicum.shareit.exception;
 
-public class UnsupportedMethodException extends RuntimeException {
+public class UnsupportedMethodException extends ShareItException {
 
     public UnsupportedMethodException(String message) {
         super(message);
@@ -2,21 +2,16 @@ package ru.practicum.shareit.item.dto.mapper;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
-import ru.practicum.shareit.booking.dto.BookingDto;
-import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingLiteDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.comment.CommentDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
-import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 
-import static ru.practicum.shareit.booking.dto.mapper.BookingMapper.toBookingLiteDto;
-
 @Component
 @RequiredArgsConstructor
 public class ItemMapper {
@@ -84,40 +79,11 @@ public class ItemMapper {
                 .build();
     }
 
-    public static ItemDto toItemDtoWithBookings(Item item, List<BookingDto> bookings) {
-        BookingDto lastBooking = null;
-        BookingDto nextBooking = null;
-        if (!bookings.isEmpty()) {
-            lastBooking = bookings.stream()
-                    .filter(x -> x.getStatus() != BookingStatus.REJECTED)
-                    .filter(x -> x.getStatus() != BookingStatus.CANCELED)
-                    .filter(x -> x.getStart().isBefore(LocalDateTime.now()))
-                    .max(Comparator.comparing(BookingDto::getStart)).orElse(null);
-            nextBooking = bookings.stream()
-                    .filter(x -> x.getStatus() != BookingStatus.REJECTED)
-                    .filter(x -> x.getStatus() != BookingStatus.CANCELED)
-                    .filter(x -> x.getStart().isAfter(LocalDateTime.now()))
-                    .min(Comparator.comparing(BookingDto::getStart)).orElse(null);
-        }
-        return ItemDto.builder()
-                .id(item.getId())
-                .name(item.getName())
-                .description(item.getDescription())
-                .available(item.getAvailable())
-                .lastBooking(toBookingLiteDto(lastBooking))
-                .nextBooking(toBookingLiteDto(nextBooking))
-                .comments(new ArrayList<>())
-                .build();
-    }
-
-
-    public static ItemDto toItemDtoWithBookingsAndComments(Item item, List<BookingDto> bookings, List<CommentDto> comments) {
-        ItemDto itemDto;
-        if (bookings == null) {
-            itemDto = toItemDto(item);
-        } else {
-            itemDto = toItemDtoWithBookings(item, bookings);
-        }
+    public static ItemDto toItemDtoWithBookingsAndComments(Item item, BookingLiteDto lastBooking, BookingLiteDto nextBooking,
+                                                           List<CommentDto> comments) {
+        ItemDto itemDto = toItemDto(item);
+        itemDto.setLastBooking(lastBooking);
+        itemDto.setNextBooking(nextBooking);
         itemDto.setComments(comments);
         return itemDto;
     }
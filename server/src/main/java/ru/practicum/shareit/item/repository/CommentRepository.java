@@ -1,6 +1,7 @@
 package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -11,8 +12,12 @@ import java.util.List;
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
+    @Query("select c from Comment c where c.item.id = :itemId")
     List<Comment> findAllByItem_Id(Long itemId);
 
+    @Query("select c from Comment c where c.item.id in :itemsIds")
+    List<Comment> findAllByItem_IdIn(List<Long> itemsIds, Sort sort);
+
     @Query("select c from Comment c where c.item.owner.id = :userId")
     List<Comment> findAllByItemsUserId(Long userId, Pageable page);
 
@@ -4,6 +4,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.item.dto.RequestItemDto;
 import ru.practicum.shareit.item.model.Item;
 
 import java.util.List;
@@ -14,11 +15,23 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
 
     List<Item> findByOwner_Id(Long ownerId, Pageable page);
 
-    @Query("select i from Item i where i.owner.id = :ownerId")
-    List<Item> findByOwner_Id_WithoutPageable(Long ownerId);
+    boolean existsByOwner_Id(Long ownerId);
+
+    @Query("select i.id from Item i left join i.request r where i.owner.id = ?1 or r.requester.id = ?1")
+    List<Long> findIdsByOwnerIdOrRequesterId(Long userId);
+
+    @Query("select new ru.practicum.shareit.item.dto.RequestItemDto(i.id, i.name, i.owner.id, i.description, i.available, i.request.id) " +
+            "from Item i where i.request.id IN :requestsIds")
+    List<RequestItemDto> findAllByRequest_IdIn(List<Long> requestsIds);
 
     @Query("select i from Item i where i.available = true AND (upper(i.name) like upper(concat('%', ?1, '%')) OR " +
             "upper (i.description) like upper(concat('%', ?1, '%')))")
     List<Item> search(String text, Pageable page);
 
+    @Query(value = "select i.* from items i where i.is_available = true AND (i.name ilike concat('%', :text, '%') OR " +
+            "i.description ilike concat('%', :text, '%')) " +
+            "order by greatest(similarity(i.name, :text), similarity(i.description, :text)) desc, i.id",
+            nativeQuery = true)
+    List<Item> searchByTrigramSimilarity(String text, Pageable page);
+
 }
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.item.repository.inmemmory;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.item.model.comment.Comment;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface CommentRepository {
+
+    Comment save(Comment comment);
+
+    Optional<Comment> findById(Long id);
+
+    void deleteById(Long id);
+
+    List<Comment> findAllByItem_Id(Long itemId);
+
+    List<Comment> findAllByItem_IdIn(List<Long> itemsIds, Sort sort);
+
+    List<Comment> findAllByItemsUserId(Long userId, Pageable page);
+}
@@ -0,0 +1,109 @@
+package ru.practicum.shareit.item.repository.inmemmory;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.item.model.comment.Comment;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static ru.practicum.shareit.storage.InMemoryPaging.page;
+import static ru.practicum.shareit.storage.InMemoryPaging.sort;
+
+@Slf4j
+public class CommentRepositoryInMemoryImpl implements CommentRepository {
+
+    private static final Sort ID_ASC = Sort.by("id").ascending();
+
+    private final ConcurrentMap<Long, Comment> comments = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, NavigableSet<Long>> commentIdsByItem = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, NavigableSet<Long>> commentIdsByOwner = new ConcurrentHashMap<>();
+    private final AtomicLong commentId = new AtomicLong();
+
+    @Override
+    public synchronized Comment save(Comment comment) {
+        log.debug("Saving comment: {}", comment);
+        if (comment.getId() == null || comment.getId() == 0) {
+            comment.setId(commentId.incrementAndGet());
+        } else {
+            commentId.accumulateAndGet(comment.getId(), Math::max);
+        }
+        Comment previous = comments.put(comment.getId(), comment);
+        if (previous != null) {
+            unindex(previous);
+        }
+        index(commentIdsByItem, comment.itemId(), comment.getId());
+        index(commentIdsByOwner, ownerId(comment), comment.getId());
+        return comment;
+    }
+
+    @Override
+    public Optional<Comment> findById(Long id) {
+        return Optional.ofNullable(comments.get(id));
+    }
+
+    @Override
+    public synchronized void deleteById(Long id) {
+        log.debug("Removing comment with id: {}", id);
+        Comment previous = comments.remove(id);
+        if (previous != null) {
+            unindex(previous);
+        }
+    }
+
+    @Override
+    public List<Comment> findAllByItem_Id(Long itemId) {
+        return resolve(commentIdsByItem.getOrDefault(itemId, Collections.emptyNavigableSet()));
+    }
+
+    @Override
+    public List<Comment> findAllByItem_IdIn(List<Long> itemsIds, Sort sort) {
+        return sort(itemsIds.stream()
+                .distinct()
+                .flatMap(itemId -> findAllByItem_Id(itemId).stream()), sort, Sort.unsorted())
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Comment> findAllByItemsUserId(Long userId, Pageable page) {
+        return page(commentIdsByOwner.getOrDefault(userId, Collections.emptyNavigableSet()).stream()
+                .map(comments::get)
+                .filter(Objects::nonNull), page, ID_ASC);
+    }
+
+    private List<Comment> resolve(Collection<Long> ids) {
+        return ids.stream()
+                .map(comments::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private void unindex(Comment comment) {
+        unindex(commentIdsByItem, comment.itemId(), comment.getId());
+        unindex(commentIdsByOwner, ownerId(comment), comment.getId());
+    }
+
+    private Long ownerId(Comment comment) {
+        return comment.getItem() != null ? comment.getItem().ownerId() : null;
+    }
+
+    private void index(ConcurrentMap<Long, NavigableSet<Long>> index, Long key, Long id) {
+        if (key != null) {
+            index.computeIfAbsent(key, k -> new ConcurrentSkipListSet<>()).add(id);
+        }
+    }
+
+    private void unindex(ConcurrentMap<Long, NavigableSet<Long>> index, Long key, Long id) {
+        if (key != null) {
+            NavigableSet<Long> ids = index.get(key);
+            if (ids != null) {
+                ids.remove(id);
+            }
+        }
+    }
+}
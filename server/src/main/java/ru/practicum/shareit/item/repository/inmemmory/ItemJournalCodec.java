@@ -0,0 +1,44 @@
+package ru.practicum.shareit.item.repository.inmemmory;
+
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.storage.JournalCodec;
+import ru.practicum.shareit.user.model.User;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import static ru.practicum.shareit.storage.JournalCodec.readString;
+import static ru.practicum.shareit.storage.JournalCodec.writeString;
+
+public class ItemJournalCodec implements JournalCodec<Item> {
+
+    private static final byte NULL = -1;
+
+    @Override
+    public void write(Item item, DataOutput out) throws IOException {
+        out.writeLong(item.getId());
+        writeString(out, item.getName());
+        writeString(out, item.getDescription());
+        out.writeByte(item.getAvailable() == null ? NULL : item.getAvailable() ? 1 : 0);
+        out.writeBoolean(item.getOwner() != null);
+        if (item.getOwner() != null) {
+            out.writeLong(item.getOwner().getId());
+        }
+    }
+
+    @Override
+    public Item read(DataInput in) throws IOException {
+        Item item = Item.builder()
+                .id(in.readLong())
+                .name(readString(in))
+                .description(readString(in))
+                .build();
+        byte available = in.readByte();
+        item.setAvailable(available == NULL ? null : available == 1);
+        if (in.readBoolean()) {
+            item.setOwner(User.builder().id(in.readLong()).build());
+        }
+        return item;
+    }
+}
@@ -1,37 +1,49 @@
 package ru.practicum.shareit.item.repository.inmemmory;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import ru.practicum.shareit.exception.EntityNotFoundException;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.storage.InMemoryJournal;
+import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.inmemory.UserRepository;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 @Slf4j
-@RequiredArgsConstructor
 public class ItemRepositoryInMemoryImpl implements ItemRepository {
 
     private final UserRepository userRepository;
-    private final Map<Long, List<Item>> items = new HashMap<>();
-    private int itemId = 0;
+    private final ConcurrentMap<Long, Item> items = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Set<Long>> itemIdsByOwner = new ConcurrentHashMap<>();
+    private final AtomicLong itemId = new AtomicLong();
+    private final InMemoryJournal<Item> journal;
+
+    public ItemRepositoryInMemoryImpl(UserRepository userRepository) {
+        this(userRepository, null);
+    }
+
+    public ItemRepositoryInMemoryImpl(UserRepository userRepository, InMemoryJournal<Item> journal) {
+        this.userRepository = userRepository;
+        this.journal = journal != null ? journal : InMemoryJournal.disabled();
+        this.journal.recover(this::restore, this::forget, items::values);
+    }
 
     @Override
     public Item create(Item item, long userId) {
-        item.setId(++itemId);
+        item.setId(itemId.incrementAndGet());
         item.setOwner((userRepository.getById(userId)));
-        items.compute(userId, (ownerId, userItems) -> {
-            if (userItems == null) {
-                userItems = new ArrayList<>();
-            }
-            userItems.add(item);
-            return userItems;
-        });
         log.debug("Adding item: {}", item);
-        int index = findItemIndexInList(itemId, userId);
-        return items.get(userId).get(index);
+        journal.mutate(() -> {
+            journal.put(item);
+            items.put(item.getId(), item);
+            itemIdsByOwner.computeIfAbsent(userId, ownerId -> new ConcurrentSkipListSet<>()).add(item.getId());
+        });
+        return item;
     }
 
     @Override
@@ -40,43 +52,61 @@ public class ItemRepositoryInMemoryImpl implements ItemRepository {
         if (userId != item.getOwner().getId()) {
             throw new EntityNotFoundException("Owner id is incorrect!");
         }
-
-        int index = findItemIndexInList(itemId, userId);
-        items.get(userId).set(index, item);
-        return items.get(userId).get(index);
+        journal.mutate(() -> items.compute(item.getId(), (id, previous) -> {
+            if (previous == null) {
+                throw new EntityNotFoundException("There is no item with id: " + id);
+            }
+            journal.put(item);
+            return item;
+        }));
+        return item;
     }
 
     @Override
     public Item getItemById(long itemId) {
         log.debug("Getting item by id: {} ", itemId);
-        Item item = null;
-        for (long userId : items.keySet()) {
-            item = items.get(userId).stream().filter(x -> x.getId() == itemId).findFirst().orElse(null);
-        }
-        return item;
+        return items.get(itemId);
     }
 
     @Override
     public Collection<Item> getItemsByUserId(long userId) {
-        return items.get(userId);
+        return itemIdsByOwner.getOrDefault(userId, Collections.emptySet()).stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
     }
 
     @Override
     public Collection<Item> getItemsBySearch(String text) {
-        Collection<Item> availableItems = new ArrayList<>();
-        for (long userId : items.keySet()) {
-            availableItems.addAll(items.get(userId).stream()
-                    .filter(x -> x.getAvailable().equals(true))
-                    .filter(x -> x.getDescription().toLowerCase().contains(text))
-                    .collect(Collectors.toList()));
+        return items.values().stream()
+                .filter(x -> x.getAvailable().equals(true))
+                .filter(x -> x.getDescription().toLowerCase().contains(text))
+                .sorted(Comparator.comparing(Item::getId))
+                .collect(Collectors.toList());
+    }
+
+    private void restore(Item item) {
+        if (item.getOwner() != null) {
+            User owner = userRepository.getById(item.getOwner().getId());
+            if (owner != null) {
+                item.setOwner(owner);
+            }
+        }
+        forget(item.getId());
+        items.put(item.getId(), item);
+        if (item.ownerId() != null) {
+            itemIdsByOwner.computeIfAbsent(item.ownerId(), ownerId -> new ConcurrentSkipListSet<>()).add(item.getId());
         }
-        return availableItems;
+        itemId.accumulateAndGet(item.getId(), Math::max);
     }
 
-    private int findItemIndexInList(long itemId, long userId) {
-        return IntStream.range(0, items.get(userId).size())
-                .filter(i -> items.get(userId).get(i).getId() == itemId)
-                .findFirst()
-                .orElse(-1);
+    private void forget(long id) {
+        Item previous = items.remove(id);
+        if (previous != null && previous.ownerId() != null) {
+            Set<Long> ownerItems = itemIdsByOwner.get(previous.ownerId());
+            if (ownerItems != null) {
+                ownerItems.remove(id);
+            }
+        }
     }
 }
@@ -0,0 +1,218 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.item.search.engine", havingValue = "index")
+public class IndexItemSearchEngine implements ItemSearchEngine {
+
+    private static final int GRAM_LENGTH = 3;
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final ItemRepository itemRepository;
+    private volatile Index index = new Index();
+    private Map<Long, Item> updatedDuringRebuild;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (this) {
+            updatedDuringRebuild = new HashMap<>();
+        }
+        Index rebuilt = new Index();
+        try {
+            int pageNumber = 0;
+            Page<Item> batch;
+            do {
+                batch = itemRepository.findAll(PageRequest.of(pageNumber++, REBUILD_BATCH_SIZE, Sort.by("id")));
+                batch.forEach(rebuilt::put);
+            } while (batch.hasNext());
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                updatedDuringRebuild = null;
+            }
+            throw e;
+        }
+        synchronized (this) {
+            updatedDuringRebuild.values().forEach(rebuilt::put);
+            updatedDuringRebuild = null;
+            index = rebuilt;
+        }
+        log.info("Item search index is built: {} available items, {} trigrams", rebuilt.items.size(), rebuilt.postings.size());
+    }
+
+    @Override
+    public List<Item> search(String text, Pageable page) {
+        return index.search(normalize(text), page);
+    }
+
+    @Override
+    public synchronized void index(Item item) {
+        if (updatedDuringRebuild != null) {
+            updatedDuringRebuild.put(item.getId(), item);
+        }
+        index.put(item);
+    }
+
+    @Override
+    public synchronized void remove(long itemId) {
+        if (updatedDuringRebuild != null) {
+            // the rebuild may have loaded the item before it was deleted, an unavailable version drops it on replay
+            updatedDuringRebuild.put(itemId, Item.builder().id(itemId).available(false).build());
+        }
+        index.remove(itemId);
+    }
+
+    private static boolean containsInAll(List<NavigableSet<Long>> filters, Long id) {
+        for (NavigableSet<Long> filter : filters) {
+            if (!filter.contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toUpperCase(Locale.ROOT);
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private static final class Index {
+
+        private final NavigableMap<Long, IndexedItem> items = new ConcurrentSkipListMap<>();
+        private final Map<String, NavigableSet<Long>> postings = new ConcurrentHashMap<>();
+
+        private List<Item> search(String query, Pageable page) {
+            NavigableSet<Long> candidates = items.navigableKeySet();
+            List<NavigableSet<Long>> filters = new ArrayList<>();
+            if (query.length() >= GRAM_LENGTH) {
+                for (String gram : grams(query)) {
+                    NavigableSet<Long> posting = postings.get(gram);
+                    if (posting == null) {
+                        return new ArrayList<>();
+                    }
+                    filters.add(posting);
+                }
+                filters.sort(Comparator.comparingInt(Set::size));
+                candidates = filters.remove(0);
+            }
+
+            List<Item> result = new ArrayList<>(page.getPageSize());
+            long toSkip = page.getOffset();
+            for (Long id : candidates) {
+                if (!containsInAll(filters, id)) {
+                    continue;
+                }
+                IndexedItem item = items.get(id);
+                if (item == null || !item.matches(query)) {
+                    continue;
+                }
+                if (toSkip > 0) {
+                    toSkip--;
+                    continue;
+                }
+                result.add(item.toItem());
+                if (result.size() == page.getPageSize()) {
+                    break;
+                }
+            }
+            return result;
+        }
+
+        // new postings go in before the item is replaced and stale ones are dropped after,
+        // so a reader never misses an item whose old and new text both match
+        private void put(Item item) {
+            if (!Boolean.TRUE.equals(item.getAvailable())) {
+                remove(item.getId());
+                return;
+            }
+            IndexedItem indexed = new IndexedItem(item);
+            Set<String> grams = indexed.grams();
+            grams.forEach(gram -> postings.computeIfAbsent(gram, g -> new ConcurrentSkipListSet<>()).add(item.getId()));
+            IndexedItem previous = items.put(item.getId(), indexed);
+            if (previous != null) {
+                previous.grams().stream()
+                        .filter(gram -> !grams.contains(gram))
+                        .forEach(gram -> removePosting(gram, item.getId()));
+            }
+        }
+
+        private void remove(long itemId) {
+            IndexedItem previous = items.remove(itemId);
+            if (previous != null) {
+                previous.grams().forEach(gram -> removePosting(gram, itemId));
+            }
+        }
+
+        private void removePosting(String gram, long itemId) {
+            postings.computeIfPresent(gram, (g, ids) -> {
+                ids.remove(itemId);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    private static final class IndexedItem {
+
+        private final long id;
+        private final String name;
+        private final String description;
+        private final Long ownerId;
+        private final String normalizedName;
+        private final String normalizedDescription;
+
+        private IndexedItem(Item item) {
+            this.id = item.getId();
+            this.name = item.getName();
+            this.description = item.getDescription();
+            this.ownerId = item.ownerId();
+            this.normalizedName = normalize(name);
+            this.normalizedDescription = normalize(description);
+        }
+
+        private boolean matches(String query) {
+            return normalizedName.contains(query) || normalizedDescription.contains(query);
+        }
+
+        private Set<String> grams() {
+            Set<String> grams = IndexItemSearchEngine.grams(normalizedName);
+            grams.addAll(IndexItemSearchEngine.grams(normalizedDescription));
+            return grams;
+        }
+
+        private Item toItem() {
+            return Item.builder()
+                    .id(id)
+                    .name(name)
+                    .description(description)
+                    .available(true)
+                    .owner(ownerId != null ? User.builder().id(ownerId).build() : null)
+                    .build();
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package ru.practicum.shareit.item.service;
 
 import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.comment.CommentDto;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 
 public interface ItemService {
@@ -21,4 +23,6 @@ public interface ItemService {
     ItemDto checkItemOwner(Long itemId, Long ownerId);
 
     CommentDto addCommentToItem(Long userId, Long itemId, CommentDto commentDto);
+
+    ItemAvailabilityDto getItemAvailability(long itemId, long userId, LocalDateTime from, LocalDateTime to);
 }
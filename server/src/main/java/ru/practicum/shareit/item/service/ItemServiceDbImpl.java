@@ -6,19 +6,25 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.booking.availability.ItemTimelineCache;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingLiteDto;
 import ru.practicum.shareit.booking.dto.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.EntityNotFoundException;
 
 import ru.practicum.shareit.exception.IncorrectDataException;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.comment.CommentDto;
 import ru.practicum.shareit.item.dto.comment.CommentMapper;
 import ru.practicum.shareit.item.dto.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.comment.Comment;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
@@ -27,6 +33,7 @@ import ru.practicum.shareit.validator.UserValidator;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.item.dto.comment.CommentMapper.toCommentDto;
@@ -38,12 +45,17 @@ import static ru.practicum.shareit.item.dto.mapper.ItemMapper.toItemDto;
 @RequiredArgsConstructor
 public class ItemServiceDbImpl implements ItemService {
 
+    private static final List<BookingStatus> EXCLUDED_BOOKING_STATUSES = List.of(BookingStatus.REJECTED, BookingStatus.CANCELED);
+    private static final Pageable FIRST_BOOKING = PageRequest.of(0, 1);
+
     private final ItemRepository itemRepository;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository itemRequestRepository;
     private final UserValidator userValidator;
     private final ItemValidator itemValidator;
+    private final ItemSearchEngine itemSearchEngine;
+    private final ItemTimelineCache itemTimelineCache;
 
 
     @Override
@@ -54,9 +66,13 @@ public class ItemServiceDbImpl implements ItemService {
         if (itemDto.getRequestId() != null) {
             ItemRequest request = itemRequestRepository.findById(itemDto.getRequestId())
                     .orElseThrow(() -> new EntityNotFoundException("There is no item request with id: " + itemDto.getRequestId()));
-            return toItemDtoWithRequestId(itemRepository.save(toItemDbWithRequest(itemDto, userFromDb, request)));
+            Item savedItem = itemRepository.save(toItemDbWithRequest(itemDto, userFromDb, request));
+            itemSearchEngine.index(savedItem);
+            return toItemDtoWithRequestId(savedItem);
         }
-        return toItemDto(itemRepository.save(toItemDb(itemDto, userFromDb)));
+        Item savedItem = itemRepository.save(toItemDb(itemDto, userFromDb));
+        itemSearchEngine.index(savedItem);
+        return toItemDto(savedItem);
     }
 
     @Override
@@ -65,6 +81,7 @@ public class ItemServiceDbImpl implements ItemService {
         userValidator.validateUserId(userId);
         Item itemToUpdate = toItemUpdate(itemDto, itemValidator.validateItemIdAndReturns(itemDto.getId()));
         itemRepository.save(itemToUpdate);
+        itemSearchEngine.index(itemToUpdate);
         return toItemDto(itemToUpdate);
     }
 
@@ -78,20 +95,16 @@ public class ItemServiceDbImpl implements ItemService {
                 .stream()
                 .map(CommentMapper::toCommentDto)
                 .collect(Collectors.toList());
-        List<BookingDto> bookingsForItem = getOwnerBooking(userId)
-                .stream()
-                .filter(x -> x.getItem().getId().equals(itemId))
-                .collect(Collectors.toList());
-
-        if (!bookingsForItem.isEmpty() && !commentsForItem.isEmpty()) {
-            return toItemDtoWithBookingsAndComments(itemFromDb, bookingsForItem, commentsForItem);
-        } else if (!bookingsForItem.isEmpty()) {
-            return toItemDtoWithBookings(itemFromDb, bookingsForItem);
-        } else if (!commentsForItem.isEmpty()) {
-            return toItemDtoWithComments(itemFromDb, commentsForItem);
-        } else {
-            return toItemDto(itemFromDb);
+        ItemDto itemDto = toItemDtoWithComments(itemFromDb, commentsForItem);
+
+        if (Objects.equals(itemFromDb.ownerId(), userId)) {
+            LocalDateTime now = LocalDateTime.now();
+            itemDto.setLastBooking(bookingRepository.findLastBookingsByItemId(itemId, now, EXCLUDED_BOOKING_STATUSES, FIRST_BOOKING)
+                    .stream().findFirst().orElse(null));
+            itemDto.setNextBooking(bookingRepository.findNextBookingsByItemId(itemId, now, EXCLUDED_BOOKING_STATUSES, FIRST_BOOKING)
+                    .stream().findFirst().orElse(null));
         }
+        return itemDto;
     }
 
     @Override
@@ -99,28 +112,33 @@ public class ItemServiceDbImpl implements ItemService {
         log.debug("Getting items by user Id : {} ", userId);
         userValidator.validateUserId(userId);
         Pageable pageForItems = PageRequest.of(page.getPageNumber(), page.getPageSize(), Sort.by(Sort.Direction.ASC, "id"));
-        Pageable pageForComments = PageRequest.of(page.getPageNumber(), page.getPageSize(), Sort.by(Sort.Direction.DESC, "created"));
 
-        List<Item> userItems = new ArrayList<>(itemRepository.findByOwner_Id(userId, pageForItems));
-        List<CommentDto> commentsToUserItems = commentRepository.findAllByItemsUserId(userId, pageForComments)
-                .stream().map(CommentMapper::toCommentDto).collect(Collectors.toList());
-        List<BookingDto> bookingsToUserItems = getOwnerBooking(userId);
-
-        Map<Item, List<BookingDto>> itemsWithBookingsMap = new HashMap<>();
-        Map<Item, List<CommentDto>> itemsWithCommentsMap = new HashMap<>();
-
-        for (Item i : userItems) {
-            itemsWithCommentsMap.put(i, commentsToUserItems.stream()
-                    .filter(c -> c.getItem().getId().equals(i.getId()))
-                    .collect(Collectors.toList()));
-            itemsWithBookingsMap.put(i, bookingsToUserItems.stream()
-                    .filter(b -> b.getItem().getId().equals(i.getId()))
-                    .collect(Collectors.toList()));
+        List<Item> userItems = itemRepository.findByOwner_Id(userId, pageForItems);
+        if (userItems.isEmpty()) {
+            return new ArrayList<>();
         }
+        List<Long> userItemsIds = userItems.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
 
-        List<ItemDto> results = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, BookingLiteDto> lastBookingsByItemId = bookingRepository
+                .findLastBookingsByItemIdIn(userItemsIds, now, EXCLUDED_BOOKING_STATUSES).stream()
+                .collect(Collectors.toMap(BookingLiteDto::getItemId, Function.identity(), ItemServiceDbImpl::byLatestId));
+        Map<Long, BookingLiteDto> nextBookingsByItemId = bookingRepository
+                .findNextBookingsByItemIdIn(userItemsIds, now, EXCLUDED_BOOKING_STATUSES).stream()
+                .collect(Collectors.toMap(BookingLiteDto::getItemId, Function.identity(), ItemServiceDbImpl::byLatestId));
+        Map<Long, List<CommentDto>> commentsByItemId = commentRepository
+                .findAllByItem_IdIn(userItemsIds, Sort.by(Sort.Direction.DESC, "created")).stream()
+                .collect(Collectors.groupingBy(Comment::itemId,
+                        Collectors.mapping(CommentMapper::toCommentDto, Collectors.toList())));
+
+        List<ItemDto> results = new ArrayList<>(userItems.size());
         for (Item i : userItems) {
-            results.add(toItemDtoWithBookingsAndComments(i, itemsWithBookingsMap.get(i), itemsWithCommentsMap.get(i)));
+            results.add(toItemDtoWithBookingsAndComments(i,
+                    lastBookingsByItemId.get(i.getId()),
+                    nextBookingsByItemId.get(i.getId()),
+                    commentsByItemId.getOrDefault(i.getId(), new ArrayList<>())));
         }
 
         return results;
@@ -132,7 +150,7 @@ public class ItemServiceDbImpl implements ItemService {
         if (text.isEmpty()) {
             return new ArrayList<>();
         }
-        return itemRepository.search(text, page).stream()
+        return itemSearchEngine.search(text, page).stream()
                 .map(ItemMapper::toItemDto)
                 .collect(Collectors.toList());
     }
@@ -163,16 +181,28 @@ public class ItemServiceDbImpl implements ItemService {
         if (bookings.isEmpty()) {
             throw new IncorrectDataException("This user has no booking");
         }
-        ItemDto item = getItemById(itemId, userId);
-        commentDto = toCommentDto(commentRepository.save(CommentMapper.toCommentDb(commentDto, author, toItem(item))));
+        Item item = itemValidator.validateItemIdAndReturns(itemId);
+        commentDto = toCommentDto(commentRepository.save(CommentMapper.toCommentDb(commentDto, author, item)));
         return commentDto;
     }
 
+    @Override
+    public ItemAvailabilityDto getItemAvailability(long itemId, long userId, LocalDateTime from, LocalDateTime to) {
+        log.debug("Getting availability of item: {} from {} to {}", itemId, from, to);
+        userValidator.validateUserId(userId);
+        itemValidator.validateItemId(itemId);
+        if (!from.isBefore(to)) {
+            throw new IncorrectDataException("Availability: 'from' must be before 'to'");
+        }
+        return ItemAvailabilityDto.builder()
+                .itemId(itemId)
+                .from(from)
+                .to(to)
+                .ranges(itemTimelineCache.get(itemId).ranges(from, to))
+                .build();
+    }
 
-    private List<BookingDto> getOwnerBooking(Long ownerId) {
-        return bookingRepository.findAllByItem_Owner_Id(ownerId)
-                .stream()
-                .map(BookingMapper::toBookingDto)
-                .collect(Collectors.toList());
+    private static BookingLiteDto byLatestId(BookingLiteDto first, BookingLiteDto second) {
+        return first.getId() >= second.getId() ? first : second;
     }
-}
\ No newline at end of file
+}
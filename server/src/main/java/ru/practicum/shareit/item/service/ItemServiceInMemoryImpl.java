@@ -3,17 +3,30 @@ package ru.practicum.shareit.item.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.availability.BookingAvailability;
+import ru.practicum.shareit.booking.availability.ItemTimeline;
+import ru.practicum.shareit.booking.repository.inmemory.BookingRepository;
 import ru.practicum.shareit.exception.EmptyFieldException;
+import ru.practicum.shareit.exception.EntityNotFoundException;
+import ru.practicum.shareit.exception.IncorrectDataException;
 import ru.practicum.shareit.exception.UnsupportedMethodException;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.comment.CommentDto;
 import ru.practicum.shareit.item.dto.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.inmemmory.CommentRepository;
 import ru.practicum.shareit.item.repository.inmemmory.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.inmemory.UserRepository;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.stream.Collectors;
 
+import static ru.practicum.shareit.item.dto.comment.CommentMapper.toCommentDb;
+import static ru.practicum.shareit.item.dto.comment.CommentMapper.toCommentDto;
 import static ru.practicum.shareit.item.dto.mapper.ItemMapper.*;
 
 @Slf4j
@@ -21,6 +34,9 @@ import static ru.practicum.shareit.item.dto.mapper.ItemMapper.*;
 public class ItemServiceInMemoryImpl implements ItemService {
 
     private final ItemRepository itemRepository;
+    private final CommentRepository commentRepository;
+    private final BookingRepository bookingRepository;
+    private final UserRepository userRepository;
 
     @Override
     public ItemDto create(ItemDto itemDto, long userId) {
@@ -73,7 +89,44 @@ public class ItemServiceInMemoryImpl implements ItemService {
 
     @Override
     public CommentDto addCommentToItem(Long userId, Long itemId, CommentDto commentDto) {
-        throw new UnsupportedMethodException("inMemory addCommentToItem");
+        log.debug("Adding a comment to itemId: {} by userId {}", itemId, userId);
+        User author = userRepository.getById(userId);
+        if (author == null) {
+            throw new EntityNotFoundException("There is no user : " + userId);
+        }
+        Item item = itemRepository.getItemById(itemId);
+        if (item == null) {
+            throw new EntityNotFoundException("There is no Item with Id: " + itemId);
+        }
+        if (commentDto.getText() == null || commentDto.getText().isEmpty()) {
+            throw new IncorrectDataException("Comment text cant be empty!");
+        }
+        commentDto.setCreated(LocalDateTime.now());
+        if (bookingRepository.findAllByUserIdAndItemIdAndEndDateIsPassed(userId, itemId, commentDto.getCreated()).isEmpty()) {
+            throw new IncorrectDataException("This user has no booking");
+        }
+        return toCommentDto(commentRepository.save(toCommentDb(commentDto, author, item)));
+    }
+
+    @Override
+    public ItemAvailabilityDto getItemAvailability(long itemId, long userId, LocalDateTime from, LocalDateTime to) {
+        log.debug("Getting availability of item: {} from {} to {}", itemId, from, to);
+        if (userRepository.getById(userId) == null) {
+            throw new EntityNotFoundException("There is no user : " + userId);
+        }
+        if (itemRepository.getItemById(itemId) == null) {
+            throw new EntityNotFoundException("There is no Item with Id: " + itemId);
+        }
+        if (!from.isBefore(to)) {
+            throw new IncorrectDataException("Availability: 'from' must be before 'to'");
+        }
+        return ItemAvailabilityDto.builder()
+                .itemId(itemId)
+                .from(from)
+                .to(to)
+                .ranges(ItemTimeline.of(bookingRepository.findAllByItemIdAndStatuses(itemId, BookingAvailability.ACTIVE_STATUSES))
+                        .ranges(from, to))
+                .build();
     }
 
 }
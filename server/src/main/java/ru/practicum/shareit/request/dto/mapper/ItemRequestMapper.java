@@ -46,6 +46,16 @@ public class ItemRequestMapper {
         return requestDto;
     }
 
+    public static ItemRequestDto toItemRequestDto(ItemRequest itemRequest, List<RequestItemDto> items) {
+        return ItemRequestDto.builder()
+                .id(itemRequest.getId())
+                .description(itemRequest.getDescription())
+                .created(itemRequest.getCreationDate())
+                .requester(itemRequest.getRequester() != null ? toUserDto(itemRequest.getRequester()) : null)
+                .items(items)
+                .build();
+    }
+
     public static RequestItemDto makeResultItemDto(Item item) {
         return RequestItemDto.builder()
                 .name(item.getName())
@@ -9,8 +9,9 @@ import java.util.List;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
 
+    @Query("select ir from ItemRequest ir join fetch ir.requester where ir.requester.id = :requesterId")
     List<ItemRequest> findAllByRequester_Id(Long requesterId);
 
-    @Query("select ir from ItemRequest ir where ir.requester.id != :userId")
+    @Query("select ir from ItemRequest ir join fetch ir.requester where ir.requester.id != :userId")
     List<ItemRequest> findAllByAllOtherUsers(Long userId, Pageable page);
 }
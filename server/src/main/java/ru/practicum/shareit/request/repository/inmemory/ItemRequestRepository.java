@@ -0,0 +1,20 @@
+package ru.practicum.shareit.request.repository.inmemory;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.request.model.ItemRequest;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface ItemRequestRepository {
+
+    ItemRequest save(ItemRequest request);
+
+    Optional<ItemRequest> findById(Long id);
+
+    void deleteById(Long id);
+
+    List<ItemRequest> findAllByRequester_Id(Long requesterId);
+
+    List<ItemRequest> findAllByAllOtherUsers(Long userId, Pageable page);
+}
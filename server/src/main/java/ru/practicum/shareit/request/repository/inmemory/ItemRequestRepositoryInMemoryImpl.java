@@ -0,0 +1,93 @@
+package ru.practicum.shareit.request.repository.inmemory;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.request.model.ItemRequest;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static ru.practicum.shareit.storage.InMemoryPaging.page;
+
+@Slf4j
+public class ItemRequestRepositoryInMemoryImpl implements ItemRequestRepository {
+
+    private static final Sort CREATION_DATE_DESC = Sort.by("creationDate").descending();
+    private static final Comparator<ItemRequest> BY_CREATION_DATE_DESC = Comparator
+            .comparing(ItemRequest::getCreationDate, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(ItemRequest::getId)
+            .reversed();
+
+    private final ConcurrentMap<Long, ItemRequest> requests = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, NavigableSet<Long>> requestIdsByRequester = new ConcurrentHashMap<>();
+    private final NavigableSet<ItemRequest> requestsByCreationDate = new ConcurrentSkipListSet<>(BY_CREATION_DATE_DESC);
+    private final AtomicLong requestId = new AtomicLong();
+
+    @Override
+    public synchronized ItemRequest save(ItemRequest request) {
+        log.debug("Saving item request: {}", request);
+        if (request.getId() == 0) {
+            request.setId(requestId.incrementAndGet());
+        } else {
+            requestId.accumulateAndGet(request.getId(), Math::max);
+        }
+        ItemRequest previous = requests.put(request.getId(), request);
+        if (previous != null) {
+            unindex(previous);
+        }
+        Long requesterId = requesterId(request);
+        if (requesterId != null) {
+            requestIdsByRequester.computeIfAbsent(requesterId, k -> new ConcurrentSkipListSet<>()).add(request.getId());
+        }
+        requestsByCreationDate.add(request);
+        return request;
+    }
+
+    @Override
+    public Optional<ItemRequest> findById(Long id) {
+        return Optional.ofNullable(requests.get(id));
+    }
+
+    @Override
+    public synchronized void deleteById(Long id) {
+        log.debug("Removing item request with id: {}", id);
+        ItemRequest previous = requests.remove(id);
+        if (previous != null) {
+            unindex(previous);
+        }
+    }
+
+    @Override
+    public List<ItemRequest> findAllByRequester_Id(Long requesterId) {
+        return requestIdsByRequester.getOrDefault(requesterId, Collections.emptyNavigableSet()).stream()
+                .map(requests::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<ItemRequest> findAllByAllOtherUsers(Long userId, Pageable page) {
+        return page(requestsByCreationDate.stream()
+                .filter(request -> requesterId(request) != null && !requesterId(request).equals(userId)), page, CREATION_DATE_DESC);
+    }
+
+    private void unindex(ItemRequest request) {
+        Long requesterId = requesterId(request);
+        if (requesterId != null) {
+            NavigableSet<Long> ids = requestIdsByRequester.get(requesterId);
+            if (ids != null) {
+                ids.remove(request.getId());
+            }
+        }
+        requestsByCreationDate.remove(request);
+    }
+
+    private Long requesterId(ItemRequest request) {
+        return request.getRequester() != null ? request.getRequester().getId() : null;
+    }
+}
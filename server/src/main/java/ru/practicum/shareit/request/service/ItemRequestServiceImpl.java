@@ -3,8 +3,9 @@ package ru.practicum.shareit.request.service;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.item.dto.RequestItemDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
-import ru.practicum.shareit.request.dto.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
@@ -12,7 +13,10 @@ import ru.practicum.shareit.validator.ItemRequestValidator;
 import ru.practicum.shareit.validator.UserValidator;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.request.dto.mapper.ItemRequestMapper.*;
@@ -22,6 +26,7 @@ import static ru.practicum.shareit.request.dto.mapper.ItemRequestMapper.*;
 public class ItemRequestServiceImpl implements ItemRequestService {
 
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemRepository itemRepository;
     private final UserValidator userValidator;
     private final ItemRequestValidator itemRequestValidator;
 
@@ -36,23 +41,34 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     public Collection<ItemRequestDto> getAllUserRequestsWithResponses(Long userId) {
         userValidator.validateUserId(userId);
-        return itemRequestRepository.findAllByRequester_Id(userId).stream()
-                .map(ItemRequestMapper::toItemRequestDto)
-                .collect(Collectors.toList());
+        return toItemRequestDtosWithItems(itemRequestRepository.findAllByRequester_Id(userId));
     }
 
     @Override
     public Collection<ItemRequestDto> getAllRequestsToResponse(Long userId, Pageable page) {
         userValidator.validateUserId(userId);
-        return itemRequestRepository.findAllByAllOtherUsers(userId, page).stream()
-                .map(ItemRequestMapper::toItemRequestDto)
-                .collect(Collectors.toList());
+        return toItemRequestDtosWithItems(itemRequestRepository.findAllByAllOtherUsers(userId, page));
     }
 
     @Override
     public ItemRequestDto getRequestById(Long userId, Long requestId) {
         userValidator.validateUserId(userId);
         ItemRequest request = itemRequestValidator.validateItemRequestIdAndReturns(requestId);
-        return toItemRequestDto(request);
+        return toItemRequestDto(request, itemRepository.findAllByRequest_IdIn(List.of(requestId)));
+    }
+
+    private List<ItemRequestDto> toItemRequestDtosWithItems(List<ItemRequest> requests) {
+        if (requests.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Long> requestsIds = requests.stream()
+                .map(ItemRequest::getId)
+                .collect(Collectors.toList());
+        Map<Long, List<RequestItemDto>> itemsByRequestId = itemRepository.findAllByRequest_IdIn(requestsIds).stream()
+                .collect(Collectors.groupingBy(RequestItemDto::getRequestId));
+
+        return requests.stream()
+                .map(request -> toItemRequestDto(request, itemsByRequestId.getOrDefault(request.getId(), new ArrayList<>())))
+                .collect(Collectors.toList());
     }
 }
@@ -0,0 +1,402 @@
+package ru.practicum.shareit.storage;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.*;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.*;
+
+@Slf4j
+public class InMemoryJournal<T> implements Closeable {
+
+    private static final int SNAPSHOT_MAGIC = 0x53495331;
+    private static final int SNAPSHOT_INITIAL_SIZE = 64 * 1024;
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final int RECORD_HEADER = Long.BYTES + 1;
+    private static final int RECORD_OVERHEAD = Integer.BYTES + RECORD_HEADER + Integer.BYTES;
+    private static final String SEGMENT_SUFFIX = ".wal";
+
+    private final Path directory;
+    private final String name;
+    private final JournalCodec<T> codec;
+    private final Duration fsyncInterval;
+    private final Duration snapshotInterval;
+    private final ReadWriteLock mutationLock = new ReentrantReadWriteLock();
+    private final Object appendLock = new Object();
+    private final Object snapshotLock = new Object();
+    private ScheduledExecutorService scheduler;
+    private Supplier<Collection<T>> state;
+    private FileChannel segment;
+    private long segmentNumber;
+    private long lastLsn;
+    private long snapshotLsn;
+    private boolean dirty;
+
+    public InMemoryJournal(Path directory, String name, JournalCodec<T> codec, Duration fsyncInterval,
+                           Duration snapshotInterval) {
+        this.directory = directory;
+        this.name = name;
+        this.codec = codec;
+        this.fsyncInterval = fsyncInterval;
+        this.snapshotInterval = snapshotInterval;
+    }
+
+    public static <T> InMemoryJournal<T> disabled() {
+        return new InMemoryJournal<>(null, null, null, Duration.ZERO, Duration.ZERO);
+    }
+
+    public boolean isEnabled() {
+        return directory != null;
+    }
+
+    public void recover(Consumer<T> put, LongConsumer delete, Supplier<Collection<T>> state) {
+        if (!isEnabled()) {
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+            snapshotLsn = loadSnapshot(put);
+            lastLsn = snapshotLsn;
+            List<Long> segments = segmentNumbers();
+            for (int i = 0; i < segments.size(); i++) {
+                replay(segments.get(i), i == segments.size() - 1, put, delete);
+            }
+            segmentNumber = segments.isEmpty() ? 1 : segments.get(segments.size() - 1);
+            segment = openSegment(segmentNumber);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to recover journal " + name, e);
+        }
+        this.state = state;
+        log.info("Recovered journal {}: snapshot lsn {}, last lsn {}", name, snapshotLsn, lastLsn);
+        startScheduler();
+    }
+
+    public void mutate(Runnable mutation) {
+        Lock lock = mutationLock.readLock();
+        lock.lock();
+        try {
+            mutation.run();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void put(T entity) {
+        if (!isEnabled()) {
+            return;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            codec.write(entity, new DataOutputStream(bytes));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        append(PUT, bytes.toByteArray());
+    }
+
+    public void delete(long id) {
+        if (!isEnabled()) {
+            return;
+        }
+        append(DELETE, ByteBuffer.allocate(Long.BYTES).putLong(id).array());
+    }
+
+    public void snapshot() {
+        if (!isEnabled() || state == null) {
+            return;
+        }
+        synchronized (snapshotLock) {
+            long lsn;
+            long sealedSegment;
+            List<T> entities;
+            Lock lock = mutationLock.writeLock();
+            lock.lock();
+            try {
+                synchronized (appendLock) {
+                    if (lastLsn == snapshotLsn) {
+                        return;
+                    }
+                    segment.force(false);
+                    segment.close();
+                    sealedSegment = segmentNumber;
+                    segment = openSegment(++segmentNumber);
+                    lsn = lastLsn;
+                    dirty = false;
+                }
+                entities = new ArrayList<>(state.get());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to rotate journal " + name, e);
+            } finally {
+                lock.unlock();
+            }
+            try {
+                writeSnapshot(lsn, entities);
+                snapshotLsn = lsn;
+                for (long number : segmentNumbers()) {
+                    if (number <= sealedSegment) {
+                        Files.deleteIfExists(segmentPath(number));
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to write snapshot of " + name, e);
+            }
+            log.debug("Journal {} snapshot at lsn {} with {} entries", name, lsn, entities.size());
+        }
+    }
+
+    @Override
+    public void close() {
+        if (!isEnabled()) {
+            return;
+        }
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        synchronized (appendLock) {
+            if (segment != null && segment.isOpen()) {
+                try {
+                    segment.force(false);
+                    segment.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+
+    private void append(byte operation, byte[] payload) {
+        synchronized (appendLock) {
+            long lsn = lastLsn + 1;
+            ByteBuffer record = ByteBuffer.allocate(RECORD_OVERHEAD + payload.length);
+            record.putInt(RECORD_HEADER + payload.length).putLong(lsn).put(operation).put(payload);
+            CRC32 crc = new CRC32();
+            crc.update(record.array(), Integer.BYTES, RECORD_HEADER + payload.length);
+            record.putInt((int) crc.getValue());
+            record.flip();
+            try {
+                while (record.hasRemaining()) {
+                    segment.write(record);
+                }
+                if (fsyncInterval.isZero()) {
+                    segment.force(false);
+                } else {
+                    dirty = true;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to append to journal " + name, e);
+            }
+            lastLsn = lsn;
+        }
+    }
+
+    private void sync() {
+        FileChannel channel;
+        synchronized (appendLock) {
+            if (!dirty) {
+                return;
+            }
+            dirty = false;
+            channel = segment;
+        }
+        try {
+            channel.force(false);
+        } catch (ClosedChannelException e) {
+            log.trace("Journal {} segment rotated before sync", name);
+        } catch (IOException e) {
+            log.error("Unable to sync journal {}", name, e);
+        }
+    }
+
+    private void replay(long number, boolean last, Consumer<T> put, LongConsumer delete) throws IOException {
+        Path path = segmentPath(number);
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        try (FileChannel channel = FileChannel.open(path, WRITE)) {
+            while (buffer.hasRemaining()) {
+                int start = buffer.position();
+                byte[] body = readRecord(buffer);
+                if (body == null) {
+                    if (!last) {
+                        throw new IllegalStateException("Journal " + name + " segment " + number
+                                + " has a corrupt record at " + start + " but is followed by newer segments");
+                    }
+                    log.warn("Journal {} segment {} has a torn record at {}, truncating", name, number, start);
+                    channel.truncate(start);
+                    channel.force(true);
+                    return;
+                }
+                ByteBuffer record = ByteBuffer.wrap(body);
+                long lsn = record.getLong();
+                byte operation = record.get();
+                if (lsn <= lastLsn) {
+                    continue;
+                }
+                if (operation == PUT) {
+                    put.accept(codec.read(new DataInputStream(
+                            new ByteArrayInputStream(body, RECORD_HEADER, body.length - RECORD_HEADER))));
+                } else if (operation == DELETE) {
+                    delete.accept(record.getLong());
+                }
+                lastLsn = lsn;
+            }
+        }
+    }
+
+    private byte[] readRecord(ByteBuffer buffer) {
+        if (buffer.remaining() < RECORD_OVERHEAD) {
+            return null;
+        }
+        int length = buffer.getInt();
+        if (length < RECORD_HEADER || length > buffer.remaining() - Integer.BYTES) {
+            return null;
+        }
+        byte[] body = new byte[length];
+        buffer.get(body);
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        return buffer.getInt() == (int) crc.getValue() ? body : null;
+    }
+
+    private long loadSnapshot(Consumer<T> put) throws IOException {
+        Path path = snapshotPath();
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        try (FileChannel channel = FileChannel.open(path, READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != SNAPSHOT_MAGIC) {
+                throw new IllegalStateException("Unknown snapshot format: " + path);
+            }
+            long lsn = buffer.getLong();
+            int count = buffer.getInt();
+            List<T> entities = new ArrayList<>(count);
+            CRC32 crc = new CRC32();
+            for (int i = 0; i < count; i++) {
+                byte[] entry = new byte[buffer.getInt()];
+                buffer.get(entry);
+                crc.update(entry);
+                entities.add(codec.read(new DataInputStream(new ByteArrayInputStream(entry))));
+            }
+            if (buffer.getInt() != (int) crc.getValue()) {
+                throw new IllegalStateException("Snapshot checksum mismatch: " + path);
+            }
+            entities.forEach(put);
+            return lsn;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalStateException("Truncated snapshot: " + path, e);
+        }
+    }
+
+    private void writeSnapshot(long lsn, List<T> entities) throws IOException {
+        Path temporary = directory.resolve(name + ".snapshot.tmp");
+        try (FileChannel channel = FileChannel.open(temporary, CREATE, TRUNCATE_EXISTING, READ, WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, SNAPSHOT_INITIAL_SIZE);
+            buffer.putInt(SNAPSHOT_MAGIC).putLong(lsn).putInt(entities.size());
+            CRC32 crc = new CRC32();
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            for (T entity : entities) {
+                bytes.reset();
+                codec.write(entity, out);
+                byte[] entry = bytes.toByteArray();
+                buffer = ensureCapacity(channel, buffer, Integer.BYTES + entry.length);
+                buffer.putInt(entry.length).put(entry);
+                crc.update(entry);
+            }
+            buffer = ensureCapacity(channel, buffer, Integer.BYTES);
+            buffer.putInt((int) crc.getValue());
+            int size = buffer.position();
+            buffer.force();
+            channel.truncate(size);
+            channel.force(true);
+        }
+        Files.move(temporary, snapshotPath(), REPLACE_EXISTING, ATOMIC_MOVE);
+    }
+
+    private MappedByteBuffer ensureCapacity(FileChannel channel, MappedByteBuffer buffer, int required)
+            throws IOException {
+        if (buffer.remaining() >= required) {
+            return buffer;
+        }
+        int position = buffer.position();
+        long capacity = Math.max((long) buffer.capacity() * 2, (long) position + required);
+        MappedByteBuffer grown = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        grown.position(position);
+        return grown;
+    }
+
+    private void startScheduler() {
+        if (fsyncInterval.isZero() && snapshotInterval.isZero()) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "journal-" + name);
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (!fsyncInterval.isZero()) {
+            long interval = fsyncInterval.toMillis();
+            scheduler.scheduleWithFixedDelay(this::sync, interval, interval, TimeUnit.MILLISECONDS);
+        }
+        if (!snapshotInterval.isZero()) {
+            long interval = snapshotInterval.toMillis();
+            scheduler.scheduleWithFixedDelay(() -> {
+                try {
+                    snapshot();
+                } catch (RuntimeException e) {
+                    log.error("Unable to snapshot journal {}", name, e);
+                }
+            }, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private FileChannel openSegment(long number) throws IOException {
+        FileChannel channel = FileChannel.open(segmentPath(number), CREATE, WRITE);
+        channel.position(channel.size());
+        return channel;
+    }
+
+    private List<Long> segmentNumbers() throws IOException {
+        String prefix = name + "-";
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(file -> file.startsWith(prefix) && file.endsWith(SEGMENT_SUFFIX))
+                    .map(file -> Long.parseLong(file.substring(prefix.length(), file.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private Path segmentPath(long number) {
+        return directory.resolve(String.format("%s-%06d%s", name, number, SEGMENT_SUFFIX));
+    }
+
+    private Path snapshotPath() {
+        return directory.resolve(name + ".snapshot");
+    }
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.storage;
+
+import org.springframework.beans.support.PropertyComparator;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public final class InMemoryPaging {
+
+    private InMemoryPaging() {
+    }
+
+    public static <T> List<T> page(Stream<T> elements, Pageable page, Sort indexOrder) {
+        elements = sort(elements, page.getSort(), indexOrder);
+        if (page.isPaged()) {
+            elements = elements.skip(page.getOffset()).limit(page.getPageSize());
+        }
+        return elements.collect(Collectors.toList());
+    }
+
+    public static <T> Stream<T> sort(Stream<T> elements, Sort sort, Sort indexOrder) {
+        if (sort.isUnsorted() || sort.equals(indexOrder)) {
+            return elements;
+        }
+        Comparator<T> comparator = (a, b) -> 0;
+        for (Sort.Order order : sort) {
+            comparator = comparator.thenComparing(
+                    new PropertyComparator<>(order.getProperty(), order.isIgnoreCase(), order.isAscending()));
+        }
+        return elements.sorted(comparator);
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.user.repository.inmemory;
+
+import ru.practicum.shareit.storage.JournalCodec;
+import ru.practicum.shareit.user.model.User;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import static ru.practicum.shareit.storage.JournalCodec.readString;
+import static ru.practicum.shareit.storage.JournalCodec.writeString;
+
+public class UserJournalCodec implements JournalCodec<User> {
+
+    @Override
+    public void write(User user, DataOutput out) throws IOException {
+        out.writeLong(user.getId());
+        writeString(out, user.getName());
+        writeString(out, user.getEmail());
+    }
+
+    @Override
+    public User read(DataInput in) throws IOException {
+        return User.builder()
+                .id(in.readLong())
+                .name(readString(in))
+                .email(readString(in))
+                .build();
+    }
+}
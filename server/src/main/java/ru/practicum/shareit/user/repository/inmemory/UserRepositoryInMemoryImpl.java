@@ -3,29 +3,60 @@ package ru.practicum.shareit.user.repository.inmemory;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import ru.practicum.shareit.exception.EmailIsAlreadyRegisteredException;
+import ru.practicum.shareit.exception.EntityNotFoundException;
+import ru.practicum.shareit.storage.InMemoryJournal;
 import ru.practicum.shareit.user.model.User;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 
 
 @Component
 @Slf4j
 public class UserRepositoryInMemoryImpl implements UserRepository {
 
-    private final Map<Long, User> users = new HashMap<>();
-    private final Set<String> uniqueEmailsSet = new HashSet<>();
-    private int userId = 0;
+    private static final int EMAIL_LOCK_STRIPES = 64;
+
+    private final ConcurrentMap<Long, User> users = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Long> userIdsByEmail = new ConcurrentHashMap<>();
+    private final ReentrantLock[] emailLocks = new ReentrantLock[EMAIL_LOCK_STRIPES];
+    private final AtomicLong userId = new AtomicLong();
+    private final InMemoryJournal<User> journal;
+
+    public UserRepositoryInMemoryImpl() {
+        this(InMemoryJournal.disabled());
+    }
+
+    public UserRepositoryInMemoryImpl(InMemoryJournal<User> journal) {
+        for (int i = 0; i < EMAIL_LOCK_STRIPES; i++) {
+            emailLocks[i] = new ReentrantLock();
+        }
+        this.journal = journal;
+        journal.recover(this::restore, this::forget, users::values);
+    }
 
     @Override
     public User create(User user) {
         log.debug("Creating user: {}", user);
-        user.setId(++userId);
-        if (!uniqueEmailsSet.add(user.getEmail())) {
-            --userId;
-            throw new EmailIsAlreadyRegisteredException("User with this email is already exists!");
+        ReentrantLock lock = emailLock(user.getEmail());
+        lock.lock();
+        try {
+            if (userIdsByEmail.containsKey(user.getEmail())) {
+                throw new EmailIsAlreadyRegisteredException("User with this email is already exists!");
+            }
+            journal.mutate(() -> {
+                user.setId(userId.incrementAndGet());
+                journal.put(user);
+                userIdsByEmail.put(user.getEmail(), user.getId());
+                users.put(user.getId(), user);
+            });
+            return user;
+        } finally {
+            lock.unlock();
         }
-        users.put(user.getId(), user);
-        return users.get(user.getId());
     }
 
     @Override
@@ -42,23 +73,100 @@ public class UserRepositoryInMemoryImpl implements UserRepository {
 
     @Override
     public User update(User user) {
-        if (!user.getEmail().equals(users.get(user.getId()).getEmail())) {
-            if (uniqueEmailsSet.add(user.getEmail())) {
-                uniqueEmailsSet.remove(users.get(user.getId()).getEmail());
-            } else {
-                throw new EmailIsAlreadyRegisteredException("User with this email is already exists!");
+        log.debug("Updating user with id: {}, user: {}", user.getId(), user);
+        while (true) {
+            String oldEmail = existing(user.getId()).getEmail();
+            ReentrantLock first = emailLock(oldEmail);
+            ReentrantLock second = emailLock(user.getEmail());
+            if (stripe(oldEmail) > stripe(user.getEmail())) {
+                ReentrantLock swap = first;
+                first = second;
+                second = swap;
+            }
+            first.lock();
+            second.lock();
+            try {
+                if (!oldEmail.equals(existing(user.getId()).getEmail())) {
+                    continue;
+                }
+                if (!user.getEmail().equals(oldEmail) && userIdsByEmail.containsKey(user.getEmail())) {
+                    throw new EmailIsAlreadyRegisteredException("User with this email is already exists!");
+                }
+                journal.mutate(() -> {
+                    journal.put(user);
+                    if (!user.getEmail().equals(oldEmail)) {
+                        userIdsByEmail.put(user.getEmail(), user.getId());
+                        userIdsByEmail.remove(oldEmail, user.getId());
+                    }
+                    users.put(user.getId(), user);
+                });
+                return user;
+            } finally {
+                second.unlock();
+                first.unlock();
             }
         }
-        log.debug("Updating user with id: {}, user: {}", user.getId(), user);
-
-        users.put(user.getId(), user);
-        return users.get(user.getId());
     }
 
     @Override
     public void delete(long id) {
         log.debug("Removing User with id : {}", id);
-        uniqueEmailsSet.remove(users.get(id).getEmail());
-        users.remove(id);
+        while (true) {
+            User user = users.get(id);
+            if (user == null) {
+                return;
+            }
+            ReentrantLock lock = emailLock(user.getEmail());
+            lock.lock();
+            try {
+                User current = users.get(id);
+                if (current == null) {
+                    return;
+                }
+                if (!current.getEmail().equals(user.getEmail())) {
+                    continue;
+                }
+                journal.mutate(() -> {
+                    journal.delete(id);
+                    userIdsByEmail.remove(current.getEmail(), id);
+                    users.remove(id);
+                });
+                return;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private User existing(long id) {
+        User user = users.get(id);
+        if (user == null) {
+            throw new EntityNotFoundException("There is no user : " + id);
+        }
+        return user;
+    }
+
+    private void restore(User user) {
+        User previous = users.put(user.getId(), user);
+        if (previous != null) {
+            userIdsByEmail.remove(previous.getEmail(), previous.getId());
+        }
+        userIdsByEmail.put(user.getEmail(), user.getId());
+        userId.accumulateAndGet(user.getId(), Math::max);
+    }
+
+    private void forget(long id) {
+        User previous = users.remove(id);
+        if (previous != null) {
+            userIdsByEmail.remove(previous.getEmail(), id);
+        }
+    }
+
+    private ReentrantLock emailLock(String email) {
+        return emailLocks[stripe(email)];
+    }
+
+    private int stripe(String email) {
+        return (Objects.hashCode(email) & Integer.MAX_VALUE) % EMAIL_LOCK_STRIPES;
     }
 }
@@ -3,13 +3,19 @@ package ru.practicum.shareit.user.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.validator.UserValidator;
 
+import javax.persistence.EntityManagerFactory;
 import java.util.Collection;
+import java.util.List;
 import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.user.dto.mapper.UserMapper.*;
@@ -21,6 +27,9 @@ public class UserServiceDbImpl implements UserService {
 
     private final UserRepository userRepository;
     private final UserValidator userValidator;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ItemRepository itemRepository;
+    private final ItemSearchEngine itemSearchEngine;
 
     @Override
     public UserDto create(UserDto userDto) {
@@ -56,6 +65,11 @@ public class UserServiceDbImpl implements UserService {
     public void delete(long id) {
         User userFromDb = userValidator.validateUserIdAndReturn(id);
         log.debug("Deleting user by id: {}", id);
+        // the database cascades to requests and to items (including other owners' items answering those requests)
+        List<Long> cascadedItemIds = itemRepository.findIdsByOwnerIdOrRequesterId(userFromDb.getId());
         userRepository.deleteById(userFromDb.getId());
+        entityManagerFactory.getCache().evict(Item.class);
+        entityManagerFactory.getCache().evict(ItemRequest.class);
+        cascadedItemIds.forEach(itemSearchEngine::remove);
     }
 }
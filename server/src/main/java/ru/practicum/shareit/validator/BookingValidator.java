@@ -14,6 +14,7 @@ import ru.practicum.shareit.exception.UnsupportedStatusException;
 public class BookingValidator {
 
     private final BookingRepository repository;
+    private final RequestEntityCache entityCache;
 
     public void validateBookingState(String state) {
         String result = BookingState.checkState(state);
@@ -26,7 +27,7 @@ public class BookingValidator {
         if (bookingId < 0) {
             throw new IncorrectDataException("There is no booking with header-Id : " + bookingId);
         }
-        repository.findById(bookingId)
+        entityCache.find(Booking.class, bookingId, repository::findById)
                 .orElseThrow(() -> new EntityNotFoundException("There is no Booking with Id: " + bookingId));
     }
 
@@ -34,7 +35,7 @@ public class BookingValidator {
         if (bookingId < 0) {
             throw new IncorrectDataException("There is no booking with header-Id : " + bookingId);
         }
-        return repository.findById(bookingId)
+        return entityCache.find(Booking.class, bookingId, repository::findById)
                 .orElseThrow(() -> new EntityNotFoundException("There is no Booking with Id: " + bookingId));
     }
 
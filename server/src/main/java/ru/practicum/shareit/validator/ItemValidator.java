@@ -15,12 +15,13 @@ import ru.practicum.shareit.item.repository.ItemRepository;
 public class ItemValidator {
 
     private final ItemRepository repository;
+    private final RequestEntityCache entityCache;
 
     public void validateItemId(long itemId) {
         if (itemId < 0) {
             throw new IncorrectDataException("There is no item with id less than 0 : " + itemId);
         }
-        repository.findById(itemId)
+        entityCache.find(Item.class, itemId, repository::findById)
                 .orElseThrow(() -> new EntityNotFoundException("There is no Item with Id: " + itemId));
     }
 
@@ -28,7 +29,7 @@ public class ItemValidator {
         if (itemId < 0) {
             throw new IncorrectDataException("There is no item with id less than 0 : " + itemId);
         }
-        return repository.findById(itemId)
+        return entityCache.find(Item.class, itemId, repository::findById)
                 .orElseThrow(() -> new EntityNotFoundException("There is no Item with Id: " + itemId));
     }
 
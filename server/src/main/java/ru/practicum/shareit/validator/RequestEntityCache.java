@@ -0,0 +1,64 @@
+package ru.practicum.shareit.validator;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+@Component
+public class RequestEntityCache implements MeterBinder {
+
+    private final ThreadLocal<Map<Class<?>, Map<Long, Object>>> entities = new ThreadLocal<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong loads = new AtomicLong();
+
+    public void open() {
+        entities.set(new HashMap<>());
+    }
+
+    public void close() {
+        entities.remove();
+    }
+
+    public <T> Optional<T> find(Class<T> type, long id, Function<Long, Optional<T>> loader) {
+        Map<Class<?>, Map<Long, Object>> scope = entities.get();
+        if (scope == null) {
+            loads.incrementAndGet();
+            return loader.apply(id);
+        }
+        Map<Long, Object> byId = scope.computeIfAbsent(type, key -> new HashMap<>());
+        Object cached = byId.get(id);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return Optional.of(type.cast(cached));
+        }
+        loads.incrementAndGet();
+        Optional<T> loaded = loader.apply(id);
+        loaded.ifPresent(entity -> byId.put(id, entity));
+        return loaded;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getLoads() {
+        return loads.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("shareit.entity.cache.hits", hits, AtomicLong::get)
+                .description("Entity lookups served from the request scope")
+                .register(registry);
+        FunctionCounter.builder("shareit.entity.cache.loads", loads, AtomicLong::get)
+                .description("Entity lookups that went to the repository")
+                .register(registry);
+    }
+}
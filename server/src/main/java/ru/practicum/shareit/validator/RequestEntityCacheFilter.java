@@ -0,0 +1,29 @@
+package ru.practicum.shareit.validator;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+@Component
+@RequiredArgsConstructor
+public class RequestEntityCacheFilter extends OncePerRequestFilter {
+
+    private final RequestEntityCache requestEntityCache;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        requestEntityCache.open();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            requestEntityCache.close();
+        }
+    }
+}
@@ -15,12 +15,13 @@ import ru.practicum.shareit.user.repository.UserRepository;
 public class UserValidator {
 
     private final UserRepository repository;
+    private final RequestEntityCache entityCache;
 
     public  void validateUserId(long userId) {
         if (userId == -1) {
             throw new IncorrectDataException("There is no user with header-Id : " + userId);
         }
-        repository.findById(userId)
+        entityCache.find(User.class, userId, repository::findById)
                 .orElseThrow(() -> new EntityNotFoundException("There is no user : " + userId));
     }
 
@@ -28,7 +29,7 @@ public class UserValidator {
         if (userId == -1) {
             throw new IncorrectDataException("There is no user with header-Id : " + userId);
         }
-        return  repository.findById(userId)
+        return  entityCache.find(User.class, userId, repository::findById)
                 .orElseThrow(() -> new EntityNotFoundException("There is no user : " + userId));
     }
 
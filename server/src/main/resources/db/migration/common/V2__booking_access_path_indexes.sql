@@ -0,0 +1,16 @@
+-- BookingRepository: findAllByBookerIdAnd{Waiting,Rejected}Status, order by start desc
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_status_start ON bookings (booker_id, status, start_date DESC, id DESC);
+-- BookingRepository: findAllByUserIdAndItemIdAndEndDateIsPassed
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_item_end ON bookings (booker_id, item_id, end_date);
+-- BookingRepository: findActiveBookingsByItemId, existsOverlappingBooking
+CREATE INDEX IF NOT EXISTS idx_bookings_item_end ON bookings (item_id, end_date);
+
+-- CommentRepository: findAllByItem_Id, findAllByItem_IdIn, findAllByItemsUserId (via idx_items_owner)
+CREATE INDEX IF NOT EXISTS idx_comments_item_created ON comments (item_id, created DESC);
+
+-- ItemRepository: findAllByRequest_IdIn
+CREATE INDEX IF NOT EXISTS idx_items_request ON items (request_id);
+
+-- ItemRequestRepository: findAllByRequester_Id, findAllByAllOtherUsers order by creation_date desc
+CREATE INDEX IF NOT EXISTS idx_requests_requester_created ON requests (requester_id, creation_date DESC);
+CREATE INDEX IF NOT EXISTS idx_requests_created ON requests (creation_date DESC, id DESC);
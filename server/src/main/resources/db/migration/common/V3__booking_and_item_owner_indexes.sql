@@ -0,0 +1,11 @@
+-- added to database/schema.sql after the baseline, so databases created from it may already have them
+
+-- ItemRepository: findByOwner_Id, existsByOwner_Id; owner booking queries join items on owner_id
+CREATE INDEX IF NOT EXISTS idx_items_owner ON items (owner_id, id);
+
+-- BookingRepository: findAllByBooker_Id and the booker keyset pages, order by start desc, id desc
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start ON bookings (booker_id, start_date DESC, id DESC);
+-- BookingRepository: findLastBookingsByItemId(In), findNextBookingsByItemId(In)
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start ON bookings (item_id, start_date DESC, id DESC);
+-- BookingRepository: findAllByItemIdAndStatuses, existsOverlappingBooking
+CREATE INDEX IF NOT EXISTS idx_bookings_item_status ON bookings (item_id, status, start_date DESC);
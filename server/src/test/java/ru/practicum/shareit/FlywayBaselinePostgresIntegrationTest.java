@@ -0,0 +1,141 @@
+package ru.practicum.shareit;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@EnabledIfSystemProperty(named = PostgresTestDatabase.URL_PROPERTY, matches = ".+")
+class FlywayBaselinePostgresIntegrationTest {
+
+    private static final String USERNAME = System.getProperty("shareit.test.postgres.username", "postgres");
+    private static final String PASSWORD = System.getProperty("shareit.test.postgres.password", "");
+    private static final Pattern CREATE_INDEX = Pattern.compile("CREATE INDEX IF NOT EXISTS (\\w+)");
+
+    private String database;
+    private String url;
+
+    @BeforeEach
+    public void createDatabase() throws SQLException {
+        database = "shareit_baseline_" + System.nanoTime();
+        String adminUrl = System.getProperty(PostgresTestDatabase.URL_PROPERTY);
+        url = adminUrl.replaceFirst("/[^/?]*(\\?|$)", "/" + database + "$1");
+        execute(adminUrl, "CREATE DATABASE " + database);
+    }
+
+    @AfterEach
+    public void dropDatabase() throws SQLException {
+        execute(System.getProperty(PostgresTestDatabase.URL_PROPERTY), "DROP DATABASE IF EXISTS " + database);
+    }
+
+    @Test
+    void migrate_whenDatabaseIsEmpty_thenApplyAllMigrations() throws Exception {
+        flyway().migrate();
+
+        assertEquals(flyway().info().current().getVersion().getVersion(), "3");
+        assertEquals(count("select count(*) from pg_constraint where conname = 'ex_booking_item_period'"), 1);
+        assertMigrationIndexesExist();
+    }
+
+    @Test
+    void migrate_whenLegacySchemaWithoutOverlapConstraint_thenApplyPostgresMigrations() throws Exception {
+        execute(url, legacySchema());
+
+        flyway().migrate();
+
+        assertEquals(flyway().info().current().getVersion().getVersion(), "3");
+        assertEquals(count("select count(*) from pg_constraint where conname = 'ex_booking_item_period'"), 1);
+        assertMigrationIndexesExist();
+    }
+
+    @Test
+    void migrate_whenLegacySchemaAlreadyHasOverlapConstraint_thenSkipIt() throws Exception {
+        execute(url, legacySchema());
+        execute(url, "CREATE EXTENSION IF NOT EXISTS btree_gist;"
+                + "ALTER TABLE bookings ADD CONSTRAINT ex_booking_item_period EXCLUDE USING gist "
+                + "(item_id WITH =, tsrange(start_date, end_date) WITH &&) WHERE (status IN ('WAITING', 'APPROVED'))");
+
+        flyway().migrate();
+
+        assertEquals(flyway().info().current().getVersion().getVersion(), "3");
+        assertEquals(count("select count(*) from pg_constraint where conname = 'ex_booking_item_period'"), 1);
+        assertMigrationIndexesExist();
+    }
+
+    private Flyway flyway() throws IOException {
+        Properties properties = PropertiesLoaderUtils.loadProperties(new ClassPathResource("application.properties"));
+        return Flyway.configure()
+                .dataSource(url, USERNAME, PASSWORD)
+                .locations(properties.getProperty("spring.flyway.locations")
+                        .replace("{vendor}", "postgresql")
+                        .split(","))
+                .baselineOnMigrate(Boolean.parseBoolean(properties.getProperty("spring.flyway.baseline-on-migrate")))
+                .baselineVersion(properties.getProperty("spring.flyway.baseline-version"))
+                .load();
+    }
+
+    // database/schema.sql as it was before Flyway: the tables only, without any of the migration indexes
+    private static String legacySchema() throws IOException {
+        return read(new ClassPathResource("db/legacy-schema.sql"));
+    }
+
+    private void assertMigrationIndexesExist() throws IOException, SQLException {
+        List<String> indexes = new ArrayList<>();
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+        for (String location : new String[]{"db/migration/common", "db/migration/postgresql"}) {
+            for (Resource migration : resolver.getResources("classpath:" + location + "/*.sql")) {
+                Matcher matcher = CREATE_INDEX.matcher(read(migration));
+                while (matcher.find()) {
+                    indexes.add(matcher.group(1));
+                }
+            }
+        }
+
+        assertFalse(indexes.isEmpty());
+        for (String index : indexes) {
+            assertEquals(count("select count(*) from pg_indexes where indexname = '" + index + "'"), 1, index);
+        }
+    }
+
+    private static String read(Resource resource) throws IOException {
+        return StreamUtils.copyToString(resource.getInputStream(), StandardCharsets.UTF_8);
+    }
+
+    private long count(String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, USERNAME, PASSWORD);
+             Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery(sql)) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+
+    private static void execute(String url, String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, USERNAME, PASSWORD);
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
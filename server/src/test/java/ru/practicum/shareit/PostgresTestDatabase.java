@@ -0,0 +1,19 @@
+package ru.practicum.shareit;
+
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+public final class PostgresTestDatabase {
+
+    public static final String URL_PROPERTY = "shareit.test.postgres.url";
+
+    private PostgresTestDatabase() {
+    }
+
+    public static void register(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getProperty(URL_PROPERTY));
+        registry.add("spring.datasource.username", () -> System.getProperty("shareit.test.postgres.username", "postgres"));
+        registry.add("spring.datasource.password", () -> System.getProperty("shareit.test.postgres.password", ""));
+        registry.add("spring.datasource.driverClassName", () -> "org.postgresql.Driver");
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.PostgreSQL10Dialect");
+    }
+}
@@ -0,0 +1,160 @@
+package ru.practicum.shareit;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:query-plan;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "ru.practicum.shareit.RepositoryQueryPlanTest$CapturingStatementInspector"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class RepositoryQueryPlanTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 1, 12, 0);
+    private static final PageRequest PAGE = PageRequest.of(0, 10, Sort.by("start").descending());
+    private static final List<BookingStatus> ACTIVE = List.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+    private static final List<BookingStatus> REJECTED = List.of(BookingStatus.REJECTED, BookingStatus.CANCELED);
+    private static final List<String> CAPTURED = new ArrayList<>();
+
+    @Autowired
+    BookingRepository bookingRepository;
+
+    @Autowired
+    CommentRepository commentRepository;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void dropForeignKeys() {
+        // H2 silently indexes foreign key columns, PostgreSQL does not
+        jdbcTemplate.queryForList("select table_name, constraint_name from information_schema.table_constraints "
+                        + "where constraint_type = 'FOREIGN KEY'")
+                .forEach(row -> jdbcTemplate.execute("ALTER TABLE " + row.get("table_name")
+                        + " DROP CONSTRAINT " + row.get("constraint_name")));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositoryQueries")
+    void explain_whenRepositoryQuery_thenNoSequentialScan(String query, Consumer<RepositoryQueryPlanTest> call) {
+        List<String> statements;
+        synchronized (CAPTURED) {
+            CAPTURED.clear();
+            call.accept(this);
+            statements = new ArrayList<>(CAPTURED);
+        }
+
+        assertFalse(statements.isEmpty(), query + " issued no SQL");
+        for (String sql : statements) {
+            String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+            assertFalse(plan.contains("tableScan"), query + " scans a whole table:\n" + plan);
+        }
+    }
+
+    static Stream<Arguments> repositoryQueries() {
+        return Stream.of(
+                query("BookingRepository.findAllByBooker_Id", t -> t.bookingRepository.findAllByBooker_Id(1L, PAGE)),
+                query("BookingRepository.findLastBookingsByItemIdIn",
+                        t -> t.bookingRepository.findLastBookingsByItemIdIn(List.of(1L, 2L, 3L), NOW, REJECTED)),
+                query("BookingRepository.findNextBookingsByItemIdIn",
+                        t -> t.bookingRepository.findNextBookingsByItemIdIn(List.of(1L, 2L, 3L), NOW, REJECTED)),
+                query("BookingRepository.findLastBookingsByItemId",
+                        t -> t.bookingRepository.findLastBookingsByItemId(1L, NOW, REJECTED, PageRequest.of(0, 1))),
+                query("BookingRepository.findNextBookingsByItemId",
+                        t -> t.bookingRepository.findNextBookingsByItemId(1L, NOW, REJECTED, PageRequest.of(0, 1))),
+                query("BookingRepository.existsOverlappingBooking",
+                        t -> t.bookingRepository.existsOverlappingBooking(1L, ACTIVE, NOW, NOW.plusDays(1))),
+                query("BookingRepository.findActiveBookingsByItemId",
+                        t -> t.bookingRepository.findActiveBookingsByItemId(1L, ACTIVE, NOW)),
+                query("BookingRepository.findAllByItemIdAndStatuses",
+                        t -> t.bookingRepository.findAllByItemIdAndStatuses(1L, ACTIVE)),
+                query("BookingRepository.findAllByUserIdAndItemIdAndEndDateIsPassed",
+                        t -> t.bookingRepository.findAllByUserIdAndItemIdAndEndDateIsPassed(2L, 1L, NOW)),
+                query("BookingRepository.findAllByOwnerId", t -> t.bookingRepository.findAllByOwnerId(1L, PAGE)),
+                query("BookingRepository.findAllByOwnerIdAndWaitingStatus",
+                        t -> t.bookingRepository.findAllByOwnerIdAndWaitingStatus(1L, BookingStatus.WAITING, PAGE)),
+                query("BookingRepository.findAllByOwnerIdAndRejectedStatus",
+                        t -> t.bookingRepository.findAllByOwnerIdAndRejectedStatus(1L, REJECTED, PAGE)),
+                query("BookingRepository.findAllByOwnerIdAndCurrentStatus",
+                        t -> t.bookingRepository.findAllByOwnerIdAndCurrentStatus(1L, NOW, PAGE)),
+                query("BookingRepository.findAllByOwnerIdAndFutureStatus",
+                        t -> t.bookingRepository.findAllByOwnerIdAndFutureStatus(1L, NOW, PAGE)),
+                query("BookingRepository.findAllByOwnerIdAndPastStatus",
+                        t -> t.bookingRepository.findAllByOwnerIdAndPastStatus(1L, NOW, PAGE)),
+                query("BookingRepository.findAllByBookerIdAndWaitingStatus",
+                        t -> t.bookingRepository.findAllByBookerIdAndWaitingStatus(1L, BookingStatus.WAITING, PAGE)),
+                query("BookingRepository.findAllByBookerIdAndRejectedStatus",
+                        t -> t.bookingRepository.findAllByBookerIdAndRejectedStatus(1L, REJECTED, PAGE)),
+                query("BookingRepository.findAllByBookerIdAndCurrentStatus",
+                        t -> t.bookingRepository.findAllByBookerIdAndCurrentStatus(1L, NOW, PAGE)),
+                query("BookingRepository.findAllByBookerIdAndFutureStatus",
+                        t -> t.bookingRepository.findAllByBookerIdAndFutureStatus(1L, NOW, PAGE)),
+                query("BookingRepository.findAllByBookerIdAndPastStatus",
+                        t -> t.bookingRepository.findAllByBookerIdAndPastStatus(1L, NOW, PAGE)),
+                query("BookingSeekRepository.findAllByBookerIdAfter", t -> t.bookingRepository
+                        .findAllByBookerIdAfter(1L, BookingState.ALL, NOW, new BookingCursor(NOW, 10L), 10)),
+                query("BookingSeekRepository.findAllByOwnerIdAfter", t -> t.bookingRepository
+                        .findAllByOwnerIdAfter(1L, BookingState.ALL, NOW, new BookingCursor(NOW, 10L), 10)),
+                query("CommentRepository.findAllByItem_Id", t -> t.commentRepository.findAllByItem_Id(1L)),
+                query("CommentRepository.findAllByItem_IdIn", t -> t.commentRepository
+                        .findAllByItem_IdIn(List.of(1L, 2L, 3L), Sort.by("created").descending())),
+                query("CommentRepository.findAllByItemsUserId",
+                        t -> t.commentRepository.findAllByItemsUserId(1L, PageRequest.of(0, 10))),
+                query("ItemRepository.findByOwner_Id",
+                        t -> t.itemRepository.findByOwner_Id(1L, PageRequest.of(0, 10, Sort.by("id")))),
+                query("ItemRepository.existsByOwner_Id", t -> t.itemRepository.existsByOwner_Id(1L)),
+                query("ItemRepository.findAllByRequest_IdIn", t -> t.itemRepository.findAllByRequest_IdIn(List.of(1L, 2L, 3L))),
+                query("ItemRequestRepository.findAllByRequester_Id", t -> t.itemRequestRepository.findAllByRequester_Id(1L)),
+                query("ItemRequestRepository.findAllByAllOtherUsers",
+                        t -> t.itemRequestRepository.findAllByAllOtherUsers(1L,
+                                PageRequest.of(0, 10, Sort.by("creationDate").descending())))
+        );
+    }
+
+    private static Arguments query(String name, Consumer<RepositoryQueryPlanTest> call) {
+        return Arguments.of(name, call);
+    }
+
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        @Override
+        public String inspect(String sql) {
+            synchronized (CAPTURED) {
+                CAPTURED.add(sql);
+            }
+            return sql;
+        }
+    }
+}
@@ -14,6 +14,9 @@ import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.validator.PageableValidator;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -105,6 +108,35 @@ class BookingControllerTest {
         verify(bookingService, times(1)).getAllBookingsByOwnerId(1L, "ALL", PageRequest.of(1, 1));
     }
 
+    @SneakyThrows
+    @Test
+    void getAllBookingsForUser_whenCursorModeAndPageIsFull_thenReturnNextCursor() {
+        BookingDto booking = BookingDto.builder()
+                .id(5L)
+                .start(LocalDateTime.of(2030, 1, 1, 12, 0))
+                .build();
+        when(bookingService.getAllBookingsByUserIdAfter(1L, "ALL", "", 1)).thenReturn(List.of(booking));
+
+        mockMvc.perform(get("/bookings")
+                        .param("size", "1")
+                        .param("after", "")
+                        .header("X-Sharer-User-Id", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "2030-01-01T12:00,5"));
+    }
+
+    @SneakyThrows
+    @Test
+    void getAllBookingsForOwner_whenCursorModeAndPageIsNotFull_thenReturnNoCursor() {
+        when(bookingService.getAllBookingsByOwnerIdAfter(1L, "ALL", "2030-01-01T12:00,5", 10)).thenReturn(List.of());
+
+        mockMvc.perform(get("/bookings/owner")
+                        .param("after", "2030-01-01T12:00,5")
+                        .header("X-Sharer-User-Id", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
     @SneakyThrows
     @Test
     void getInfoForBooking() {
@@ -0,0 +1,136 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.PostgresTestDatabase;
+import ru.practicum.shareit.booking.availability.BookingAvailability;
+import ru.practicum.shareit.booking.availability.ItemTimelineCache;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.exception.IncorrectDataException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.validator.BookingValidator;
+import ru.practicum.shareit.validator.ItemValidator;
+import ru.practicum.shareit.validator.RequestEntityCache;
+import ru.practicum.shareit.validator.UserValidator;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({BookingServiceImpl.class, UserValidator.class, BookingValidator.class, ItemTimelineCache.class,
+        RequestEntityCache.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = PostgresTestDatabase.URL_PROPERTY, matches = ".+")
+class BookingOverlapPostgresIntegrationTest {
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        PostgresTestDatabase.register(registry);
+    }
+
+    @MockBean
+    BookingAvailability bookingAvailability;
+
+    @MockBean
+    ItemValidator itemValidator;
+
+    @Autowired
+    BookingService bookingService;
+
+    @Autowired
+    BookingRepository bookingRepository;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    private User owner;
+    private User booker;
+    private Item item;
+
+    @BeforeEach
+    public void addItem() {
+        owner = userRepository.save(User.builder().name("owner").email("owner" + System.nanoTime() + "@mail.ru").build());
+        booker = userRepository.save(User.builder().name("booker").email("booker" + System.nanoTime() + "@mail.ru").build());
+        item = itemRepository.save(Item.builder().name("Drill").description("drill").available(true).owner(owner).build());
+    }
+
+    @AfterEach
+    public void removeItem() {
+        bookingRepository.deleteAll(bookingRepository.findAllByBooker_Id(booker.getId(), null));
+        itemRepository.deleteById(item.getId());
+        userRepository.deleteById(booker.getId());
+        userRepository.deleteById(owner.getId());
+    }
+
+    @Test
+    void addBooking_whenExclusionConstraintRejectsOverlap_thenThrowIncorrectDataException() {
+        when(itemValidator.validateItemIdAndReturns(anyLong())).thenReturn(item);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        bookingService.addBooking(booking(start, start.plusDays(2)), booker.getId());
+
+        IncorrectDataException exception = assertThrows(IncorrectDataException.class,
+                () -> bookingService.addBooking(booking(start.plusDays(1), start.plusDays(3)), booker.getId()));
+
+        assertEquals(exception.getMessage(), "Booking: Item is already booked for these dates");
+    }
+
+    @Test
+    void approveBooking_whenRejectedBookingOverlapsNewBooking_thenThrowIncorrectDataException() {
+        when(itemValidator.validateItemIdAndReturns(anyLong())).thenReturn(item);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        BookingDto rejected = bookingService.addBooking(booking(start, start.plusDays(2)), booker.getId());
+        bookingService.approveBooking(rejected.getId(), owner.getId(), "false");
+        bookingService.addBooking(booking(start.plusDays(1), start.plusDays(3)), booker.getId());
+
+        IncorrectDataException exception = assertThrows(IncorrectDataException.class,
+                () -> bookingService.approveBooking(rejected.getId(), owner.getId(), "true"));
+
+        assertEquals(exception.getMessage(), "Booking: Item is already booked for these dates");
+    }
+
+    @Test
+    void addBooking_whenItemIsDeletedAfterValidation_thenRethrowIntegrityViolation() {
+        Item deleted = Item.builder().id(Long.MAX_VALUE).name("Gone").available(true).owner(owner).build();
+        when(itemValidator.validateItemIdAndReturns(anyLong())).thenReturn(deleted);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> bookingService.addBooking(booking(start, start.plusDays(1)), booker.getId()));
+    }
+
+    private BookingDto booking(LocalDateTime start, LocalDateTime end) {
+        return BookingDto.builder()
+                .itemId(item.getId())
+                .start(start)
+                .end(end)
+                .build();
+    }
+}
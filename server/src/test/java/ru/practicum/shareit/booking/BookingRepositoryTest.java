@@ -5,11 +5,15 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingLiteDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.item.model.Item;
@@ -40,6 +44,9 @@ class BookingRepositoryTest {
     @Autowired
     ItemRepository itemRepository;
 
+    @Autowired
+    TestEntityManager entityManager;
+
     @BeforeEach
     public void addRequests() {
         User booker = User.builder()
@@ -141,10 +148,125 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void findAllByItemOwnerId_whenOwnerHasSixBookings_returnListOfSixBookings() {
-        List<Booking> ownerBookings = bookingRepository.findAllByItem_Owner_Id(ownerId);
+    void findLastBookingsByItemIdIn_whenItemHasWaitingBookingInPast_thenReturnOneRowPerItem() {
+        List<BookingLiteDto> lastBookings = bookingRepository.findLastBookingsByItemIdIn(List.of(itemId), LocalDateTime.now(),
+                List.of(BookingStatus.REJECTED, BookingStatus.CANCELED));
 
-        assertEquals(ownerBookings.size(), 6);
+        assertEquals(lastBookings.size(), 1);
+        assertEquals(lastBookings.get(0).getStatus(), BookingStatus.WAITING);
+        assertEquals(lastBookings.get(0).getItemId(), itemId);
+    }
+
+    @Test
+    void findNextBookingsByItemIdIn_whenOnlySecondItemHasFutureBooking_thenReturnItsClosestBooking() {
+        User owner = userRepository.findById(ownerId).orElseThrow();
+        Item secondItem = itemRepository.save(Item.builder()
+                .name("item2")
+                .description("desc")
+                .owner(owner)
+                .available(true)
+                .build());
+        Booking closest = bookingRepository.save(Booking.builder()
+                .item(secondItem)
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .status(BookingStatus.APPROVED)
+                .build());
+        bookingRepository.save(Booking.builder()
+                .item(secondItem)
+                .start(LocalDateTime.now().plusDays(3))
+                .end(LocalDateTime.now().plusDays(4))
+                .status(BookingStatus.WAITING)
+                .build());
+
+        List<BookingLiteDto> nextBookings = bookingRepository.findNextBookingsByItemIdIn(List.of(itemId, secondItem.getId()),
+                LocalDateTime.now(), List.of(BookingStatus.REJECTED, BookingStatus.CANCELED));
+
+        assertEquals(nextBookings.size(), 1);
+        assertEquals(nextBookings.get(0).getId(), closest.getId());
+        assertEquals(nextBookings.get(0).getItemId(), secondItem.getId());
+    }
+
+    @Test
+    void findLastBookingsByItemId_whenItemHasWaitingBookingInPast_thenReturnOneWaitingBooking() {
+        List<BookingLiteDto> lastBookings = bookingRepository.findLastBookingsByItemId(itemId, LocalDateTime.now(),
+                List.of(BookingStatus.REJECTED, BookingStatus.CANCELED), PageRequest.of(0, 1));
+
+        assertEquals(lastBookings.size(), 1);
+        assertEquals(lastBookings.get(0).getStatus(), BookingStatus.WAITING);
+        assertEquals(lastBookings.get(0).getItemId(), itemId);
+    }
+
+    @Test
+    void findNextBookingsByItemId_whenBookingsStartAtSameTime_thenReturnLatestId() {
+        Item item = itemRepository.findById(itemId).orElseThrow();
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        bookingRepository.save(Booking.builder().item(item).start(start).end(start.plusDays(1))
+                .status(BookingStatus.APPROVED).build());
+        Booking latest = bookingRepository.save(Booking.builder().item(item).start(start).end(start.plusDays(2))
+                .status(BookingStatus.WAITING).build());
+
+        List<BookingLiteDto> nextBookings = bookingRepository.findNextBookingsByItemId(itemId, LocalDateTime.now(),
+                List.of(BookingStatus.REJECTED, BookingStatus.CANCELED), PageRequest.of(0, 1));
+
+        assertEquals(nextBookings.size(), 1);
+        assertEquals(nextBookings.get(0).getId(), latest.getId());
+    }
+
+    @Test
+    void findLastBookingsByItemId_whenBookingsStartAtSameTime_thenReturnLatestId() {
+        Item item = itemRepository.findById(itemId).orElseThrow();
+        LocalDateTime start = LocalDateTime.now().plusSeconds(1).withNano(0);
+        bookingRepository.save(Booking.builder().item(item).start(start).end(start.plusDays(1))
+                .status(BookingStatus.APPROVED).build());
+        Booking latest = bookingRepository.save(Booking.builder().item(item).start(start).end(start.plusDays(2))
+                .status(BookingStatus.WAITING).build());
+
+        List<BookingLiteDto> lastBookings = bookingRepository.findLastBookingsByItemId(itemId, start.plusSeconds(1),
+                List.of(BookingStatus.REJECTED, BookingStatus.CANCELED), PageRequest.of(0, 1));
+
+        assertEquals(lastBookings.size(), 1);
+        assertEquals(lastBookings.get(0).getId(), latest.getId());
+    }
+
+    @Test
+    void findNextBookingsByItemId_whenItemHasNoFutureBookingsWithStatus_thenReturnEmptyList() {
+        List<BookingLiteDto> nextBookings = bookingRepository.findNextBookingsByItemId(itemId, LocalDateTime.now(),
+                List.of(BookingStatus.REJECTED, BookingStatus.CANCELED), PageRequest.of(0, 1));
+
+        assertEquals(nextBookings.size(), 0);
+    }
+
+    @Test
+    void existsOverlappingBooking_whenItemHasWaitingBookingInPeriod_thenReturnTrue() {
+        boolean exists = bookingRepository.existsOverlappingBooking(itemId, List.of(BookingStatus.WAITING, BookingStatus.APPROVED),
+                LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1));
+
+        assertTrue(exists);
+    }
+
+    @Test
+    void existsOverlappingBooking_whenItemHasNoActiveBookingInPeriod_thenReturnFalse() {
+        boolean exists = bookingRepository.existsOverlappingBooking(itemId, List.of(BookingStatus.WAITING, BookingStatus.APPROVED),
+                LocalDateTime.now().plusDays(3), LocalDateTime.now().plusDays(4));
+
+        assertFalse(exists);
+    }
+
+    @Test
+    void findActiveBookingsByItemId_whenItemHasTwoWaitingBookings_thenReturnListOfTwoBookings() {
+        List<BookingLiteDto> activeBookings = bookingRepository.findActiveBookingsByItemId(itemId,
+                List.of(BookingStatus.WAITING, BookingStatus.APPROVED), LocalDateTime.now().minusDays(3));
+
+        assertEquals(activeBookings.size(), 2);
+    }
+
+    @Test
+    void findAllByItemIdAndStatuses_whenItemHasTwoWaitingBookings_thenReturnListOfTwoBookings() {
+        List<BookingLiteDto> bookings = bookingRepository.findAllByItemIdAndStatuses(itemId,
+                List.of(BookingStatus.WAITING, BookingStatus.APPROVED));
+
+        assertEquals(bookings.size(), 2);
     }
 
     @Test
@@ -155,43 +277,65 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void findAllByOwnerItems_whenOwnerHasSixBookings_returnListOfSixBookings() {
-        List<Booking> itemsBookings = bookingRepository.findAllByOwnerItems(List.of(itemId), PAGE_FOR_BOOKINGS);
+    void findAllByOwnerId_whenOwnerHasSixBookings_returnListOfSixBookings() {
+        List<Booking> itemsBookings = bookingRepository.findAllByOwnerId(ownerId, PAGE_FOR_BOOKINGS);
 
         assertEquals(itemsBookings.size(), 6);
     }
 
     @Test
-    void findAllByOwnerItemsAndWaitingStatus_whenOwnerHasTwoBookingWithWaitingStatus_thenReturnListOfTwoBookings() {
-        List<Booking> ownerBookings = bookingRepository.findAllByOwnerItemsAndWaitingStatus(List.of(itemId), BookingStatus.WAITING, PAGE_FOR_BOOKINGS);
+    void findAllByOwnerIdAndWaitingStatus_whenOwnerHasTwoBookingWithWaitingStatus_thenReturnListOfTwoBookings() {
+        List<Booking> ownerBookings = bookingRepository.findAllByOwnerIdAndWaitingStatus(ownerId, BookingStatus.WAITING, PAGE_FOR_BOOKINGS);
 
         assertEquals(ownerBookings.size(), 2);
     }
 
     @Test
-    void findAllByOwnerItemsAndRejectedStatus_whenOwnerHasOneBookingWithRejectedStatus_thenReturnListOfOneBooking() {
-        List<Booking> ownerBookings = bookingRepository.findAllByOwnerItemsAndRejectedStatus(List.of(itemId), List.of(BookingStatus.REJECTED, BookingStatus.CANCELED), PAGE_FOR_BOOKINGS);
+    void findAllByOwnerIdAndRejectedStatus_whenOwnerHasOneBookingWithRejectedStatus_thenReturnListOfOneBooking() {
+        List<Booking> ownerBookings = bookingRepository.findAllByOwnerIdAndRejectedStatus(ownerId, List.of(BookingStatus.REJECTED, BookingStatus.CANCELED), PAGE_FOR_BOOKINGS);
 
         assertEquals(ownerBookings.size(), 1);
     }
 
     @Test
-    void findAllByOwnerItemsAndCurrentStatus_whenOwnerHasOneBookingWithCurrentStatus_thenReturnListOfOneBooking() {
-        List<Booking> ownerBookings = bookingRepository.findAllByOwnerItemsAndCurrentStatus(List.of(itemId), LocalDateTime.now(), PAGE_FOR_BOOKINGS);
+    void findAllByOwnerIdAndCurrentStatus_whenOwnerHasOneBookingWithCurrentStatus_thenReturnListOfOneBooking() {
+        List<Booking> ownerBookings = bookingRepository.findAllByOwnerIdAndCurrentStatus(ownerId, LocalDateTime.now(), PAGE_FOR_BOOKINGS);
 
         assertEquals(ownerBookings.size(), 1);
     }
 
     @Test
-    void findAllByOwnerItemsAndFutureStatus_whenOwnerHasOneBookingWithFutureStatus_thenReturnListOfOneBooking() {
-        List<Booking> ownerBookings = bookingRepository.findAllByOwnerItemsAndFutureStatus(List.of(itemId), LocalDateTime.now(), PAGE_FOR_BOOKINGS);
+    void findAllByOwnerIdAndFutureStatus_whenOwnerHasOneBookingWithFutureStatus_thenReturnListOfOneBooking() {
+        List<Booking> ownerBookings = bookingRepository.findAllByOwnerIdAndFutureStatus(ownerId, LocalDateTime.now(), PAGE_FOR_BOOKINGS);
 
         assertEquals(ownerBookings.size(), 1);
     }
 
     @Test
-    void findAllByOwnerItemsAndPastStatus_whenOwnerHasFourBookingWithPastStatus_thenReturnListOfFourBookings() {
-        List<Booking> ownerBookings = bookingRepository.findAllByOwnerItemsAndPastStatus(List.of(itemId), LocalDateTime.now(), PAGE_FOR_BOOKINGS);
+    void findAllByOwnerIdAndPastStatus_whenOwnerHasFourBookingWithPastStatus_thenReturnListOfFourBookings() {
+        List<Booking> ownerBookings = bookingRepository.findAllByOwnerIdAndPastStatus(ownerId, LocalDateTime.now(), PAGE_FOR_BOOKINGS);
+
+        assertEquals(ownerBookings.size(), 4);
+    }
+
+    @Test
+    void findAllByBookerIdAfter_whenCursorIsLastBookingOfFirstPage_thenReturnRemainingBookings() {
+        entityManager.clear();
+        List<Booking> firstPage = bookingRepository.findAllByBookerIdAfter(bookerId, BookingState.ALL, LocalDateTime.now(), null, 3);
+        Booking lastBooking = firstPage.get(firstPage.size() - 1);
+
+        List<Booking> secondPage = bookingRepository.findAllByBookerIdAfter(bookerId, BookingState.ALL, LocalDateTime.now(),
+                new BookingCursor(lastBooking.getStart(), lastBooking.getId()), 3);
+
+        assertEquals(firstPage.size(), 3);
+        assertEquals(secondPage.size(), 2);
+        assertTrue(secondPage.stream().allMatch(b -> b.getId() < lastBooking.getId() || b.getStart().isBefore(lastBooking.getStart())));
+    }
+
+    @Test
+    void findAllByOwnerIdAfter_whenOwnerHasFourBookingWithPastStatus_thenReturnListOfFourBookings() {
+        List<Booking> ownerBookings = bookingRepository.findAllByOwnerIdAfter(ownerId, BookingState.PAST,
+                LocalDateTime.now(), null, 10);
 
         assertEquals(ownerBookings.size(), 4);
     }
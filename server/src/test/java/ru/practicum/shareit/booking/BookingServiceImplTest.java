@@ -1,14 +1,18 @@
 package ru.practicum.shareit.booking;
 
 import org.junit.jupiter.api.BeforeEach;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.booking.availability.BookingAvailability;
+import ru.practicum.shareit.booking.availability.ItemTimelineCache;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
@@ -24,6 +28,7 @@ import ru.practicum.shareit.validator.BookingValidator;
 import ru.practicum.shareit.validator.ItemValidator;
 import ru.practicum.shareit.validator.UserValidator;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -58,6 +63,12 @@ class BookingServiceImplTest {
     @Mock
     BookingValidator bookingValidator;
 
+    @Mock
+    BookingAvailability bookingAvailability;
+
+    @Mock
+    ItemTimelineCache itemTimelineCache;
+
     @InjectMocks
     BookingServiceImpl bookingService;
 
@@ -100,6 +111,47 @@ class BookingServiceImplTest {
         assertEquals(expectedBooking, toBookingDto(booking));
     }
 
+    @Test
+    void addBooking_whenItemIsAlreadyBooked_thenThrowIncorrectDataException() {
+        when(userValidator.validateUserIdAndReturn(anyLong())).thenReturn(owner);
+        when(itemValidator.validateItemIdAndReturns(anyLong())).thenReturn(ownerItem);
+        doThrow(new IncorrectDataException("Booking: Item is already booked for these dates"))
+                .when(bookingAvailability).checkAvailable(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class));
+
+        IncorrectDataException incorrectDataException = assertThrows(IncorrectDataException.class,
+                () -> bookingService.addBooking(toBookingDto(booking), 2L));
+
+        assertEquals(incorrectDataException.getMessage(), "Booking: Item is already booked for these dates");
+        verify(bookingRepository, never()).save(any(Booking.class));
+    }
+
+    @Test
+    void addBooking_whenDatabaseRejectsOverlappingBooking_thenThrowIncorrectDataException() {
+        when(userValidator.validateUserIdAndReturn(anyLong())).thenReturn(owner);
+        when(itemValidator.validateItemIdAndReturns(anyLong())).thenReturn(ownerItem);
+        when(bookingRepository.save(any(Booking.class))).thenThrow(integrityViolation("23P01", null));
+
+        IncorrectDataException incorrectDataException = assertThrows(IncorrectDataException.class,
+                () -> bookingService.addBooking(toBookingDto(booking), 2L));
+
+        assertEquals(incorrectDataException.getMessage(), "Booking: Item is already booked for these dates");
+        verify(bookingAvailability, times(1)).invalidate(ownerItem.getId());
+    }
+
+    @Test
+    void addBooking_whenDatabaseRejectsBookingByForeignKey_thenRethrowIntegrityViolation() {
+        when(userValidator.validateUserIdAndReturn(anyLong())).thenReturn(owner);
+        when(itemValidator.validateItemIdAndReturns(anyLong())).thenReturn(ownerItem);
+        DataIntegrityViolationException violation = integrityViolation("23503", "fk_bookings_to_items");
+        when(bookingRepository.save(any(Booking.class))).thenThrow(violation);
+
+        DataIntegrityViolationException thrown = assertThrows(DataIntegrityViolationException.class,
+                () -> bookingService.addBooking(toBookingDto(booking), 2L));
+
+        assertSame(thrown, violation);
+        verify(bookingAvailability, never()).invalidate(anyLong());
+    }
+
     @Test
     void addBooking_whenItemOwnerIdEqualsBookerId_thenThrowEntityNotFoundException() {
         when(userValidator.validateUserIdAndReturn(anyLong())).thenReturn(owner);
@@ -215,6 +267,48 @@ class BookingServiceImplTest {
         assertEquals(exception.getMessage(), "Status is Approved");
     }
 
+    @Test
+    void approveBooking_whenWaitingBookingIsApproved_thenDoNotCheckAvailability() {
+        doNothing().when(userValidator).validateUserId(anyLong());
+        when(bookingValidator.validateBookingIdAndReturns(anyLong())).thenReturn(booking);
+
+        BookingDto actualBooking = bookingService.approveBooking(1L, 1L, "true");
+
+        assertEquals(actualBooking.getStatus(), BookingStatus.APPROVED);
+        verify(bookingAvailability, never()).checkAvailable(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class));
+    }
+
+    @Test
+    void approveBooking_whenRejectedBookingClashesWithActiveBooking_thenThrowIncorrectDataException() {
+        doNothing().when(userValidator).validateUserId(anyLong());
+        when(bookingValidator.validateBookingIdAndReturns(anyLong())).thenReturn(booking);
+        booking.setStatus(BookingStatus.REJECTED);
+        doThrow(new IncorrectDataException("Booking: Item is already booked for these dates"))
+                .when(bookingAvailability).checkAvailable(ownerItem.getId(), booking.getStart(), booking.getEnd());
+
+        IncorrectDataException exception = assertThrows(IncorrectDataException.class,
+                () -> bookingService.approveBooking(1L, 1L, "true"));
+
+        assertEquals(exception.getMessage(), "Booking: Item is already booked for these dates");
+        assertEquals(booking.getStatus(), BookingStatus.REJECTED);
+        verify(bookingRepository, never()).save(any(Booking.class));
+    }
+
+    @Test
+    void approveBooking_whenDatabaseRejectsApprovedOverlap_thenThrowIncorrectDataException() {
+        doNothing().when(userValidator).validateUserId(anyLong());
+        when(bookingValidator.validateBookingIdAndReturns(anyLong())).thenReturn(booking);
+        booking.setStatus(BookingStatus.CANCELED);
+        when(bookingRepository.save(any(Booking.class))).thenThrow(integrityViolation("23P01", null));
+
+        IncorrectDataException exception = assertThrows(IncorrectDataException.class,
+                () -> bookingService.approveBooking(1L, 1L, "true"));
+
+        assertEquals(exception.getMessage(), "Booking: Item is already booked for these dates");
+        verify(bookingAvailability, times(1)).invalidate(ownerItem.getId());
+        verify(bookingAvailability, never()).onBookingSaved(any(Booking.class));
+    }
+
     @Test
     void approveBooking_whenUserNotFound_thenThrowEntityNotFoundException() {
         doThrow(new EntityNotFoundException("User not found"))
@@ -403,108 +497,108 @@ class BookingServiceImplTest {
     void getAllBookingsByOwnerId_whenUserAndBookingAndItemExist_thenReturnListOfBooking() {
         doNothing().when(userValidator).validateUserId(anyLong());
         doNothing().when(bookingValidator).validateBookingState(anyString());
-        when(itemRepository.findByOwner_Id_WithoutPageable(anyLong())).thenReturn(List.of(ownerItem));
-        when(bookingRepository.findAllByOwnerItemsAndCurrentStatus(anyList(), any(LocalDateTime.class), any(Pageable.class)))
+        when(itemRepository.existsByOwner_Id(anyLong())).thenReturn(true);
+        when(bookingRepository.findAllByOwnerIdAndCurrentStatus(anyLong(), any(LocalDateTime.class), any(Pageable.class)))
                 .thenReturn(List.of(booking));
 
         List<BookingDto> actualBookings = bookingService.getAllBookingsByOwnerId(1L, "CURRENT", PAGE_FOR_BOOKINGS);
 
         assertEquals(actualBookings.size(), 1);
-        verify(bookingRepository, times(0)).findAllByOwnerItemsAndWaitingStatus(any(), any(), any());
-        verify(bookingRepository, times(0)).findAllByOwnerItemsAndFutureStatus(any(), any(), any());
-        verify(bookingRepository, times(0)).findAllByOwnerItemsAndRejectedStatus(any(), any(), any());
-        verify(bookingRepository, times(0)).findAllByOwnerItemsAndPastStatus(any(), any(), any());
-        verify(bookingRepository, times(0)).findAllByOwnerItems(any(), any());
+        verify(bookingRepository, times(0)).findAllByOwnerIdAndWaitingStatus(any(), any(), any());
+        verify(bookingRepository, times(0)).findAllByOwnerIdAndFutureStatus(any(), any(), any());
+        verify(bookingRepository, times(0)).findAllByOwnerIdAndRejectedStatus(any(), any(), any());
+        verify(bookingRepository, times(0)).findAllByOwnerIdAndPastStatus(any(), any(), any());
+        verify(bookingRepository, times(0)).findAllByOwnerId(any(), any());
     }
 
     @Test
     void getAllBookingsByOwnerId_whenUserAndBookingAndItemExistWaiting_thenReturnListOfBooking() {
         doNothing().when(userValidator).validateUserId(anyLong());
         doNothing().when(bookingValidator).validateBookingState(anyString());
-        when(itemRepository.findByOwner_Id_WithoutPageable(anyLong())).thenReturn(List.of(ownerItem));
-        when(bookingRepository.findAllByOwnerItemsAndWaitingStatus(anyList(), any(), any(Pageable.class)))
+        when(itemRepository.existsByOwner_Id(anyLong())).thenReturn(true);
+        when(bookingRepository.findAllByOwnerIdAndWaitingStatus(anyLong(), any(), any(Pageable.class)))
                 .thenReturn(List.of(booking));
 
         List<BookingDto> actualBookings = bookingService.getAllBookingsByOwnerId(1L, "WAITING", PAGE_FOR_BOOKINGS);
 
         assertEquals(actualBookings.size(), 1);
-        verify(bookingRepository, times(0)).findAllByOwnerItemsAndCurrentStatus(any(), any(), any());
-        verify(bookingRepository, times(0)).findAllByOwnerItemsAndFutureStatus(any(), any(), any());
-        verify(bookingRepository, times(0)).findAllByOwnerItemsAndRejectedStatus(any(), any(), any());
-        verify(bookingRepository, times(0)).findAllByOwnerItemsAndPastStatus(any(), any(), any());
-        verify(bookingRepository, times(0)).findAllByOwnerItems(any(), any());
+        verify(bookingRepository, times(0)).findAllByOwnerIdAndCurrentStatus(any(), any(), any());
+        verify(bookingRepository, times(0)).findAllByOwnerIdAndFutureStatus(any(), any(), any());
+        verify(bookingRepository, times(0)).findAllByOwnerIdAndRejectedStatus(any(), any(), any());
+        verify(bookingRepository, times(0)).findAllByOwnerIdAndPastStatus(any(), any(), any());
+        verify(bookingRepository, times(0)).findAllByOwnerId(any(), any());
     }
 
     @Test
     void getAllBookingsByOwnerId_whenUserAndBookingAndItemExistFuture_thenReturnListOfBooking() {
         doNothing().when(userValidator).validateUserId(anyLong());
         doNothing().when(bookingValidator).validateBookingState(anyString());
-        when(itemRepository.findByOwner_Id_WithoutPageable(anyLong())).thenReturn(List.of(ownerItem));
-        when(bookingRepository.findAllByOwnerItemsAndFutureStatus(anyList(), any(), any(Pageable.class)))
+        when(itemRepository.existsByOwner_Id(anyLong())).thenReturn(true);
+        when(bookingRepository.findAllByOwnerIdAndFutureStatus(anyLong(), any(), any(Pageable.class)))
                 .thenReturn(List.of(booking));
 
         List<BookingDto> actualBookings = bookingService.getAllBookingsByOwnerId(1L, "FUTURE", PAGE_FOR_BOOKINGS);
 
         assertEquals(actualBookings.size(), 1);
-        verify(bookingRepository, times(0)).findAllByOwnerItemsAndCurrentStatus(any(), any(), any());
-        verify(bookingRepository, times(0)).findAllByOwnerItemsAndWaitingStatus(any(), any(), any());
-        verify(bookingRepository, times(0)).findAllByOwnerItemsAndRejectedStatus(any(), any(), any());
-        verify(bookingRepository, times(0)).findAllByOwnerItemsAndPastStatus(any(), any(), any());
-        verify(bookingRepository, times(0)).findAllByOwnerItems(any(), any());
+        verify(bookingRepository, times(0)).findAllByOwnerIdAndCurrentStatus(any(), any(), any());
+        verify(bookingRepository, times(0)).findAllByOwnerIdAndWaitingStatus(any(), any(), any());
+        verify(bookingRepository, times(0)).findAllByOwnerIdAndRejectedStatus(any(), any(), any());
+        verify(bookingRepository, times(0)).findAllByOwnerIdAndPastStatus(any(), any(), any());
+        verify(bookingRepository, times(0)).findAllByOwnerId(any(), any());
     }
 
     @Test
     void getAllBookingsByOwnerId_whenUserAndBookingAndItemExistRejected_thenReturnListOfBooking() {
         doNothing().when(userValidator).validateUserId(anyLong());
         doNothing().when(bookingValidator).validateBookingState(anyString());
-        when(itemRepository.findByOwner_Id_WithoutPageable(anyLong())).thenReturn(List.of(ownerItem));
-        when(bookingRepository.findAllByOwnerItemsAndRejectedStatus(anyList(), any(), any(Pageable.class)))
+        when(itemRepository.existsByOwner_Id(anyLong())).thenReturn(true);
+        when(bookingRepository.findAllByOwnerIdAndRejectedStatus(anyLong(), any(), any(Pageable.class)))
                 .thenReturn(List.of(booking));
 
         List<BookingDto> actualBookings = bookingService.getAllBookingsByOwnerId(1L, "REJECTED", PAGE_FOR_BOOKINGS);
 
         assertEquals(actualBookings.size(), 1);
-        verify(bookingRepository, times(0)).findAllByOwnerItemsAndCurrentStatus(any(), any(), any());
-        verify(bookingRepository, times(0)).findAllByOwnerItemsAndWaitingStatus(any(), any(), any());
-        verify(bookingRepository, times(0)).findAllByOwnerItemsAndFutureStatus(any(), any(), any());
-        verify(bookingRepository, times(0)).findAllByOwnerItemsAndPastStatus(any(), any(), any());
-        verify(bookingRepository, times(0)).findAllByOwnerItems(any(), any());
+        verify(bookingRepository, times(0)).findAllByOwnerIdAndCurrentStatus(any(), any(), any());
+        verify(bookingRepository, times(0)).findAllByOwnerIdAndWaitingStatus(any(), any(), any());
+        verify(bookingRepository, times(0)).findAllByOwnerIdAndFutureStatus(any(), any(), any());
+        verify(bookingRepository, times(0)).findAllByOwnerIdAndPastStatus(any(), any(), any());
+        verify(bookingRepository, times(0)).findAllByOwnerId(any(), any());
     }
 
     @Test
     void getAllBookingsByOwnerId_whenUserAndBookingAndItemExistPast_thenReturnListOfBooking() {
         doNothing().when(userValidator).validateUserId(anyLong());
         doNothing().when(bookingValidator).validateBookingState(anyString());
-        when(itemRepository.findByOwner_Id_WithoutPageable(anyLong())).thenReturn(List.of(ownerItem));
-        when(bookingRepository.findAllByOwnerItemsAndPastStatus(anyList(), any(), any(Pageable.class)))
+        when(itemRepository.existsByOwner_Id(anyLong())).thenReturn(true);
+        when(bookingRepository.findAllByOwnerIdAndPastStatus(anyLong(), any(), any(Pageable.class)))
                 .thenReturn(List.of(booking));
 
         List<BookingDto> actualBookings = bookingService.getAllBookingsByOwnerId(1L, "PAST", PAGE_FOR_BOOKINGS);
 
         assertEquals(actualBookings.size(), 1);
-        verify(bookingRepository, times(0)).findAllByOwnerItemsAndCurrentStatus(any(), any(), any());
-        verify(bookingRepository, times(0)).findAllByOwnerItemsAndWaitingStatus(any(), any(), any());
-        verify(bookingRepository, times(0)).findAllByOwnerItemsAndFutureStatus(any(), any(), any());
-        verify(bookingRepository, times(0)).findAllByOwnerItemsAndRejectedStatus(any(), any(), any());
-        verify(bookingRepository, times(0)).findAllByOwnerItems(any(), any());
+        verify(bookingRepository, times(0)).findAllByOwnerIdAndCurrentStatus(any(), any(), any());
+        verify(bookingRepository, times(0)).findAllByOwnerIdAndWaitingStatus(any(), any(), any());
+        verify(bookingRepository, times(0)).findAllByOwnerIdAndFutureStatus(any(), any(), any());
+        verify(bookingRepository, times(0)).findAllByOwnerIdAndRejectedStatus(any(), any(), any());
+        verify(bookingRepository, times(0)).findAllByOwnerId(any(), any());
     }
 
     @Test
     void getAllBookingsByOwnerId_whenUserAndBookingAndItemExistAll_thenReturnListOfBooking() {
         doNothing().when(userValidator).validateUserId(anyLong());
         doNothing().when(bookingValidator).validateBookingState(anyString());
-        when(itemRepository.findByOwner_Id_WithoutPageable(anyLong())).thenReturn(List.of(ownerItem));
-        when(bookingRepository.findAllByOwnerItems(any(), any()))
+        when(itemRepository.existsByOwner_Id(anyLong())).thenReturn(true);
+        when(bookingRepository.findAllByOwnerId(any(), any()))
                 .thenReturn(List.of(booking));
 
         List<BookingDto> actualBookings = bookingService.getAllBookingsByOwnerId(1L, "ALL", PAGE_FOR_BOOKINGS);
 
         assertEquals(actualBookings.size(), 1);
-        verify(bookingRepository, times(0)).findAllByOwnerItemsAndCurrentStatus(any(), any(), any());
-        verify(bookingRepository, times(0)).findAllByOwnerItemsAndWaitingStatus(any(), any(), any());
-        verify(bookingRepository, times(0)).findAllByOwnerItemsAndFutureStatus(any(), any(), any());
-        verify(bookingRepository, times(0)).findAllByOwnerItemsAndRejectedStatus(any(), any(), any());
-        verify(bookingRepository, times(0)).findAllByOwnerItemsAndPastStatus(any(), any(), any());
+        verify(bookingRepository, times(0)).findAllByOwnerIdAndCurrentStatus(any(), any(), any());
+        verify(bookingRepository, times(0)).findAllByOwnerIdAndWaitingStatus(any(), any(), any());
+        verify(bookingRepository, times(0)).findAllByOwnerIdAndFutureStatus(any(), any(), any());
+        verify(bookingRepository, times(0)).findAllByOwnerIdAndRejectedStatus(any(), any(), any());
+        verify(bookingRepository, times(0)).findAllByOwnerIdAndPastStatus(any(), any(), any());
     }
 
     @Test
@@ -528,4 +622,10 @@ class BookingServiceImplTest {
 
         assertEquals(exception.getMessage(), "state");
     }
-}
\ No newline at end of file
+
+    private static DataIntegrityViolationException integrityViolation(String sqlState, String constraintName) {
+        SQLException sqlException = new SQLException("constraint violation", sqlState);
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", sqlException, constraintName));
+    }
+}
@@ -0,0 +1,120 @@
+package ru.practicum.shareit.booking;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Slf4j
+@DataJpaTest
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "shareit.benchmark", matches = "true")
+class OwnerBookingsQueryBenchmarkTest {
+
+    private static final int ITERATIONS = 20;
+    private static final Pageable PAGE = PageRequest.of(0, 10, Sort.by("start").descending().and(Sort.by("id").descending()));
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    BookingRepository bookingRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 1_000, 50_000})
+    void findAllByOwnerId_whenOwnerHasManyItems_thenJoinIsFasterThanItemIdsList(int itemsCount) {
+        User owner = userRepository.save(User.builder().name("owner").email("owner@mail.ru").build());
+        User booker = userRepository.save(User.builder().name("booker").email("booker@mail.ru").build());
+        seed(owner.getId(), booker.getId(), itemsCount);
+        entityManager.clear();
+
+        List<Long> joinIds = toIds(bookingRepository.findAllByOwnerId(owner.getId(), PAGE));
+        List<Long> itemsListIds = toIds(findAllByOwnerItemsList(owner.getId()));
+        assertEquals(joinIds, itemsListIds);
+
+        long itemsListNanos = measure(() -> findAllByOwnerItemsList(owner.getId()));
+        long joinNanos = measure(() -> bookingRepository.findAllByOwnerId(owner.getId(), PAGE));
+        log.info("Owner bookings, {} items: item ids list {} us, join {} us", itemsCount, itemsListNanos / 1000, joinNanos / 1000);
+    }
+
+    private List<Booking> findAllByOwnerItemsList(Long ownerId) {
+        List<Long> itemsIds = entityManager.getEntityManager()
+                .createQuery("select i from Item i where i.owner.id = :ownerId", Item.class)
+                .setParameter("ownerId", ownerId)
+                .getResultList().stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+        return entityManager.getEntityManager()
+                .createQuery("select b from Booking b where b.item.id IN :itemsIds order by b.start desc, b.id desc", Booking.class)
+                .setParameter("itemsIds", itemsIds)
+                .setMaxResults(PAGE.getPageSize())
+                .getResultList();
+    }
+
+    private long measure(Supplier<List<Booking>> query) {
+        for (int i = 0; i < ITERATIONS; i++) {
+            query.get();
+            entityManager.clear();
+        }
+        long[] results = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            query.get();
+            results[i] = System.nanoTime() - start;
+            entityManager.clear();
+        }
+        Arrays.sort(results);
+        return results[ITERATIONS / 2];
+    }
+
+    private void seed(long ownerId, long bookerId, int itemsCount) {
+        List<Object[]> items = new ArrayList<>(itemsCount);
+        for (int i = 0; i < itemsCount; i++) {
+            items.add(new Object[]{"item" + i, "desc" + i, true, ownerId});
+        }
+        jdbcTemplate.batchUpdate("insert into items (name, description, is_available, owner_id) values (?, ?, ?, ?)", items);
+
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 12, 0);
+        List<Object[]> bookings = new ArrayList<>(itemsCount);
+        jdbcTemplate.query("select id from items where owner_id = ?", rs -> {
+            long itemId = rs.getLong(1);
+            bookings.add(new Object[]{Timestamp.valueOf(start.plusHours(itemId)), Timestamp.valueOf(start.plusHours(itemId + 1)),
+                    itemId, bookerId, "APPROVED"});
+        }, ownerId);
+        jdbcTemplate.batchUpdate("insert into bookings (start_date, end_date, item_id, booker_id, status) values (?, ?, ?, ?, ?)",
+                bookings);
+    }
+
+    private List<Long> toIds(List<Booking> bookings) {
+        return bookings.stream().map(Booking::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,56 @@
+package ru.practicum.shareit.booking.availability;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingIntervalTreeTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    private BookingIntervalTree tree;
+
+    @BeforeEach
+    public void fillTree() {
+        tree = new BookingIntervalTree();
+        tree.insert(1L, START, START.plusDays(10));
+        tree.insert(2L, START.plusDays(1), START.plusDays(2));
+        tree.insert(3L, START.plusDays(20), START.plusDays(22));
+    }
+
+    @Test
+    void overlaps_whenPeriodInsideLongBooking_thenReturnTrue() {
+        assertTrue(tree.overlaps(START.plusDays(5), START.plusDays(6)));
+    }
+
+    @Test
+    void overlaps_whenPeriodTouchesBookingBorders_thenReturnFalse() {
+        assertFalse(tree.overlaps(START.plusDays(10), START.plusDays(20)));
+        assertFalse(tree.overlaps(START.minusDays(1), START));
+    }
+
+    @Test
+    void remove_whenBookingRemoved_thenPeriodIsFree() {
+        assertTrue(tree.remove(1L, START));
+        assertFalse(tree.remove(1L, START));
+
+        assertFalse(tree.overlaps(START.plusDays(5), START.plusDays(6)));
+        assertTrue(tree.overlaps(START.plusDays(1), START.plusDays(3)));
+        assertEquals(tree.size(), 2);
+    }
+
+    @Test
+    void insert_whenManyBookings_thenFindOnlyOverlapping() {
+        BookingIntervalTree bigTree = new BookingIntervalTree();
+        for (int i = 0; i < 1000; i++) {
+            bigTree.insert(i, START.plusDays(i * 2L), START.plusDays(i * 2L + 1));
+        }
+
+        assertEquals(bigTree.size(), 1000);
+        assertTrue(bigTree.overlaps(START.plusDays(500).plusHours(1), START.plusDays(500).plusHours(2)));
+        assertFalse(bigTree.overlaps(START.plusDays(501).plusHours(1), START.plusDays(501).plusHours(2)));
+    }
+}
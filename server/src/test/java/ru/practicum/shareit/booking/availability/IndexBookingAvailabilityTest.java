@@ -0,0 +1,74 @@
+package ru.practicum.shareit.booking.availability;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.dto.BookingLiteDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.IncorrectDataException;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IndexBookingAvailabilityTest {
+
+    private static final LocalDateTime START = LocalDateTime.now().plusDays(1);
+
+    @Mock
+    BookingRepository bookingRepository;
+
+    @InjectMocks
+    IndexBookingAvailability bookingAvailability;
+
+    @Test
+    void checkAvailable_whenPeriodIsFree_thenSkipDatabaseCheck() {
+        when(bookingRepository.findActiveBookingsByItemId(eq(1L), anyList(), any(LocalDateTime.class)))
+                .thenReturn(List.of(liteBooking(1L, START, START.plusDays(1))));
+
+        assertDoesNotThrow(() -> bookingAvailability.checkAvailable(1L, START.plusDays(2), START.plusDays(3)));
+        verify(bookingRepository, never()).existsOverlappingBooking(anyLong(), anyList(), any(), any());
+    }
+
+    @Test
+    void checkAvailable_whenPeriodIsBusy_thenThrowIncorrectDataException() {
+        when(bookingRepository.findActiveBookingsByItemId(eq(1L), anyList(), any(LocalDateTime.class)))
+                .thenReturn(List.of(liteBooking(1L, START, START.plusDays(1))));
+        when(bookingRepository.existsOverlappingBooking(anyLong(), anyList(), any(), any())).thenReturn(true);
+
+        assertThrows(IncorrectDataException.class,
+                () -> bookingAvailability.checkAvailable(1L, START.plusHours(1), START.plusHours(2)));
+    }
+
+    @Test
+    void onBookingSaved_whenBookingRejected_thenPeriodIsFree() {
+        when(bookingRepository.findActiveBookingsByItemId(eq(1L), anyList(), any(LocalDateTime.class)))
+                .thenReturn(List.of(liteBooking(1L, START, START.plusDays(1))));
+        bookingAvailability.checkAvailable(1L, START.plusDays(2), START.plusDays(3));
+
+        bookingAvailability.onBookingSaved(Booking.builder()
+                .id(1L)
+                .item(Item.builder().id(1L).build())
+                .start(START)
+                .end(START.plusDays(1))
+                .status(BookingStatus.REJECTED)
+                .build());
+
+        assertDoesNotThrow(() -> bookingAvailability.checkAvailable(1L, START.plusHours(1), START.plusHours(2)));
+        verify(bookingRepository, never()).existsOverlappingBooking(anyLong(), anyList(), any(), any());
+    }
+
+    private BookingLiteDto liteBooking(long id, LocalDateTime start, LocalDateTime end) {
+        return new BookingLiteDto(id, start, end, 2L, BookingStatus.APPROVED, 1L);
+    }
+}
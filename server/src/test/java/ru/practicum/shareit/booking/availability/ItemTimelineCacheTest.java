@@ -0,0 +1,81 @@
+package ru.practicum.shareit.booking.availability;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.dto.BookingLiteDto;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemTimelineCacheTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Mock
+    BookingRepository bookingRepository;
+
+    @Test
+    void get_whenTimelineIsCached_thenDoNotQueryAgain() {
+        ItemTimelineCache cache = new ItemTimelineCache(bookingRepository, 10);
+        when(bookingRepository.findAllByItemIdAndStatuses(eq(1L), anyList())).thenReturn(List.of(booking(1L)));
+
+        ItemTimeline first = cache.get(1L);
+
+        assertSame(cache.get(1L), first);
+        verify(bookingRepository, times(1)).findAllByItemIdAndStatuses(eq(1L), anyList());
+    }
+
+    @Test
+    void get_whenInvalidatedDuringLoad_thenDoNotCacheStaleTimeline() throws InterruptedException {
+        ItemTimelineCache cache = new ItemTimelineCache(bookingRepository, 10);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch invalidated = new CountDownLatch(1);
+        when(bookingRepository.findAllByItemIdAndStatuses(eq(1L), anyList()))
+                .thenAnswer(invocation -> {
+                    loading.countDown();
+                    assertTrue(invalidated.await(5, TimeUnit.SECONDS));
+                    return List.of();
+                })
+                .thenReturn(List.of(booking(1L)));
+
+        Thread reader = new Thread(() -> cache.get(1L));
+        reader.start();
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        cache.invalidate(1L);
+        invalidated.countDown();
+        reader.join();
+
+        assertEquals(cache.get(1L).size(), 1);
+        verify(bookingRepository, times(2)).findAllByItemIdAndStatuses(eq(1L), anyList());
+    }
+
+    @Test
+    void get_whenCacheIsFull_thenEvictLeastRecentlyUsed() {
+        ItemTimelineCache cache = new ItemTimelineCache(bookingRepository, 1);
+        when(bookingRepository.findAllByItemIdAndStatuses(anyLong(), anyList())).thenReturn(List.of());
+
+        cache.get(1L);
+        cache.get(2L);
+        cache.get(1L);
+
+        verify(bookingRepository, times(2)).findAllByItemIdAndStatuses(eq(1L), anyList());
+    }
+
+    private BookingLiteDto booking(long id) {
+        return new BookingLiteDto(id, FROM.plusDays(1), FROM.plusDays(2), 2L, BookingStatus.APPROVED, 1L);
+    }
+}
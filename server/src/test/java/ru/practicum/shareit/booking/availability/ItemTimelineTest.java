@@ -0,0 +1,55 @@
+package ru.practicum.shareit.booking.availability;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.dto.BookingLiteDto;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.dto.AvailabilityRangeDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ItemTimelineTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    @Test
+    void of_whenBookingsOverlapOrTouch_thenMergeThemIntoOneRange() {
+        ItemTimeline timeline = ItemTimeline.of(List.of(
+                booking(1L, START.plusDays(2), START.plusDays(4)),
+                booking(2L, START, START.plusDays(2)),
+                booking(3L, START.plusDays(1), START.plusDays(3)),
+                booking(4L, START.plusDays(10), START.plusDays(11))));
+
+        assertEquals(timeline.size(), 2);
+    }
+
+    @Test
+    void ranges_whenPeriodCrossesBookings_thenReturnClippedFreeAndBusyRanges() {
+        ItemTimeline timeline = ItemTimeline.of(List.of(
+                booking(1L, START, START.plusDays(2)),
+                booking(2L, START.plusDays(5), START.plusDays(6))));
+
+        List<AvailabilityRangeDto> ranges = timeline.ranges(START.plusDays(1), START.plusDays(7));
+
+        assertEquals(ranges, List.of(
+                new AvailabilityRangeDto(START.plusDays(1), START.plusDays(2), true),
+                new AvailabilityRangeDto(START.plusDays(2), START.plusDays(5), false),
+                new AvailabilityRangeDto(START.plusDays(5), START.plusDays(6), true),
+                new AvailabilityRangeDto(START.plusDays(6), START.plusDays(7), false)));
+    }
+
+    @Test
+    void ranges_whenPeriodStartsAtBookingEnd_thenReturnOneFreeRange() {
+        ItemTimeline timeline = ItemTimeline.of(List.of(booking(1L, START, START.plusDays(2))));
+
+        List<AvailabilityRangeDto> ranges = timeline.ranges(START.plusDays(2), START.plusDays(3));
+
+        assertEquals(ranges, List.of(new AvailabilityRangeDto(START.plusDays(2), START.plusDays(3), false)));
+    }
+
+    private BookingLiteDto booking(Long id, LocalDateTime start, LocalDateTime end) {
+        return new BookingLiteDto(id, start, end, 1L, BookingStatus.APPROVED, 1L);
+    }
+}
@@ -0,0 +1,160 @@
+package ru.practicum.shareit.booking.inmemory;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingLiteDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.inmemory.BookingRepositoryInMemoryImpl;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingRepositoryInMemoryImplTest {
+
+    private final LocalDateTime now = LocalDateTime.of(2030, 1, 1, 12, 0);
+    private final PageRequest page = PageRequest.of(0, 10, Sort.by("start").descending());
+
+    private BookingRepositoryInMemoryImpl bookingRepository;
+    private Booking past;
+    private Booking current;
+    private Booking future;
+    private Booking rejected;
+
+    @BeforeEach
+    public void fillData() {
+        bookingRepository = new BookingRepositoryInMemoryImpl();
+        User owner = User.builder().id(1L).build();
+        User booker = User.builder().id(2L).build();
+        Item item = Item.builder().id(1L).owner(owner).build();
+
+        past = bookingRepository.save(booking(item, booker, now.minusDays(3), now.minusDays(2), BookingStatus.APPROVED));
+        current = bookingRepository.save(booking(item, booker, now.minusHours(1), now.plusHours(1), BookingStatus.APPROVED));
+        future = bookingRepository.save(booking(item, booker, now.plusDays(1), now.plusDays(2), BookingStatus.WAITING));
+        rejected = bookingRepository.save(booking(item, booker, now.plusDays(3), now.plusDays(4), BookingStatus.REJECTED));
+    }
+
+    @Test
+    void save_whenNewBooking_thenAssignIds() {
+        assertEquals(List.of(past.getId(), current.getId(), future.getId(), rejected.getId()), List.of(1L, 2L, 3L, 4L));
+        assertEquals(bookingRepository.findById(2L).orElseThrow(), current);
+    }
+
+    @Test
+    void findAllByBookerIdStates_whenBookingsExist_thenReturnMatchingSortedByStartDesc() {
+        assertEquals(bookingRepository.findAllByBooker_Id(2L, page), List.of(rejected, future, current, past));
+        assertEquals(bookingRepository.findAllByBookerIdAndCurrentStatus(2L, now, page), List.of(current));
+        assertEquals(bookingRepository.findAllByBookerIdAndFutureStatus(2L, now, page), List.of(rejected, future));
+        assertEquals(bookingRepository.findAllByBookerIdAndPastStatus(2L, now, page), List.of(past));
+        assertEquals(bookingRepository.findAllByBookerIdAndWaitingStatus(2L, BookingStatus.WAITING, page), List.of(future));
+        assertEquals(bookingRepository.findAllByBookerIdAndRejectedStatus(2L,
+                List.of(BookingStatus.REJECTED, BookingStatus.CANCELED), page), List.of(rejected));
+    }
+
+    @Test
+    void findAllByOwnerId_whenPaged_thenReturnPage() {
+        assertEquals(bookingRepository.findAllByOwnerId(1L, PageRequest.of(1, 2, Sort.by("start").descending())),
+                List.of(current, past));
+        assertTrue(bookingRepository.findAllByOwnerId(2L, page).isEmpty());
+    }
+
+    @Test
+    void findAllByOwnerId_whenSortedByOtherProperty_thenSortByIt() {
+        assertEquals(bookingRepository.findAllByOwnerId(1L, PageRequest.of(0, 2, Sort.by("id"))), List.of(past, current));
+    }
+
+    @Test
+    void save_whenStatusChanged_thenIndexesUpdated() {
+        future.setStatus(BookingStatus.APPROVED);
+        bookingRepository.save(future);
+
+        assertTrue(bookingRepository.findAllByOwnerIdAndWaitingStatus(1L, BookingStatus.WAITING, page).isEmpty());
+        assertEquals(bookingRepository.findAllByOwnerIdAndFutureStatus(1L, now, page), List.of(rejected, future));
+    }
+
+    @Test
+    void findAllByBookerIdAfter_whenCursorGiven_thenReturnNextPage() {
+        List<Booking> firstPage = bookingRepository.findAllByBookerIdAfter(2L, BookingState.ALL, now, null, 2);
+        List<Booking> secondPage = bookingRepository.findAllByBookerIdAfter(2L, BookingState.ALL, now,
+                new BookingCursor(firstPage.get(1).getStart(), firstPage.get(1).getId()), 2);
+
+        assertEquals(firstPage, List.of(rejected, future));
+        assertEquals(secondPage, List.of(current, past));
+        assertEquals(bookingRepository.findAllByOwnerIdAfter(1L, BookingState.FUTURE, now,
+                new BookingCursor(rejected.getStart(), rejected.getId()), 10), List.of(future));
+        assertTrue(bookingRepository.findAllByOwnerIdAfter(1L, BookingState.FUTURE, now,
+                new BookingCursor(past.getStart(), past.getId()), 10).isEmpty());
+    }
+
+    @Test
+    void findLastAndNextBookingsByItemId_whenExcludedStatuses_thenSkipThem() {
+        List<BookingStatus> excluded = List.of(BookingStatus.REJECTED, BookingStatus.CANCELED);
+
+        List<BookingLiteDto> last = bookingRepository.findLastBookingsByItemId(1L, now, excluded, PageRequest.of(0, 1));
+        List<BookingLiteDto> next = bookingRepository.findNextBookingsByItemId(1L, now, excluded, PageRequest.of(0, 1));
+
+        assertEquals(last.get(0).getId(), current.getId());
+        assertEquals(next.get(0).getId(), future.getId());
+    }
+
+    @Test
+    void findLastAndNextBookingsByItemIdIn_whenSeveralItems_thenReturnOneRowPerItemWithBookings() {
+        List<BookingStatus> excluded = List.of(BookingStatus.REJECTED, BookingStatus.CANCELED);
+
+        List<BookingLiteDto> last = bookingRepository.findLastBookingsByItemIdIn(List.of(1L, 2L), now, excluded);
+        List<BookingLiteDto> next = bookingRepository.findNextBookingsByItemIdIn(List.of(1L, 2L), now, excluded);
+
+        assertEquals(last.size(), 1);
+        assertEquals(last.get(0).getId(), current.getId());
+        assertEquals(next.size(), 1);
+        assertEquals(next.get(0).getId(), future.getId());
+    }
+
+    @Test
+    void existsOverlappingBooking_whenIntervalsIntersect_thenReturnTrue() {
+        List<BookingStatus> statuses = List.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+
+        assertTrue(bookingRepository.existsOverlappingBooking(1L, statuses, now.plusDays(1).plusHours(1), now.plusDays(5)));
+        assertFalse(bookingRepository.existsOverlappingBooking(1L, statuses, now.plusDays(2), now.plusDays(3)));
+        assertFalse(bookingRepository.existsOverlappingBooking(2L, statuses, now, now.plusDays(10)));
+    }
+
+    @Test
+    void findAllByItemIdAndStatuses_whenCalled_thenReturnSortedByStartAsc() {
+        List<Long> ids = bookingRepository.findAllByItemIdAndStatuses(1L, List.of(BookingStatus.APPROVED, BookingStatus.WAITING))
+                .stream()
+                .map(BookingLiteDto::getId)
+                .collect(Collectors.toList());
+
+        assertEquals(ids, List.of(past.getId(), current.getId(), future.getId()));
+        assertEquals(bookingRepository.findAllByUserIdAndItemIdAndEndDateIsPassed(2L, 1L, now), List.of(past));
+    }
+
+    @Test
+    void deleteById_whenBookingExists_thenRemoveFromIndexes() {
+        bookingRepository.deleteById(current.getId());
+
+        assertTrue(bookingRepository.findById(current.getId()).isEmpty());
+        assertTrue(bookingRepository.findAllByBookerIdAndCurrentStatus(2L, now, page).isEmpty());
+        assertEquals(bookingRepository.findAllByItemIdAndStatuses(1L, List.of(BookingStatus.APPROVED, BookingStatus.WAITING)).size(), 2);
+    }
+
+    private Booking booking(Item item, User booker, LocalDateTime start, LocalDateTime end, BookingStatus status) {
+        return Booking.builder()
+                .item(item)
+                .booker(booker)
+                .start(start)
+                .end(end)
+                .status(status)
+                .build();
+    }
+}
@@ -1,7 +1,6 @@
 package ru.practicum.shareit.exception;
 
 import org.junit.jupiter.api.Test;
-import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -13,46 +12,48 @@ public class ErrorHandlerTest {
     @Test
     public void testHandleUserNotFoundException() {
         EntityNotFoundException exception = new EntityNotFoundException("User not found");
-        String result = errorHandler.handleUserNotFoundException(exception);
-        assertEquals("Entity not found error: User not found", result);
+        ErrorResponse result = errorHandler.handleUserNotFoundException(exception);
+        assertEquals("Entity not found error: User not found", result.getError());
     }
 
     @Test
     public void testHandleEmailAlreadyExistsException() {
         EmailIsAlreadyRegisteredException exception = new EmailIsAlreadyRegisteredException("Email already exists");
-        String result = errorHandler.handleEmailAlreadyExistsException(exception);
-        assertEquals("Email is already registered Email already exists", result);
+        ErrorResponse result = errorHandler.handleEmailAlreadyExistsException(exception);
+        assertEquals("Email is already registered Email already exists", result.getError());
     }
 
     @Test
     public void testHandleEmptyFieldException() {
         EmptyFieldException exception = new EmptyFieldException("Field is empty");
-        String result = errorHandler.handleEmptyFieldException(exception);
-        assertEquals("Empty field exception: Field is empty", result);
+        ErrorResponse result = errorHandler.handleEmptyFieldException(exception);
+        assertEquals("Empty field exception: Field is empty", result.getError());
     }
 
     @Test
     public void testHandleGatewayHeaderException() {
         IncorrectDataException exception = new IncorrectDataException("Invalid data");
-        String result = errorHandler.handleGatewayHeaderException(exception);
-        assertEquals("Gateway exception Invalid data", result);
+        ErrorResponse result = errorHandler.handleGatewayHeaderException(exception);
+        assertEquals("Gateway exception Invalid data", result.getError());
     }
 
     @Test
     public void testHandleUnsupportedStateException() {
         UnsupportedStatusException exception = new UnsupportedStatusException("Invalid status");
-        Map<String, String> result = errorHandler.handleUnsupportedStateException(exception);
-        assertEquals("Unknown state: Invalid status", result.get("error"));
+        ErrorResponse result = errorHandler.handleUnsupportedStateException(exception);
+        assertEquals("Unknown state: Invalid status", result.getError());
     }
 
     @Test
     public void testHandleUnsupportedMethodException() {
         UnsupportedMethodException exception = new UnsupportedMethodException("Unsupported method");
-        String result = errorHandler.handleUnsupportedMethodException(exception);
-        assertEquals("Unsupported method: Unsupported method", result);
+        ErrorResponse result = errorHandler.handleUnsupportedMethodException(exception);
+        assertEquals("Unsupported method: Unsupported method", result.getError());
     }
-}
-
-
-
 
+    @Test
+    public void testDomainExceptionsHaveNoStackTrace() {
+        EntityNotFoundException exception = new EntityNotFoundException("User not found");
+        assertEquals(0, exception.getStackTrace().length);
+    }
+}
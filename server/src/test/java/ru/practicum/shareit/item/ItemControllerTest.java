@@ -14,6 +14,8 @@ import ru.practicum.shareit.item.dto.comment.CommentDto;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.validator.PageableValidator;
 
+import java.time.LocalDateTime;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -87,6 +89,26 @@ class ItemControllerTest {
         verify(itemService, times(1)).getItemById(anyLong(), anyLong());
     }
 
+    @SneakyThrows
+    @Test
+    void getItemById_whenETagMatches_thenReturnNotModified() {
+        long itemId = 1L;
+        when(itemService.getItemById(anyLong(), anyLong())).thenReturn(ItemDto.builder().id(itemId).build());
+
+        String eTag = mockMvc.perform(get("/items/{itemId}", itemId)
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        mockMvc.perform(get("/items/{itemId}", itemId)
+                        .header("X-Sharer-User-Id", 1L)
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+    }
+
     @SneakyThrows
     @Test
     void getUserItems() {
@@ -115,6 +137,18 @@ class ItemControllerTest {
         verify(itemService, times(1)).getItemsBySearch(anyString(), any(Pageable.class));
     }
 
+    @SneakyThrows
+    @Test
+    void getItemAvailability_whenCorrectPeriod_thenReturnOk() {
+        mockMvc.perform(get("/items/{itemId}/availability", 1L)
+                        .param("from", "2030-01-01T12:00:00")
+                        .param("to", "2030-01-02T12:00:00")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk());
+
+        verify(itemService, times(1)).getItemAvailability(1L, 1L,
+                LocalDateTime.of(2030, 1, 1, 12, 0), LocalDateTime.of(2030, 1, 2, 12, 0));
+    }
 
     @SneakyThrows
     @Test
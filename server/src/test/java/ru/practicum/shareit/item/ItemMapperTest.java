@@ -2,7 +2,7 @@ package ru.practicum.shareit.item;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingLiteDto;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.comment.CommentDto;
@@ -12,18 +12,17 @@ import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 class ItemMapperTest {
 
-    private static final LocalDateTime START_BOOKING_TIME = LocalDateTime.now();
     private Item item;
     private User owner;
     private ItemDto itemDto;
     private ItemRequest request;
-    private BookingDto bookingDto;
 
 
     @BeforeEach
@@ -49,11 +48,6 @@ class ItemMapperTest {
                 .description("desc")
                 .id(1L)
                 .build();
-        bookingDto = BookingDto.builder()
-                .start(START_BOOKING_TIME)
-                .end(START_BOOKING_TIME.plusDays(1))
-                .status(BookingStatus.WAITING)
-                .build();
     }
 
     @Test
@@ -112,27 +106,16 @@ class ItemMapperTest {
     }
 
     @Test
-    void toItemDtoWithBookings() {
-        ItemDto actual = ItemMapper.toItemDtoWithBookings(item, List.of(bookingDto));
-
-        assertEquals(actual.getAvailable(), item.getAvailable());
-        assertEquals(actual.getLastBooking().getStatus(), bookingDto.getStatus());
-    }
-
-    @Test
-    void toItemDtoWithBookingsAndComments() {
-        CommentDto commentDto = CommentDto.builder()
-                .authorName("Bob")
-                .item(itemDto)
-                .text("text")
-                .id(1L)
-                .build();
+    void toItemDtoWithBookingsAndComments_whenLastAndNextBookingsGiven_thenSetThem() {
+        LocalDateTime now = LocalDateTime.now();
+        BookingLiteDto last = new BookingLiteDto(3L, now.minusHours(1), now, 2L, BookingStatus.APPROVED, item.getId());
+        BookingLiteDto next = new BookingLiteDto(6L, now.plusHours(1), now.plusDays(1), 2L, BookingStatus.WAITING, item.getId());
 
-        ItemDto actual = ItemMapper.toItemDtoWithBookingsAndComments(item, List.of(bookingDto), List.of(commentDto));
+        ItemDto actual = ItemMapper.toItemDtoWithBookingsAndComments(item, last, next, new ArrayList<>());
 
-        assertEquals(actual.getLastBooking().getStatus(), bookingDto.getStatus());
-        assertEquals(actual.getAvailable(),item.getAvailable());
-        assertEquals(actual.getComments().size(), 1);
+        assertEquals(actual.getLastBooking().getId(), 3L);
+        assertEquals(actual.getNextBooking().getId(), 6L);
+        assertEquals(actual.getComments().size(), 0);
     }
 
     @Test
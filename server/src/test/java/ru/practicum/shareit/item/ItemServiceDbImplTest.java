@@ -8,18 +8,23 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.booking.availability.ItemTimeline;
+import ru.practicum.shareit.booking.availability.ItemTimelineCache;
+import ru.practicum.shareit.booking.dto.BookingLiteDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.EmptyFieldException;
 import ru.practicum.shareit.exception.EntityNotFoundException;
 import ru.practicum.shareit.exception.IncorrectDataException;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.comment.CommentDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.model.comment.Comment;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.item.service.ItemServiceDbImpl;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
@@ -55,6 +60,10 @@ class ItemServiceDbImplTest {
     UserValidator userValidator;
     @Mock
     ItemValidator itemValidator;
+    @Mock
+    ItemSearchEngine itemSearchEngine;
+    @Mock
+    ItemTimelineCache itemTimelineCache;
 
     @InjectMocks
     ItemServiceDbImpl itemService;
@@ -210,17 +219,18 @@ class ItemServiceDbImplTest {
         LocalDateTime nextBooking = LocalDateTime.now();
         booker.setId(userId);
         Item expectedItem = new Item();
-        List<Booking> bookings = List.of(Booking.builder()
-                .item(expectedItem)
-                .booker(booker)
+        expectedItem.setOwner(booker);
+        List<BookingLiteDto> bookings = List.of(BookingLiteDto.builder()
+                .itemId(itemId)
+                .bookerId(userId)
                 .start(nextBooking)
-                .end(null)
                 .status(BookingStatus.APPROVED)
                 .build());
         expectedItem.setId(itemId);
         doNothing().when(userValidator).validateUserId(userId);
         when(itemValidator.validateItemIdAndReturns(itemId)).thenReturn(expectedItem);
-        when(bookingRepository.findAllByItem_Owner_Id(userId)).thenReturn(bookings);
+        when(bookingRepository.findLastBookingsByItemId(eq(itemId), any(LocalDateTime.class), anyList(), any(Pageable.class)))
+                .thenReturn(bookings);
 
         ItemDto actualItem = itemService.getItemById(itemId, userId);
 
@@ -260,11 +270,11 @@ class ItemServiceDbImplTest {
         LocalDateTime nextBooking = LocalDateTime.now();
         booker.setId(userId);
         Item expectedItem = new Item();
-        List<Booking> bookings = List.of(Booking.builder()
-                .item(expectedItem)
-                .booker(booker)
+        expectedItem.setOwner(booker);
+        List<BookingLiteDto> bookings = List.of(BookingLiteDto.builder()
+                .itemId(itemId)
+                .bookerId(userId)
                 .start(nextBooking)
-                .end(null)
                 .status(BookingStatus.APPROVED)
                 .build());
         List<Comment> comments = List.of(Comment.builder()
@@ -276,7 +286,8 @@ class ItemServiceDbImplTest {
         expectedItem.setId(itemId);
         doNothing().when(userValidator).validateUserId(userId);
         when(itemValidator.validateItemIdAndReturns(itemId)).thenReturn(expectedItem);
-        when(bookingRepository.findAllByItem_Owner_Id(userId)).thenReturn(bookings);
+        when(bookingRepository.findLastBookingsByItemId(eq(itemId), any(LocalDateTime.class), anyList(), any(Pageable.class)))
+                .thenReturn(bookings);
         when(commentRepository.findAllByItem_Id(itemId)).thenReturn(comments);
 
         ItemDto actualItem = itemService.getItemById(itemId, userId);
@@ -316,7 +327,6 @@ class ItemServiceDbImplTest {
         Item itemToComment = new Item();
         itemToComment.setId(1L);
         Pageable pageForItems = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "id"));
-        Pageable pageForComments = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "created"));
         List<Comment> comments = List.of(Comment.builder()
                 .text("Text")
                 .item(itemToComment)
@@ -324,7 +334,7 @@ class ItemServiceDbImplTest {
                 .build());
         doNothing().when(userValidator).validateUserId(userId);
         when(itemRepository.findByOwner_Id(userId, pageForItems)).thenReturn(List.of(itemToComment));
-        when(commentRepository.findAllByItemsUserId(userId, pageForComments)).thenReturn(comments);
+        when(commentRepository.findAllByItem_IdIn(List.of(1L), Sort.by(Sort.Direction.DESC, "created"))).thenReturn(comments);
 
         Collection<ItemDto> userItems = itemService.getItemsByUserId(userId, pageForItems);
         List<ItemDto> items = new ArrayList<>(userItems);
@@ -340,15 +350,10 @@ class ItemServiceDbImplTest {
         itemToBooking.setId(1L);
         LocalDateTime start = LocalDateTime.now();
         Pageable pageForItems = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "id"));
-        List<Booking> bookings = List.of(Booking.builder()
-                .item(itemToBooking)
-                .start(start)
-                .end(null)
-                .status(BookingStatus.APPROVED)
-                .build());
+        List<BookingLiteDto> bookings = List.of(new BookingLiteDto(1L, start, null, 2L, BookingStatus.APPROVED, 1L));
         doNothing().when(userValidator).validateUserId(userId);
         when(itemRepository.findByOwner_Id(userId, pageForItems)).thenReturn(List.of(itemToBooking));
-        when(bookingRepository.findAllByItem_Owner_Id(userId)).thenReturn(bookings);
+        when(bookingRepository.findLastBookingsByItemIdIn(eq(List.of(1L)), any(LocalDateTime.class), anyList())).thenReturn(bookings);
 
         Collection<ItemDto> userItems = itemService.getItemsByUserId(userId, pageForItems);
         List<ItemDto> items = new ArrayList<>(userItems);
@@ -364,13 +369,7 @@ class ItemServiceDbImplTest {
         itemToBooking.setId(1L);
         LocalDateTime start = LocalDateTime.now();
         Pageable pageForItems = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "id"));
-        List<Booking> bookings = List.of(Booking.builder()
-                .item(itemToBooking)
-                .start(start)
-                .end(null)
-                .status(BookingStatus.APPROVED)
-                .build());
-        Pageable pageForComments = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "created"));
+        List<BookingLiteDto> bookings = List.of(new BookingLiteDto(1L, start, null, 2L, BookingStatus.APPROVED, 1L));
         List<Comment> comments = List.of(Comment.builder()
                 .text("Text")
                 .item(itemToBooking)
@@ -378,8 +377,8 @@ class ItemServiceDbImplTest {
                 .build());
         doNothing().when(userValidator).validateUserId(userId);
         when(itemRepository.findByOwner_Id(userId, pageForItems)).thenReturn(List.of(itemToBooking));
-        when(bookingRepository.findAllByItem_Owner_Id(userId)).thenReturn(bookings);
-        when(commentRepository.findAllByItemsUserId(userId, pageForComments)).thenReturn(comments);
+        when(bookingRepository.findLastBookingsByItemIdIn(eq(List.of(1L)), any(LocalDateTime.class), anyList())).thenReturn(bookings);
+        when(commentRepository.findAllByItem_IdIn(List.of(1L), Sort.by(Sort.Direction.DESC, "created"))).thenReturn(comments);
 
         Collection<ItemDto> userItems = itemService.getItemsByUserId(userId, pageForItems);
         List<ItemDto> items = new ArrayList<>(userItems);
@@ -398,7 +397,7 @@ class ItemServiceDbImplTest {
                 .build();
         Pageable page = PageRequest.of(0, 10);
         String search = "DesC";
-        when(itemRepository.search("DesC", page)).thenReturn(List.of(item));
+        when(itemSearchEngine.search("DesC", page)).thenReturn(List.of(item));
 
         Collection<ItemDto> items = itemService.getItemsBySearch(search, page);
         List<ItemDto> itemsList = new ArrayList<>(items);
@@ -411,7 +410,7 @@ class ItemServiceDbImplTest {
     void getItemsBySearch_whenItemsAvailableFalse_thenReturnEmptyList() {
         Pageable page = PageRequest.of(0, 10);
         String search = "DesC";
-        when(itemRepository.search("DesC", page)).thenReturn(new ArrayList<>());
+        when(itemSearchEngine.search("DesC", page)).thenReturn(new ArrayList<>());
 
         Collection<ItemDto> items = itemService.getItemsBySearch(search, page);
         List<ItemDto> itemsList = new ArrayList<>(items);
@@ -431,7 +430,6 @@ class ItemServiceDbImplTest {
                 .status(BookingStatus.APPROVED)
                 .build());
         Comment expectedComment = Comment.builder().id(1L).text("text").build();
-        doNothing().when(userValidator).validateUserId(userId);
         doNothing().when(itemValidator).validateItemId(itemId);
         when(bookingRepository.findAllByUserIdAndItemIdAndEndDateIsPassed(any(Long.class), any(Long.class), any(LocalDateTime.class)))
                 .thenReturn(bookings);
@@ -497,4 +495,24 @@ class ItemServiceDbImplTest {
         assertEquals(incorrectDataException.getMessage(), "This user has no booking", "messages are diff");
     }
 
-}
\ No newline at end of file
+    @Test
+    void getItemAvailability_whenItemHasBooking_thenReturnBusyAndFreeRanges() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        BookingLiteDto booking = new BookingLiteDto(1L, from.plusDays(1), from.plusDays(2), 2L, BookingStatus.APPROVED, 1L);
+        when(itemTimelineCache.get(1L)).thenReturn(ItemTimeline.of(List.of(booking)));
+
+        ItemAvailabilityDto availability = itemService.getItemAvailability(1L, 1L, from, from.plusDays(3));
+
+        assertEquals(availability.getRanges().size(), 3);
+        assertEquals(availability.getRanges().get(1).getStart(), from.plusDays(1));
+        assertEquals(availability.getRanges().get(1).getBusy(), true);
+    }
+
+    @Test
+    void getItemAvailability_whenFromIsAfterTo_thenThrowIncorrectDataException() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+        assertThrows(IncorrectDataException.class, () -> itemService.getItemAvailability(1L, 1L, from, from.minusDays(1)));
+        verify(itemTimelineCache, never()).get(anyLong());
+    }
+}
@@ -0,0 +1,62 @@
+package ru.practicum.shareit.item.inmemory;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.comment.Comment;
+import ru.practicum.shareit.item.repository.inmemmory.CommentRepositoryInMemoryImpl;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CommentRepositoryInMemoryImplTest {
+
+    private CommentRepositoryInMemoryImpl commentRepository;
+    private Comment first;
+    private Comment second;
+    private Comment other;
+
+    @BeforeEach
+    public void fillData() {
+        commentRepository = new CommentRepositoryInMemoryImpl();
+        User owner = User.builder().id(1L).build();
+        Item item = Item.builder().id(1L).owner(owner).build();
+        Item otherItem = Item.builder().id(2L).owner(User.builder().id(2L).build()).build();
+        LocalDateTime created = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+        first = commentRepository.save(Comment.builder().text("first").item(item).created(created).build());
+        second = commentRepository.save(Comment.builder().text("second").item(item).created(created.plusHours(1)).build());
+        other = commentRepository.save(Comment.builder().text("other").item(otherItem).created(created).build());
+    }
+
+    @Test
+    void findAllByItem_Id_whenCommentsExist_thenReturnItemComments() {
+        assertEquals(commentRepository.findAllByItem_Id(1L), List.of(first, second));
+        assertTrue(commentRepository.findAllByItem_Id(3L).isEmpty());
+    }
+
+    @Test
+    void findAllByItem_IdIn_whenSortedByCreatedDesc_thenReturnSorted() {
+        assertEquals(commentRepository.findAllByItem_IdIn(List.of(1L, 2L), Sort.by(Sort.Direction.DESC, "created")).get(0),
+                second);
+    }
+
+    @Test
+    void findAllByItemsUserId_whenPaged_thenReturnOwnerComments() {
+        assertEquals(commentRepository.findAllByItemsUserId(1L, PageRequest.of(0, 1)), List.of(first));
+        assertEquals(commentRepository.findAllByItemsUserId(2L, PageRequest.of(0, 10)), List.of(other));
+    }
+
+    @Test
+    void deleteById_whenCommentExists_thenRemoveFromIndexes() {
+        commentRepository.deleteById(first.getId());
+
+        assertEquals(commentRepository.findAllByItem_Id(1L), List.of(second));
+        assertTrue(commentRepository.findById(first.getId()).isEmpty());
+    }
+}
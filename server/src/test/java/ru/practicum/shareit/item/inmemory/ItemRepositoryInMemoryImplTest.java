@@ -13,6 +13,9 @@ import ru.practicum.shareit.user.repository.inmemory.UserRepositoryInMemoryImpl;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -95,4 +98,29 @@ class ItemRepositoryInMemoryImplTest {
         assertEquals(itemsBySearch.size(), 1);
     }
 
-}
\ No newline at end of file
+    @Test
+    void getItemById_whenSeveralOwners_thenReturnItemOfAnyOwner() {
+        Item first = itemRepositoryInMemory.create(expectedItem, 1L);
+        itemRepositoryInMemory.create(Item.builder().available(true).description("d").name("n").build(), 2L);
+
+        assertEquals(itemRepositoryInMemory.getItemById(first.getId()), first);
+        assertTrue(itemRepositoryInMemory.getItemsByUserId(3L).isEmpty());
+    }
+
+    @Test
+    void create_whenConcurrent_thenIdsAreUnique() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 200; i++) {
+            long ownerId = i % 4;
+            executor.submit(() -> itemRepositoryInMemory.create(Item.builder()
+                    .available(true).description("desc").name("name").build(), ownerId));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(itemRepositoryInMemory.getItemsBySearch("desc").size(), 200);
+        assertEquals(itemRepositoryInMemory.getItemsByUserId(0L).size(), 50);
+        assertNotNull(itemRepositoryInMemory.getItemById(200L));
+    }
+
+}
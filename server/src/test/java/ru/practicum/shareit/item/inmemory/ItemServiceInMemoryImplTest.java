@@ -8,15 +8,26 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.booking.availability.BookingAvailability;
+import ru.practicum.shareit.booking.dto.BookingLiteDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.inmemory.BookingRepositoryInMemoryImpl;
 import ru.practicum.shareit.exception.EmptyFieldException;
+import ru.practicum.shareit.exception.EntityNotFoundException;
+import ru.practicum.shareit.exception.IncorrectDataException;
 import ru.practicum.shareit.exception.UnsupportedMethodException;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.comment.CommentDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.inmemmory.CommentRepositoryInMemoryImpl;
 import ru.practicum.shareit.item.repository.inmemmory.ItemRepositoryInMemoryImpl;
 import ru.practicum.shareit.item.service.ItemServiceInMemoryImpl;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.inmemory.UserRepositoryInMemoryImpl;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -33,6 +44,15 @@ class ItemServiceInMemoryImplTest {
     @Mock
     ItemRepositoryInMemoryImpl itemRepositoryInMemory;
 
+    @Mock
+    CommentRepositoryInMemoryImpl commentRepositoryInMemory;
+
+    @Mock
+    BookingRepositoryInMemoryImpl bookingRepositoryInMemory;
+
+    @Mock
+    UserRepositoryInMemoryImpl userRepositoryInMemory;
+
     @InjectMocks
     ItemServiceInMemoryImpl itemServiceInMemory;
 
@@ -119,10 +139,91 @@ class ItemServiceInMemoryImplTest {
     }
 
     @Test
-    void addCommentToItem() {
-        UnsupportedMethodException exception = assertThrows(UnsupportedMethodException.class,
-                () -> itemServiceInMemory.addCommentToItem(1L, 1L, new CommentDto()));
+    void addCommentToItem_whenUserHasFinishedBooking_thenSaveComment() {
+        User author = User.builder().id(2L).name("author").build();
+        when(userRepositoryInMemory.getById(2L)).thenReturn(author);
+        when(itemRepositoryInMemory.getItemById(1L)).thenReturn(expectedItem);
+        when(bookingRepositoryInMemory.findAllByUserIdAndItemIdAndEndDateIsPassed(eq(2L), eq(1L), any()))
+                .thenReturn(List.of(new Booking()));
+        when(commentRepositoryInMemory.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        CommentDto actual = itemServiceInMemory.addCommentToItem(2L, 1L, CommentDto.builder().text("good").build());
+
+        assertEquals(actual.getText(), "good");
+        assertEquals(actual.getAuthorName(), "author");
+        assertNotNull(actual.getCreated());
+        verify(commentRepositoryInMemory, times(1)).save(any());
+    }
+
+    @Test
+    void addCommentToItem_whenUserHasNoFinishedBooking_thenThrowIncorrectDataException() {
+        when(userRepositoryInMemory.getById(2L)).thenReturn(User.builder().id(2L).build());
+        when(itemRepositoryInMemory.getItemById(1L)).thenReturn(expectedItem);
+        when(bookingRepositoryInMemory.findAllByUserIdAndItemIdAndEndDateIsPassed(eq(2L), eq(1L), any()))
+                .thenReturn(List.of());
+
+        IncorrectDataException exception = assertThrows(IncorrectDataException.class,
+                () -> itemServiceInMemory.addCommentToItem(2L, 1L, CommentDto.builder().text("good").build()));
+
+        assertEquals(exception.getMessage(), "This user has no booking");
+        verify(commentRepositoryInMemory, never()).save(any());
+    }
+
+    @Test
+    void addCommentToItem_whenItemNotExists_thenThrowEntityNotFoundException() {
+        when(userRepositoryInMemory.getById(2L)).thenReturn(User.builder().id(2L).build());
+
+        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
+                () -> itemServiceInMemory.addCommentToItem(2L, 1L, CommentDto.builder().text("good").build()));
 
-        assertEquals(exception.getMessage(), "inMemory addCommentToItem");
+        assertEquals(exception.getMessage(), "There is no Item with Id: 1");
+    }
+
+    @Test
+    void addCommentToItem_whenTextIsEmpty_thenThrowIncorrectDataException() {
+        when(userRepositoryInMemory.getById(2L)).thenReturn(User.builder().id(2L).build());
+        when(itemRepositoryInMemory.getItemById(1L)).thenReturn(expectedItem);
+
+        assertThrows(IncorrectDataException.class,
+                () -> itemServiceInMemory.addCommentToItem(2L, 1L, new CommentDto()));
+    }
+
+    @Test
+    void getItemAvailability_whenItemHasBooking_thenReturnBusyAndFreeRanges() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        BookingLiteDto booking = new BookingLiteDto(1L, from.plusDays(1), from.plusDays(2), 2L, BookingStatus.APPROVED, 1L);
+        when(userRepositoryInMemory.getById(1L)).thenReturn(User.builder().id(1L).build());
+        when(itemRepositoryInMemory.getItemById(1L)).thenReturn(expectedItem);
+        when(bookingRepositoryInMemory.findAllByItemIdAndStatuses(1L, BookingAvailability.ACTIVE_STATUSES))
+                .thenReturn(List.of(booking));
+
+        ItemAvailabilityDto availability = itemServiceInMemory.getItemAvailability(1L, 1L, from, from.plusDays(3));
+
+        assertEquals(availability.getItemId(), 1L);
+        assertEquals(availability.getRanges().size(), 3);
+        assertEquals(availability.getRanges().get(1).getStart(), from.plusDays(1));
+        assertEquals(availability.getRanges().get(1).getBusy(), true);
+    }
+
+    @Test
+    void getItemAvailability_whenItemNotExists_thenThrowEntityNotFoundException() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        when(userRepositoryInMemory.getById(1L)).thenReturn(User.builder().id(1L).build());
+
+        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
+                () -> itemServiceInMemory.getItemAvailability(1L, 1L, from, from.plusDays(1)));
+
+        assertEquals(exception.getMessage(), "There is no Item with Id: 1");
+    }
+
+    @Test
+    void getItemAvailability_whenFromIsAfterTo_thenThrowIncorrectDataException() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        when(userRepositoryInMemory.getById(1L)).thenReturn(User.builder().id(1L).build());
+        when(itemRepositoryInMemory.getItemById(1L)).thenReturn(expectedItem);
+
+        assertThrows(IncorrectDataException.class,
+                () -> itemServiceInMemory.getItemAvailability(1L, 1L, from, from.minusDays(1)));
+        verify(bookingRepositoryInMemory, never()).findAllByItemIdAndStatuses(anyLong(), any());
     }
-}
\ No newline at end of file
+}
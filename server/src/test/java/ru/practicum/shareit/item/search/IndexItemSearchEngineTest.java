@@ -0,0 +1,163 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IndexItemSearchEngineTest {
+
+    private static final Pageable PAGE = PageRequest.of(0, 10);
+
+    @Mock
+    ItemRepository itemRepository;
+
+    @InjectMocks
+    IndexItemSearchEngine searchEngine;
+
+    private User owner;
+
+    @BeforeEach
+    public void fillIndex() {
+        owner = User.builder()
+                .id(1L)
+                .name("owner")
+                .build();
+        searchEngine.index(item(1L, "Drill", "Simple drill", true));
+        searchEngine.index(item(2L, "Screwdriver", "Cordless screwdriver", true));
+        searchEngine.index(item(3L, "Glue", "Tube of superglue", false));
+        searchEngine.index(item(4L, "Drill+", "Cordless drill", true));
+    }
+
+    @Test
+    void search_whenTextInNameOrDescription_thenReturnAvailableItemsOrderedById() {
+        List<Item> items = searchEngine.search("dRiLl", PAGE);
+
+        assertEquals(items.size(), 2);
+        assertEquals(items.get(0).getId(), 1L);
+        assertEquals(items.get(1).getId(), 4L);
+        assertEquals(items.get(1).ownerId(), owner.getId());
+    }
+
+    @Test
+    void search_whenTextIsShorterThanTrigram_thenScanAvailableItems() {
+        List<Item> items = searchEngine.search("co", PAGE);
+
+        assertEquals(items.size(), 2);
+    }
+
+    @Test
+    void search_whenItemIsUnavailable_thenReturnEmptyList() {
+        List<Item> items = searchEngine.search("glue", PAGE);
+
+        assertEquals(items.size(), 0);
+    }
+
+    @Test
+    void search_whenPageIsSecond_thenSkipFirstPage() {
+        List<Item> items = searchEngine.search("cordless", PageRequest.of(1, 1));
+
+        assertEquals(items.size(), 1);
+        assertEquals(items.get(0).getId(), 4L);
+    }
+
+    @Test
+    void index_whenItemIsUpdated_thenOldTextIsNotFound() {
+        searchEngine.index(item(1L, "Hammer", "Heavy hammer", true));
+
+        assertEquals(searchEngine.search("simple", PAGE).size(), 0);
+        assertEquals(searchEngine.search("hamm", PAGE).size(), 1);
+    }
+
+    @Test
+    void remove_whenItemIsRemoved_thenItIsNotFound() {
+        searchEngine.remove(1L);
+
+        List<Item> items = searchEngine.search("drill", PAGE);
+
+        assertEquals(items.size(), 1);
+        assertEquals(items.get(0).getId(), 4L);
+    }
+
+    @Test
+    void rebuild_whenRepositoryHasItems_thenIndexThem() {
+        when(itemRepository.findAll(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(item(5L, "Saw", "Hand saw", true))));
+
+        searchEngine.rebuild();
+
+        assertEquals(searchEngine.search("saw", PAGE).size(), 1);
+    }
+
+    @Test
+    void rebuild_whenItemIsUpdatedWhileLoading_thenKeepNewerVersion() {
+        when(itemRepository.findAll(any(Pageable.class))).thenAnswer(invocation -> {
+            searchEngine.index(item(5L, "Saw", "Chain saw", true));
+            return new PageImpl<>(List.of(item(5L, "Saw", "Hand saw", true)));
+        });
+
+        searchEngine.rebuild();
+
+        assertEquals(searchEngine.search("hand", PAGE).size(), 0);
+        assertEquals(searchEngine.search("chain", PAGE).size(), 1);
+    }
+
+    @Test
+    void rebuild_whenItemIsRemovedWhileLoading_thenDropIt() {
+        when(itemRepository.findAll(any(Pageable.class))).thenAnswer(invocation -> {
+            searchEngine.remove(5L);
+            return new PageImpl<>(List.of(item(5L, "Saw", "Hand saw", true)));
+        });
+
+        searchEngine.rebuild();
+
+        assertEquals(searchEngine.search("saw", PAGE).size(), 0);
+    }
+
+    @Test
+    void search_whenItemIsReindexedConcurrently_thenAlwaysFindTextOfBothVersions() throws InterruptedException {
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread writer = new Thread(() -> {
+            boolean simple = false;
+            while (running.get()) {
+                searchEngine.index(item(1L, "Drill", simple ? "Simple drill" : "Hammer drill", true));
+                simple = !simple;
+            }
+        });
+        writer.start();
+        try {
+            for (int i = 0; i < 20_000; i++) {
+                assertEquals(searchEngine.search("drill", PAGE).size(), 2);
+            }
+        } finally {
+            running.set(false);
+            writer.join();
+        }
+    }
+
+    private Item item(long id, String name, String description, boolean available) {
+        return Item.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .available(available)
+                .owner(owner)
+                .build();
+    }
+}
@@ -0,0 +1,90 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import ru.practicum.shareit.PostgresTestDatabase;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "shareit.item.search.engine=postgres")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({JpaItemSearchEngine.class, IndexItemSearchEngine.class, PostgresItemSearchEngine.class})
+@EnabledIfSystemProperty(named = PostgresTestDatabase.URL_PROPERTY, matches = ".+")
+class PostgresItemSearchEngineIntegrationTest {
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        PostgresTestDatabase.register(registry);
+    }
+
+    @Autowired
+    ItemSearchEngine searchEngine;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    private long drillId;
+    private long cordlessId;
+    private long hammerId;
+
+    @BeforeEach
+    public void addItems() {
+        User owner = userRepository.save(User.builder().name("owner").email("owner" + System.nanoTime() + "@mail.ru").build());
+        hammerId = itemRepository.save(item(owner, "Hammer", "Hammer drill with a long bit set", true)).getId();
+        cordlessId = itemRepository.save(item(owner, "Cordless drill", "Battery powered", true)).getId();
+        drillId = itemRepository.save(item(owner, "Drill", "Simple", true)).getId();
+        itemRepository.save(item(owner, "Drill press", "Out of order", false));
+    }
+
+    @Test
+    void searchEngine_whenPropertyIsPostgres_thenPostgresEngineIsWired() {
+        assertTrue(searchEngine instanceof PostgresItemSearchEngine);
+    }
+
+    @Test
+    void search_whenTextMatches_thenReturnAvailableItemsBySimilarity() {
+        List<Long> ids = searchEngine.search("DRILL", PageRequest.of(0, 10)).stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+
+        assertEquals(ids, List.of(drillId, cordlessId, hammerId));
+    }
+
+    @Test
+    void search_whenPageIsSecond_thenSkipFirstPage() {
+        List<Item> items = searchEngine.search("drill", PageRequest.of(1, 1));
+
+        assertEquals(items.size(), 1);
+        assertEquals(items.get(0).getId(), cordlessId);
+    }
+
+    private Item item(User owner, String name, String description, boolean available) {
+        return Item.builder()
+                .name(name)
+                .description(description)
+                .available(available)
+                .owner(owner)
+                .build();
+    }
+}
@@ -0,0 +1,56 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PostgresItemSearchEngineTest {
+
+    @Mock
+    ItemRepository itemRepository;
+
+    @InjectMocks
+    PostgresItemSearchEngine searchEngine;
+
+    @Test
+    void search_whenCalled_thenPassTextAndPageToTrigramQuery() {
+        Pageable page = PageRequest.of(2, 5);
+        List<Item> found = List.of(Item.builder().id(1L).name("Drill").available(true).build());
+        when(itemRepository.searchByTrigramSimilarity("dril", page)).thenReturn(found);
+
+        List<Item> items = searchEngine.search("dril", page);
+
+        assertEquals(items, found);
+        verify(itemRepository).searchByTrigramSimilarity("dril", page);
+    }
+
+    @Test
+    void index_whenCalled_thenDoNothing() {
+        searchEngine.index(Item.builder().id(1L).build());
+
+        verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    void engine_whenPropertyIsPostgres_thenWirePostgresEngineOnly() {
+        new ApplicationContextRunner()
+                .withBean(ItemRepository.class, () -> mock(ItemRepository.class))
+                .withUserConfiguration(JpaItemSearchEngine.class, IndexItemSearchEngine.class, PostgresItemSearchEngine.class)
+                .withPropertyValues("shareit.item.search.engine=postgres")
+                .run(context -> assertTrue(context.getBean(ItemSearchEngine.class) instanceof PostgresItemSearchEngine));
+    }
+}
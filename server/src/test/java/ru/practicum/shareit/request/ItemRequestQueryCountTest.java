@@ -0,0 +1,104 @@
+package ru.practicum.shareit.request;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.request.service.ItemRequestServiceImpl;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.validator.ItemRequestValidator;
+import ru.practicum.shareit.validator.RequestEntityCache;
+import ru.practicum.shareit.validator.UserValidator;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Import({ItemRequestServiceImpl.class, UserValidator.class, ItemRequestValidator.class, RequestEntityCache.class})
+class ItemRequestQueryCountTest {
+
+    private static final int REQUESTS_COUNT = 20;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Autowired
+    ItemRequestService itemRequestService;
+
+    private Statistics statistics;
+    private long viewerId;
+    private long requesterId;
+
+    @BeforeEach
+    public void addRequestsWithResponses() {
+        User viewer = entityManager.persist(User.builder().name("viewer").email("viewer@mail.ru").build());
+        User requester = entityManager.persist(User.builder().name("requester").email("requester@mail.ru").build());
+        viewerId = viewer.getId();
+        requesterId = requester.getId();
+        for (int i = 0; i < REQUESTS_COUNT; i++) {
+            ItemRequest request = entityManager.persist(ItemRequest.builder()
+                    .description("request" + i)
+                    .requester(requester)
+                    .creationDate(LocalDateTime.now().minusHours(i))
+                    .build());
+            for (int j = 0; j < 2; j++) {
+                User owner = entityManager.persist(User.builder().name("owner").email("owner" + i + "_" + j + "@mail.ru").build());
+                entityManager.persist(Item.builder()
+                        .name("item" + j)
+                        .description("desc")
+                        .available(true)
+                        .owner(owner)
+                        .request(request)
+                        .build());
+            }
+        }
+        entityManager.flush();
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void getAllRequestsToResponse_whenPageSizeGrows_thenQueryCountStaysConstant() {
+        List<Long> queryCounts = new ArrayList<>();
+        for (int size : new int[]{1, 5, REQUESTS_COUNT}) {
+            entityManager.clear();
+            statistics.clear();
+
+            List<ItemRequestDto> requests = new ArrayList<>(itemRequestService.getAllRequestsToResponse(viewerId,
+                    PageRequest.of(0, size, Sort.by("creationDate").descending())));
+
+            assertEquals(requests.size(), size);
+            assertEquals(requests.get(0).getItems().size(), 2);
+            queryCounts.add(statistics.getPrepareStatementCount());
+        }
+
+        assertEquals(queryCounts, List.of(3L, 3L, 3L));
+    }
+
+    @Test
+    void getAllUserRequestsWithResponses_whenUserHasManyRequests_thenLoadThemInConstantQueries() {
+        entityManager.clear();
+        statistics.clear();
+
+        List<ItemRequestDto> requests = new ArrayList<>(itemRequestService.getAllUserRequestsWithResponses(requesterId));
+
+        assertEquals(requests.size(), REQUESTS_COUNT);
+        assertEquals(requests.stream().mapToInt(r -> r.getItems().size()).sum(), REQUESTS_COUNT * 2);
+        assertEquals(statistics.getPrepareStatementCount(), 3L);
+    }
+}
@@ -10,6 +10,7 @@ import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.exception.EntityNotFoundException;
 import ru.practicum.shareit.exception.IncorrectDataException;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
@@ -33,6 +34,9 @@ class ItemRequestServiceImplTest {
     @Mock
     ItemRequestRepository itemRequestRepository;
 
+    @Mock
+    ItemRepository itemRepository;
+
     @Mock
     UserValidator userValidator;
 
@@ -136,10 +140,11 @@ class ItemRequestServiceImplTest {
         ItemRequest expectedRequest = new ItemRequest();
         doNothing().when(userValidator).validateUserId(anyLong());
         when(itemRequestValidator.validateItemRequestIdAndReturns(anyLong())).thenReturn(new ItemRequest());
+        when(itemRepository.findAllByRequest_IdIn(List.of(1L))).thenReturn(new ArrayList<>());
 
         ItemRequestDto actualRequest = requestService.getRequestById(1L, 1L);
 
-        assertEquals(actualRequest, toItemRequestDto(expectedRequest));
+        assertEquals(actualRequest, toItemRequestDto(expectedRequest, new ArrayList<>()));
     }
 
     @Test
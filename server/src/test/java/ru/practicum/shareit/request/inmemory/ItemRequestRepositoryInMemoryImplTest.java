@@ -0,0 +1,66 @@
+package ru.practicum.shareit.request.inmemory;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.inmemory.ItemRequestRepositoryInMemoryImpl;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemRequestRepositoryInMemoryImplTest {
+
+    private ItemRequestRepositoryInMemoryImpl requestRepository;
+    private ItemRequest older;
+    private ItemRequest newer;
+    private ItemRequest own;
+
+    @BeforeEach
+    public void fillData() {
+        requestRepository = new ItemRequestRepositoryInMemoryImpl();
+        User requester = User.builder().id(1L).build();
+        User other = User.builder().id(2L).build();
+        LocalDateTime created = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+        older = requestRepository.save(request(other, created));
+        newer = requestRepository.save(request(other, created.plusDays(1)));
+        own = requestRepository.save(request(requester, created.plusDays(2)));
+    }
+
+    @Test
+    void findAllByRequester_Id_whenRequestsExist_thenReturnRequesterRequests() {
+        assertEquals(requestRepository.findAllByRequester_Id(2L), List.of(older, newer));
+        assertEquals(requestRepository.findAllByRequester_Id(1L), List.of(own));
+    }
+
+    @Test
+    void findAllByAllOtherUsers_whenPaged_thenReturnNewestFirst() {
+        PageRequest page = PageRequest.of(0, 1, Sort.by("creationDate").descending());
+
+        assertEquals(requestRepository.findAllByAllOtherUsers(1L, page), List.of(newer));
+        assertEquals(requestRepository.findAllByAllOtherUsers(1L, page.next()), List.of(older));
+        assertEquals(requestRepository.findAllByAllOtherUsers(2L, page), List.of(own));
+    }
+
+    @Test
+    void save_whenRequestUpdated_thenFindByIdReturnsUpdated() {
+        older.setDescription("updated");
+        requestRepository.save(older);
+
+        assertEquals(requestRepository.findById(older.getId()).orElseThrow().getDescription(), "updated");
+        assertEquals(requestRepository.findAllByAllOtherUsers(1L, PageRequest.of(0, 10)), List.of(newer, older));
+    }
+
+    private ItemRequest request(User requester, LocalDateTime created) {
+        return ItemRequest.builder()
+                .description("desc")
+                .requester(requester)
+                .creationDate(created)
+                .build();
+    }
+}
@@ -0,0 +1,178 @@
+package ru.practicum.shareit.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.practicum.shareit.exception.EmailIsAlreadyRegisteredException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.inmemmory.ItemJournalCodec;
+import ru.practicum.shareit.item.repository.inmemmory.ItemRepositoryInMemoryImpl;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.inmemory.UserJournalCodec;
+import ru.practicum.shareit.user.repository.inmemory.UserRepositoryInMemoryImpl;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recover_whenOnlyLogExists_thenReplayMutations() {
+        InMemoryJournal<User> journal = userJournal();
+        UserRepositoryInMemoryImpl users = new UserRepositoryInMemoryImpl(journal);
+        users.create(user("first@mail.ru"));
+        User second = users.create(user("second@mail.ru"));
+        users.update(User.builder().id(second.getId()).name("updated").email("updated@mail.ru").build());
+        users.delete(1L);
+        journal.close();
+
+        UserRepositoryInMemoryImpl recovered = new UserRepositoryInMemoryImpl(userJournal());
+
+        assertEquals(recovered.getAll().size(), 1);
+        assertEquals(recovered.getById(2L).getName(), "updated");
+        assertNull(recovered.getById(1L));
+        assertThrows(EmailIsAlreadyRegisteredException.class, () -> recovered.create(user("updated@mail.ru")));
+        assertEquals(recovered.create(user("second@mail.ru")).getId(), 3L);
+    }
+
+    @Test
+    void recover_whenSnapshotTaken_thenLoadSnapshotAndReplayTail() throws IOException {
+        InMemoryJournal<User> journal = userJournal();
+        UserRepositoryInMemoryImpl users = new UserRepositoryInMemoryImpl(journal);
+        for (int i = 0; i < 1000; i++) {
+            users.create(user(i + "@mail.ru"));
+        }
+        journal.snapshot();
+        users.delete(10L);
+        users.create(user("tail@mail.ru"));
+        journal.close();
+
+        assertEquals(walFiles().size(), 1);
+
+        UserRepositoryInMemoryImpl recovered = new UserRepositoryInMemoryImpl(userJournal());
+
+        assertEquals(recovered.getAll().size(), 1000);
+        assertNull(recovered.getById(10L));
+        assertEquals(recovered.getById(1001L).getEmail(), "tail@mail.ru");
+    }
+
+    @Test
+    void recover_whenLogTailIsTorn_thenTruncateAndKeepCommittedRecords() throws IOException {
+        InMemoryJournal<User> journal = userJournal();
+        UserRepositoryInMemoryImpl users = new UserRepositoryInMemoryImpl(journal);
+        users.create(user("first@mail.ru"));
+        journal.close();
+        Path wal = walFiles().get(0);
+        long committedSize = Files.size(wal);
+        Files.write(wal, new byte[]{0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        InMemoryJournal<User> reopened = userJournal();
+        UserRepositoryInMemoryImpl recovered = new UserRepositoryInMemoryImpl(reopened);
+        recovered.create(user("second@mail.ru"));
+        reopened.close();
+
+        assertEquals(recovered.getAll().size(), 2);
+        assertTrue(Files.size(wal) > committedSize);
+        assertEquals(new UserRepositoryInMemoryImpl(userJournal()).getAll().size(), 2);
+    }
+
+    @Test
+    void recover_whenSealedSegmentIsCorrupt_thenFailWithoutTruncating() throws IOException {
+        InMemoryJournal<User> journal = userJournal();
+        UserRepositoryInMemoryImpl users = new UserRepositoryInMemoryImpl(journal);
+        users.create(user("first@mail.ru"));
+        users.create(user("second@mail.ru"));
+        journal.close();
+        Path sealed = walFiles().get(0);
+        byte[] bytes = Files.readAllBytes(sealed);
+        bytes[20] ^= 0x7f;
+        Files.write(sealed, bytes);
+        Files.createFile(directory.resolve("users-000002.wal"));
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> new UserRepositoryInMemoryImpl(userJournal()));
+
+        assertTrue(exception.getMessage().contains("segment 1"));
+        assertEquals(Files.size(sealed), bytes.length);
+    }
+
+    @Test
+    void mutate_whenAppendFails_thenLeaveRepositoryUnchanged() {
+        JournalCodec<User> codec = new UserJournalCodec() {
+            @Override
+            public void write(User entity, DataOutput out) throws IOException {
+                if (entity.getEmail().startsWith("broken")) {
+                    throw new IOException("disk full");
+                }
+                super.write(entity, out);
+            }
+        };
+        UserRepositoryInMemoryImpl users = new UserRepositoryInMemoryImpl(
+                new InMemoryJournal<>(directory, "users", codec, Duration.ZERO, Duration.ZERO));
+        User first = users.create(user("first@mail.ru"));
+
+        assertThrows(UncheckedIOException.class, () -> users.create(user("broken@mail.ru")));
+        assertThrows(UncheckedIOException.class, () -> users.update(
+                User.builder().id(first.getId()).name("updated").email("broken@mail.ru").build()));
+
+        assertEquals(users.getAll().size(), 1);
+        assertEquals(users.getById(first.getId()).getEmail(), "first@mail.ru");
+        assertEquals(users.create(user("second@mail.ru")).getEmail(), "second@mail.ru");
+        assertThrows(EmailIsAlreadyRegisteredException.class, () -> users.create(user("first@mail.ru")));
+    }
+
+    @Test
+    void recover_whenItemsJournaled_thenRestoreWithOwners() {
+        InMemoryJournal<User> userJournal = userJournal();
+        InMemoryJournal<Item> itemJournal = itemJournal();
+        UserRepositoryInMemoryImpl users = new UserRepositoryInMemoryImpl(userJournal);
+        ItemRepositoryInMemoryImpl items = new ItemRepositoryInMemoryImpl(users, itemJournal);
+        User owner = users.create(user("owner@mail.ru"));
+        Item item = items.create(Item.builder().name("name").description("desc").available(true).build(), owner.getId());
+        item.setAvailable(false);
+        items.update(item, owner.getId());
+        itemJournal.snapshot();
+        items.create(Item.builder().name("drill").description("drill").available(true).build(), owner.getId());
+        userJournal.close();
+        itemJournal.close();
+
+        ItemRepositoryInMemoryImpl recovered = new ItemRepositoryInMemoryImpl(
+                new UserRepositoryInMemoryImpl(userJournal()), itemJournal());
+
+        assertEquals(recovered.getItemsByUserId(owner.getId()).size(), 2);
+        assertEquals(recovered.getItemById(1L).getAvailable(), false);
+        assertEquals(recovered.getItemById(1L).getOwner().getEmail(), "owner@mail.ru");
+        assertEquals(recovered.getItemsBySearch("drill").size(), 1);
+    }
+
+    private InMemoryJournal<User> userJournal() {
+        return new InMemoryJournal<>(directory, "users", new UserJournalCodec(), Duration.ofMillis(10), Duration.ZERO);
+    }
+
+    private InMemoryJournal<Item> itemJournal() {
+        return new InMemoryJournal<>(directory, "items", new ItemJournalCodec(), Duration.ZERO, Duration.ZERO);
+    }
+
+    private User user(String email) {
+        return User.builder().name("name").email(email).build();
+    }
+
+    private List<Path> walFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith("users-"))
+                    .collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package ru.practicum.shareit.user;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.user.service.UserServiceDbImpl;
+import ru.practicum.shareit.validator.RequestEntityCache;
+import ru.practicum.shareit.validator.UserValidator;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true"})
+@ActiveProfiles("test")
+@Import({UserServiceDbImpl.class, UserValidator.class, RequestEntityCache.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserSecondLevelCacheTest {
+
+    @MockBean
+    ItemSearchEngine itemSearchEngine;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    UserService userService;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private long userId;
+
+    @BeforeEach
+    public void addUser() {
+        userId = userRepository.save(User.builder().name("user").email("user" + System.nanoTime() + "@mail.ru").build()).getId();
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findById_whenUserWasLoaded_thenServeFromSecondLevelCache() {
+        userRepository.findById(userId);
+        userRepository.findById(userId);
+
+        assertEquals(statistics.getSecondLevelCacheMissCount(), 1);
+        assertEquals(statistics.getSecondLevelCacheHitCount(), 1);
+        assertEquals(statistics.getPrepareStatementCount(), 1);
+    }
+
+    @Test
+    void update_whenUserIsCached_thenReturnUpdatedUser() {
+        userRepository.findById(userId);
+
+        userService.update(UserDto.builder().id(userId).name("updated").build());
+
+        assertEquals(userRepository.findById(userId).orElseThrow().getName(), "updated");
+    }
+
+    @Test
+    void delete_whenUserIsCached_thenEvictUser() {
+        userRepository.findById(userId);
+
+        userService.delete(userId);
+
+        assertTrue(userRepository.findById(userId).isEmpty());
+    }
+
+    @Test
+    void save_whenItemIsCached_thenReturnUpdatedItem() {
+        Item item = itemRepository.save(Item.builder().name("drill").description("drill").available(true)
+                .owner(userRepository.findById(userId).orElseThrow()).build());
+        itemRepository.findById(item.getId());
+
+        item.setName("updated drill");
+        itemRepository.save(item);
+
+        assertEquals(itemRepository.findById(item.getId()).orElseThrow().getName(), "updated drill");
+    }
+
+    @Test
+    void delete_whenUserIsDeleted_thenEvictCascadedItemsAndRequests() {
+        User owner = userRepository.findById(userId).orElseThrow();
+        User requester = userRepository.save(User.builder().name("requester")
+                .email("requester" + System.nanoTime() + "@mail.ru").build());
+        ItemRequest request = itemRequestRepository.save(ItemRequest.builder().description("need a drill")
+                .requester(requester).creationDate(LocalDateTime.now()).build());
+        Item ownItem = itemRepository.save(Item.builder().name("saw").description("saw").available(true)
+                .owner(requester).build());
+        Item answer = itemRepository.save(Item.builder().name("drill").description("drill").available(true)
+                .owner(owner).request(request).build());
+        itemRepository.save(Item.builder().name("hammer").description("hammer").available(true).owner(owner).build());
+        itemRepository.findById(ownItem.getId());
+        itemRepository.findById(answer.getId());
+        itemRequestRepository.findById(request.getId());
+
+        userService.delete(requester.getId());
+
+        Cache cache = entityManagerFactory.getCache();
+        assertFalse(cache.contains(Item.class, ownItem.getId()));
+        assertFalse(cache.contains(Item.class, answer.getId()));
+        assertFalse(cache.contains(ItemRequest.class, request.getId()));
+        assertTrue(itemRepository.findById(ownItem.getId()).isEmpty());
+        assertTrue(itemRepository.findById(answer.getId()).isEmpty());
+        assertTrue(itemRequestRepository.findById(request.getId()).isEmpty());
+        verify(itemSearchEngine).remove(ownItem.getId());
+        verify(itemSearchEngine).remove(answer.getId());
+        verifyNoMoreInteractions(itemSearchEngine);
+    }
+}
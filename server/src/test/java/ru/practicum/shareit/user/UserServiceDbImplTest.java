@@ -7,14 +7,21 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import ru.practicum.shareit.exception.EmptyFieldException;
 import ru.practicum.shareit.exception.EntityNotFoundException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.user.service.UserServiceDbImpl;
 import ru.practicum.shareit.validator.UserValidator;
 
+import javax.persistence.Cache;
+import javax.persistence.EntityManagerFactory;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -32,6 +39,18 @@ class UserServiceDbImplTest {
     @Mock
     UserValidator userValidator;
 
+    @Mock
+    EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    Cache cache;
+
+    @Mock
+    ItemRepository itemRepository;
+
+    @Mock
+    ItemSearchEngine itemSearchEngine;
+
     @InjectMocks
     UserServiceDbImpl userService;
 
@@ -126,11 +145,17 @@ class UserServiceDbImplTest {
         User expectedUser = new User();
         expectedUser.setEmail("test@mail.ru");
         when(userValidator.validateUserIdAndReturn(userId)).thenReturn(expectedUser);
+        when(entityManagerFactory.getCache()).thenReturn(cache);
+        when(itemRepository.findIdsByOwnerIdOrRequesterId(0L)).thenReturn(List.of(1L, 2L));
 
         userService.delete(userId);
 
         verify(userRepository, times(1))
                 .deleteById(0L);
+        verify(cache).evict(Item.class);
+        verify(cache).evict(ItemRequest.class);
+        verify(itemSearchEngine).remove(1L);
+        verify(itemSearchEngine).remove(2L);
     }
 
     @Test
@@ -3,11 +3,18 @@ package ru.practicum.shareit.user.inmemory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import ru.practicum.shareit.exception.EmailIsAlreadyRegisteredException;
+import ru.practicum.shareit.exception.EntityNotFoundException;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.inmemory.UserRepositoryInMemoryImpl;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -84,4 +91,79 @@ class UserRepositoryInMemoryImplTest {
 
         assertEquals(users.size(), 0);
     }
-}
\ No newline at end of file
+
+    @Test
+    void create_whenSameEmailConcurrently_thenOnlyOneUserCreated() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        AtomicInteger rejected = new AtomicInteger();
+        for (int i = 0; i < 100; i++) {
+            executor.submit(() -> {
+                try {
+                    userRepositoryInMemory.create(User.builder().email("mail@mail.ru").name("name").build());
+                } catch (EmailIsAlreadyRegisteredException e) {
+                    rejected.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(userRepositoryInMemory.getAll().size(), 1);
+        assertEquals(rejected.get(), 99);
+    }
+
+    @Test
+    void update_whenEmailChanged_thenOldEmailIsReleased() {
+        User oldUser = userRepositoryInMemory.create(user);
+        User updated = User.builder().id(oldUser.getId()).email("newEmail@mail.ru").name("name").build();
+
+        userRepositoryInMemory.update(updated);
+        User created = userRepositoryInMemory.create(User.builder().email("mail@mail.ru").name("other").build());
+
+        assertEquals(created.getId(), 2);
+    }
+
+    @Test
+    void delete_whenEmailIsUpdatedConcurrently_thenReleaseCurrentEmail() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int i = 0; i < 500; i++) {
+                long id = userRepositoryInMemory.create(User.builder().email("old" + i + "@mail.ru").name("name").build()).getId();
+                User updated = User.builder().id(id).email("new" + i + "@mail.ru").name("name").build();
+                CountDownLatch start = new CountDownLatch(1);
+                Future<?> update = executor.submit(() -> {
+                    start.await();
+                    try {
+                        userRepositoryInMemory.update(updated);
+                    } catch (EntityNotFoundException e) {
+                        // deleted first
+                    }
+                    return null;
+                });
+                Future<?> delete = executor.submit(() -> {
+                    start.await();
+                    userRepositoryInMemory.delete(id);
+                    return null;
+                });
+                start.countDown();
+                update.get(10, TimeUnit.SECONDS);
+                delete.get(10, TimeUnit.SECONDS);
+
+                assertNull(userRepositoryInMemory.getById(id));
+                userRepositoryInMemory.create(User.builder().email("old" + i + "@mail.ru").name("name").build());
+                userRepositoryInMemory.create(User.builder().email("new" + i + "@mail.ru").name("name").build());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void update_whenUserIsDeleted_thenThrowEntityNotFoundException() {
+        User created = userRepositoryInMemory.create(user);
+        userRepositoryInMemory.delete(created.getId());
+
+        assertThrows(EntityNotFoundException.class, () -> userRepositoryInMemory.update(
+                User.builder().id(created.getId()).email("newEmail@mail.ru").name("name").build()));
+    }
+}
@@ -4,6 +4,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
@@ -23,6 +24,9 @@ class BookingValidatorTest {
     @Mock
     BookingRepository bookingRepository;
 
+    @Spy
+    RequestEntityCache entityCache = new RequestEntityCache();
+
     @InjectMocks
     BookingValidator bookingValidator;
 
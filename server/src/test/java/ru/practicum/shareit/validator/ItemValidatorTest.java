@@ -4,6 +4,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import ru.practicum.shareit.exception.EmptyFieldException;
 import ru.practicum.shareit.exception.EntityNotFoundException;
@@ -25,6 +26,9 @@ class ItemValidatorTest {
     @Mock
     ItemRepository repository;
 
+    @Spy
+    RequestEntityCache entityCache = new RequestEntityCache();
+
     @InjectMocks
     ItemValidator itemValidator;
 
@@ -0,0 +1,63 @@
+package ru.practicum.shareit.validator;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class RequestEntityCacheTest {
+
+    private final RequestEntityCache entityCache = new RequestEntityCache();
+    private final AtomicInteger selects = new AtomicInteger();
+    private final Function<Long, Optional<User>> loader = id -> {
+        selects.incrementAndGet();
+        return Optional.of(User.builder().id(id).build());
+    };
+
+    @AfterEach
+    void closeScope() {
+        entityCache.close();
+    }
+
+    @Test
+    void find_whenScopeIsOpen_thenLoadEachEntityOnce() {
+        entityCache.open();
+
+        User first = entityCache.find(User.class, 1L, loader).orElseThrow();
+        User second = entityCache.find(User.class, 1L, loader).orElseThrow();
+        entityCache.find(User.class, 2L, loader);
+
+        assertSame(first, second);
+        assertEquals(selects.get(), 2);
+        assertEquals(entityCache.getHits(), 1);
+        assertEquals(entityCache.getLoads(), 2);
+    }
+
+    @Test
+    void find_whenScopeIsClosed_thenLoadEveryTime() {
+        entityCache.find(User.class, 1L, loader);
+        entityCache.find(User.class, 1L, loader);
+
+        assertEquals(selects.get(), 2);
+        assertEquals(entityCache.getHits(), 0);
+    }
+
+    @Test
+    void find_whenEntityIsMissing_thenDoNotCacheAbsence() {
+        entityCache.open();
+
+        entityCache.find(User.class, 1L, id -> {
+            selects.incrementAndGet();
+            return Optional.empty();
+        });
+        entityCache.find(User.class, 1L, loader);
+
+        assertEquals(selects.get(), 2);
+    }
+}